@@ -7,14 +7,15 @@ import java.lang.annotation.Target;
 
 /**
  * 速率限制注解
- * 用于标记需要进行请求限流的方法
+ * 用于标记需要进行请求限流的方法；每个方法（或相同 key 的一组方法）在启动时解析为独立的限流策略，
+ * 按客户端 IP 计数
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface RateLimit {
     
     /**
-     * 限流的键前缀，默认使用客户端IP
+     * 限流策略名称，相同 key 的方法共享令牌桶（限流参数必须一致）；默认每个方法独立
      */
     String key() default "";
     
@@ -28,8 +29,32 @@ public @interface RateLimit {
      */
     int window() default 60;
     
+    /**
+     * 附加的限流带宽，与 limit/window 同时生效
+     * 例如 limit = 100, window = 3600 限制持续速率，再加 @Limit(limit = 10, window = 1) 限制突发
+     */
+    Limit[] bandwidths() default {};
+
     /**
      * 限流提示信息
      */
     String message() default "请求过于频繁，请稍后再试";
+
+    /**
+     * 单个限流带宽
+     */
+    @Target({})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Limit {
+
+        /**
+         * 时间窗口内允许的最大请求数
+         */
+        int limit();
+
+        /**
+         * 时间窗口（秒）
+         */
+        int window();
+    }
 }
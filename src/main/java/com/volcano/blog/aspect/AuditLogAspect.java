@@ -1,153 +1,123 @@
 package com.volcano.blog.aspect;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.volcano.blog.annotation.AuditLog;
-import com.volcano.blog.util.LogUtils;
+import com.volcano.blog.audit.AuditEvent;
+import com.volcano.blog.audit.AuditEventQueue;
+import com.volcano.blog.security.ClientIpResolver;
+import com.volcano.blog.security.JwtUserPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.time.Instant;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 审计日志切面
- * 拦截带有 @AuditLog 注解的方法，记录操作日志
+ * 拦截带有 @AuditLog 注解的方法，采集审计事件并交给 {@link AuditEventQueue} 异步批量写出
  */
-@Slf4j
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class AuditLogAspect {
 
-    private final ObjectMapper objectMapper;
+    private final AuditEventQueue auditEventQueue;
+    private final ClientIpResolver clientIpResolver;
 
     @Around("@annotation(auditLog)")
     public Object around(ProceedingJoinPoint joinPoint, AuditLog auditLog) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        
+        long startTime = System.nanoTime();
+
         // 获取请求信息
         ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
         HttpServletRequest request = attributes != null ? attributes.getRequest() : null;
-        
-        // 构建审计日志
-        Map<String, Object> auditData = new LinkedHashMap<>();
-        auditData.put("timestamp", Instant.now().toString());
-        auditData.put("action", auditLog.action().name());
-        auditData.put("description", auditLog.value());
-        auditData.put("method", joinPoint.getSignature().toShortString());
-        
-        if (request != null) {
-            auditData.put("ip", LogUtils.maskIp(getClientIp(request)));
-            auditData.put("uri", request.getRequestURI());
-            auditData.put("httpMethod", request.getMethod());
-            auditData.put("userAgent", request.getHeader("User-Agent"));
-        }
-        
-        // 记录请求参数（脱敏处理）
-        if (auditLog.logParams()) {
-            try {
-                Object[] args = joinPoint.getArgs();
-                if (args != null && args.length > 0) {
-                    // 过滤掉 HttpServletRequest/Response 等不可序列化对象
-                    Object[] loggableArgs = filterLoggableArgs(args);
-                    if (loggableArgs.length > 0) {
-                        String params = objectMapper.writeValueAsString(loggableArgs);
-                        // 脱敏敏感字段
-                        params = maskSensitiveData(params);
-                        auditData.put("params", params);
-                    }
-                }
-            } catch (Exception e) {
-                auditData.put("params", "[serialization error]");
-            }
-        }
-        
-        Object result = null;
-        Throwable exception = null;
-        
+
+        // 只采集原始数据，序列化和脱敏由后台写入线程完成
+        AuditEvent started = AuditEvent.started(
+                Instant.now(),
+                auditLog.action(),
+                auditLog.value(),
+                joinPoint.getSignature().toShortString(),
+                currentUserId(),
+                request != null ? clientIpResolver.resolve(request).toString() : null,
+                request != null ? request.getRequestURI() : null,
+                request != null ? request.getMethod() : null,
+                request != null ? request.getHeader("User-Agent") : null,
+                auditLog.logParams() ? filterLoggableArgs(joinPoint.getArgs()) : null);
+
+        Object result;
         try {
             result = joinPoint.proceed();
-            auditData.put("status", "SUCCESS");
-            
-            // 记录返回结果
-            if (auditLog.logResult() && result != null) {
-                try {
-                    String resultStr = objectMapper.writeValueAsString(result);
-                    // 截断过长的结果
-                    if (resultStr.length() > 1000) {
-                        resultStr = resultStr.substring(0, 1000) + "...[truncated]";
-                    }
-                    auditData.put("result", resultStr);
-                } catch (Exception e) {
-                    auditData.put("result", "[serialization error]");
-                }
-            }
-            
-            return result;
         } catch (Throwable e) {
-            exception = e;
-            auditData.put("status", "FAILED");
-            auditData.put("error", e.getMessage());
+            complete(started, auditLog, startTime, null, e);
             throw e;
-        } finally {
-            long duration = System.currentTimeMillis() - startTime;
-            auditData.put("duration", duration + "ms");
-            
-            // 输出审计日志
-            if (exception != null) {
-                log.warn("AUDIT: {}", objectMapper.writeValueAsString(auditData));
-            } else {
-                log.info("AUDIT: {}", objectMapper.writeValueAsString(auditData));
-            }
         }
+
+        // 异步方法（返回 CompletionStage）在完成时记录，状态和耗时以实际结果为准
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, error) -> complete(started, auditLog, startTime, value, unwrap(error)));
+        } else {
+            complete(started, auditLog, startTime, result, null);
+        }
+        return result;
     }
-    
+
     /**
-     * 获取客户端真实IP
+     * 补充执行结果并提交审计事件
      */
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        // 多级代理时取第一个IP
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        return ip;
+    private void complete(AuditEvent started, AuditLog auditLog, long startTime,
+                          Object result, Throwable exception) {
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        auditEventQueue.offer(started.completed(auditLog.logResult() ? result : null, exception, duration));
     }
-    
+
     /**
-     * 过滤掉不可序列化的参数
+     * 当前登录用户 ID（登录、注册等匿名请求为 null）
      */
-    private Object[] filterLoggableArgs(Object[] args) {
-        return java.util.Arrays.stream(args)
-                .filter(arg -> arg != null)
-                .filter(arg -> !(arg instanceof HttpServletRequest))
-                .filter(arg -> !(arg instanceof jakarta.servlet.http.HttpServletResponse))
-                .filter(arg -> !(arg instanceof org.springframework.web.multipart.MultipartFile))
-                .toArray();
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtUserPrincipal principal) {
+            return principal.getUserId();
+        }
+        return null;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
     }
     
     /**
-     * 脱敏敏感数据
+     * 过滤掉不可序列化的参数
      */
-    private String maskSensitiveData(String data) {
-        // 脱敏密码字段
-        data = data.replaceAll("\"password\"\\s*:\\s*\"[^\"]*\"", "\"password\":\"***\"");
-        data = data.replaceAll("\"token\"\\s*:\\s*\"[^\"]*\"", "\"token\":\"***\"");
-        data = data.replaceAll("\"secret\"\\s*:\\s*\"[^\"]*\"", "\"secret\":\"***\"");
-        return data;
+    private List<Object> filterLoggableArgs(Object[] args) {
+        if (args == null || args.length == 0) {
+            return null;
+        }
+        List<Object> loggable = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            if (arg != null
+                    && !(arg instanceof HttpServletRequest)
+                    && !(arg instanceof HttpServletResponse)
+                    && !(arg instanceof MultipartFile)) {
+                loggable.add(arg);
+            }
+        }
+        return loggable.isEmpty() ? null : List.copyOf(loggable);
     }
 }
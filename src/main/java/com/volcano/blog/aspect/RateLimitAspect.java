@@ -1,8 +1,13 @@
 package com.volcano.blog.aspect;
 
 import com.volcano.blog.annotation.RateLimit;
-import com.volcano.blog.exception.BusinessException;
-import com.volcano.blog.service.RateLimitService;
+import com.volcano.blog.exception.RateLimitExceededException;
+import com.volcano.blog.ratelimit.RateLimitPolicy;
+import com.volcano.blog.ratelimit.RateLimitFilter;
+import com.volcano.blog.ratelimit.RateLimitPolicyRegistry;
+import com.volcano.blog.security.ClientAddress;
+import com.volcano.blog.security.ClientIpResolver;
+import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +21,9 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * 速率限制切面
- * 拦截带有 @RateLimit 注解的方法，进行请求限流
+ * 拦截带有 @RateLimit 注解的方法，按方法对应的限流策略对客户端 IP 限流。
+ * 控制器方法已由 RateLimitFilter 在进入安全链之前限流，这里只处理路由表之外的方法（如服务层方法）。
+ * 超限时抛出 RateLimitExceededException，与过滤器一样返回 429 和 Retry-After
  */
 @Slf4j
 @Aspect
@@ -24,7 +31,8 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @RequiredArgsConstructor
 public class RateLimitAspect {
 
-    private final RateLimitService rateLimitService;
+    private final RateLimitPolicyRegistry policyRegistry;
+    private final ClientIpResolver clientIpResolver;
 
     @Around("@annotation(rateLimit)")
     public Object around(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
@@ -34,50 +42,23 @@ public class RateLimitAspect {
             return joinPoint.proceed();
         }
         
+        // 策略在启动时已按方法解析，这里只做查表
+        RateLimitPolicy policy = policyRegistry.getPolicy(((MethodSignature) joinPoint.getSignature()).getMethod());
         HttpServletRequest request = attributes.getRequest();
-        
-        // 构建限流 key
-        String key = buildRateLimitKey(joinPoint, rateLimit, request);
+        // 过滤器已为本次请求消耗过令牌
+        if (request.getAttribute(RateLimitFilter.POLICY_ATTRIBUTE) == policy) {
+            return joinPoint.proceed();
+        }
+        ClientAddress clientIp = clientIpResolver.resolve(request);
         
         // 检查是否允许请求
-        if (!rateLimitService.allowRequest(key)) {
-            log.warn("Rate limit exceeded for key: {}", key);
-            throw new BusinessException(rateLimit.message());
+        ConsumptionProbe probe = policy.tryConsumeAndReturnRemaining(clientIp);
+        if (!probe.isConsumed()) {
+            log.debug("Rate limit exceeded: policy={}, client={}", policy.getName(), clientIp);
+            throw new RateLimitExceededException(policy.getMessage(),
+                    RateLimitFilter.retryAfterSeconds(probe.getNanosToWaitForRefill()));
         }
         
         return joinPoint.proceed();
     }
-    
-    /**
-     * 构建限流 key
-     */
-    private String buildRateLimitKey(ProceedingJoinPoint joinPoint, RateLimit rateLimit, HttpServletRequest request) {
-        String prefix = rateLimit.key();
-        
-        // 如果没有指定 key，使用方法签名 + IP
-        if (prefix.isEmpty()) {
-            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-            prefix = signature.getDeclaringTypeName() + "." + signature.getName();
-        }
-        
-        String clientIp = getClientIp(request);
-        return prefix + ":" + clientIp;
-    }
-    
-    /**
-     * 获取客户端真实IP
-     */
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        return ip;
-    }
 }
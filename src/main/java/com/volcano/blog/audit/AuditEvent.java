@@ -0,0 +1,64 @@
+package com.volcano.blog.audit;
+
+import com.volcano.blog.annotation.AuditLog.AuditAction;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 审计事件
+ * 请求线程上只采集原始数据，序列化、脱敏和输出都由后台写入线程完成
+ *
+ * @param timestamp   操作开始时间
+ * @param action      操作类型
+ * @param description 操作描述
+ * @param method      方法签名
+ * @param userId      当前登录用户 ID，匿名请求为 null
+ * @param ip          客户端 IP（未脱敏，由 sink 处理）
+ * @param uri         请求 URI
+ * @param httpMethod  HTTP 方法
+ * @param userAgent   User-Agent
+ * @param params      可记录的请求参数，未开启 logParams 时为 null
+ * @param success     是否成功
+ * @param result      返回结果，未开启 logResult 或失败时为 null
+ * @param error       失败原因，成功时为 null
+ * @param durationMs  耗时（毫秒）
+ */
+public record AuditEvent(
+        Instant timestamp,
+        AuditAction action,
+        String description,
+        String method,
+        Long userId,
+        String ip,
+        String uri,
+        String httpMethod,
+        String userAgent,
+        List<Object> params,
+        boolean success,
+        Object result,
+        String error,
+        long durationMs) {
+
+    /**
+     * 方法执行前采集的事件（尚无执行结果）
+     */
+    public static AuditEvent started(Instant timestamp, AuditAction action, String description, String method,
+                                     Long userId, String ip, String uri, String httpMethod, String userAgent,
+                                     List<Object> params) {
+        return new AuditEvent(timestamp, action, description, method, userId, ip, uri, httpMethod, userAgent,
+                params, false, null, null, 0L);
+    }
+
+    /**
+     * 补充执行结果
+     *
+     * @param result    返回结果（仅在成功且需要记录时传入）
+     * @param exception 异常，成功时为 null
+     */
+    public AuditEvent completed(Object result, Throwable exception, long durationMs) {
+        boolean ok = exception == null;
+        return new AuditEvent(timestamp, action, description, method, userId, ip, uri, httpMethod, userAgent,
+                params, ok, ok ? result : null, ok ? null : exception.getMessage(), durationMs);
+    }
+}
@@ -0,0 +1,105 @@
+package com.volcano.blog.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volcano.blog.util.LogUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 审计事件格式化
+ * 负责参数/结果的序列化、脱敏与截断，供各个 {@link AuditSink} 共用。
+ * 参数和结果通过 {@link MaskingJsonWriter} 在序列化过程中脱敏，并在达到长度上限时停止序列化
+ */
+@Component
+public class AuditEventFormatter {
+
+    private static final int MAX_PARAMS_LENGTH = 4000;
+    private static final int MAX_RESULT_LENGTH = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final MaskingJsonWriter paramsWriter;
+    private final MaskingJsonWriter resultWriter;
+
+    public AuditEventFormatter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.paramsWriter = new MaskingJsonWriter(objectMapper, MAX_PARAMS_LENGTH);
+        this.resultWriter = new MaskingJsonWriter(objectMapper, MAX_RESULT_LENGTH);
+    }
+
+    /**
+     * 脱敏后的请求参数 JSON，没有参数时为 null
+     */
+    public String params(AuditEvent event) {
+        if (event.params() == null || event.params().isEmpty()) {
+            return null;
+        }
+        try {
+            return paramsWriter.write(event.params());
+        } catch (Exception e) {
+            return "[serialization error]";
+        }
+    }
+
+    /**
+     * 脱敏并截断后的返回结果 JSON，不记录结果时为 null
+     */
+    public String result(AuditEvent event) {
+        if (event.result() == null) {
+            return null;
+        }
+        try {
+            return resultWriter.write(event.result());
+        } catch (Exception e) {
+            return "[serialization error]";
+        }
+    }
+
+    /**
+     * 脱敏后的客户端 IP，非 HTTP 请求时为 null
+     */
+    public String maskedIp(AuditEvent event) {
+        return event.uri() != null ? LogUtils.maskIp(event.ip()) : null;
+    }
+
+    /**
+     * 转换为日志行使用的 JSON 字符串
+     */
+    public String toJson(AuditEvent event) throws Exception {
+        Map<String, Object> auditData = new LinkedHashMap<>();
+        auditData.put("timestamp", event.timestamp().toString());
+        auditData.put("action", event.action().name());
+        auditData.put("description", event.description());
+        auditData.put("method", event.method());
+        if (event.userId() != null) {
+            auditData.put("userId", event.userId());
+        }
+
+        if (event.uri() != null) {
+            auditData.put("ip", maskedIp(event));
+            auditData.put("uri", event.uri());
+            auditData.put("httpMethod", event.httpMethod());
+            auditData.put("userAgent", event.userAgent());
+        }
+
+        String params = params(event);
+        if (params != null) {
+            auditData.put("params", params);
+        }
+
+        if (event.success()) {
+            auditData.put("status", "SUCCESS");
+            String result = result(event);
+            if (result != null) {
+                auditData.put("result", result);
+            }
+        } else {
+            auditData.put("status", "FAILED");
+            auditData.put("error", event.error());
+        }
+
+        auditData.put("duration", event.durationMs() + "ms");
+        return objectMapper.writeValueAsString(auditData);
+    }
+}
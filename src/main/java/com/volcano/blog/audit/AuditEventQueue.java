@@ -0,0 +1,206 @@
+package com.volcano.blog.audit;
+
+import com.volcano.blog.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 审计事件队列
+ * 请求线程只把事件放入有界无锁队列，由单个后台线程按批次取出并交给各个 {@link AuditSink}。
+ * 队列满时的处理由 audit.overflow 决定：
+ * DROP 直接丢弃；BLOCK 最多等待 audit.max-block；SAMPLE 在队列超过 audit.sample-threshold 后只保留 1/sample-rate。
+ * 指标：audit.queue.size、audit.events.written、audit.batch.write、
+ * audit.events.dropped（tag reason=queue_full|block_timeout|sampled|write_error）
+ */
+@Slf4j
+@Component
+public class AuditEventQueue implements DisposableBean {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final List<AuditSink> sinks;
+    private final AppProperties.Audit.Overflow overflow;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long maxBlockNanos;
+    private final int sampleThreshold;
+    private final int sampleRate;
+
+    private final Queue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已预留的队列位置数（包括正在入队的事件），用于限制容量
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    private final Counter writtenCounter;
+    private final Counter queueFullCounter;
+    private final Counter blockTimeoutCounter;
+    private final Counter sampledCounter;
+    private final Counter writeErrorCounter;
+    private final Timer batchWriteTimer;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditEventQueue(List<AuditSink> sinks, AppProperties appProperties, MeterRegistry meterRegistry) {
+        AppProperties.Audit config = appProperties.getAudit();
+        this.sinks = List.copyOf(sinks);
+        this.overflow = config.getOverflow();
+        this.capacity = config.getQueueCapacity();
+        this.batchSize = config.getBatchSize();
+        this.flushIntervalNanos = config.getFlushInterval().toNanos();
+        this.maxBlockNanos = config.getMaxBlock().toNanos();
+        this.sampleThreshold = (int) (capacity * config.getSampleThreshold());
+        this.sampleRate = config.getSampleRate();
+
+        this.writtenCounter = Counter.builder("audit.events.written")
+                .description("Audit events handed to sinks")
+                .register(meterRegistry);
+        this.queueFullCounter = droppedCounter(meterRegistry, "queue_full");
+        this.blockTimeoutCounter = droppedCounter(meterRegistry, "block_timeout");
+        this.sampledCounter = droppedCounter(meterRegistry, "sampled");
+        this.writeErrorCounter = droppedCounter(meterRegistry, "write_error");
+        this.batchWriteTimer = Timer.builder("audit.batch.write")
+                .description("Time to write one batch of audit events to all sinks")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.size", size, AtomicInteger::get)
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::drainLoop, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        log.info("AuditEventQueue initialized: capacity={}, batchSize={}, overflow={}, sinks={}",
+                capacity, batchSize, overflow, this.sinks.size());
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("audit.events.dropped")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 提交审计事件，不抛出异常
+     *
+     * @return 是否已入队（false 表示按溢出策略丢弃）
+     */
+    public boolean offer(AuditEvent event) {
+        if (!running) {
+            queueFullCounter.increment();
+            return false;
+        }
+        if (overflow == AppProperties.Audit.Overflow.SAMPLE && size.get() >= sampleThreshold
+                && sampleSequence.incrementAndGet() % sampleRate != 0) {
+            sampledCounter.increment();
+            return false;
+        }
+        if (tryReserve()) {
+            enqueue(event);
+            return true;
+        }
+        if (overflow == AppProperties.Audit.Overflow.BLOCK) {
+            long deadline = System.nanoTime() + maxBlockNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                if (tryReserve()) {
+                    enqueue(event);
+                    return true;
+                }
+            }
+            blockTimeoutCounter.increment();
+            return false;
+        }
+        queueFullCounter.increment();
+        return false;
+    }
+
+    /**
+     * 当前排队的事件数
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private boolean tryReserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void enqueue(AuditEvent event) {
+        queue.offer(event);
+        // 攒满一批时立即唤醒写入线程，否则等待 flush-interval
+        if (size.get() == batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            AuditEvent event;
+            while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            size.addAndGet(-batch.size());
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        long start = System.nanoTime();
+        for (AuditSink sink : sinks) {
+            try {
+                sink.write(batch);
+            } catch (RuntimeException e) {
+                writeErrorCounter.increment(batch.size());
+                log.warn("Failed to write {} audit events to {}: {}",
+                        batch.size(), sink.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        batchWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        writtenCounter.increment(batch.size());
+    }
+
+    /**
+     * 停止接收新事件，写完队列中剩余的事件后退出
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        if (writer.isAlive()) {
+            log.warn("Audit writer did not finish in time, {} events pending", size.get());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.volcano.blog.audit;
+
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.repository.AuditEventRepository;
+import com.volcano.blog.repository.AuditEventRepository.Partition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 审计事件保留任务
+ * 分区表（MySQL）：提前创建下个月的分区，删除上界早于保留期的整个分区；
+ * 未分区的表（如测试环境的 H2）：按时间删除过期行
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "audit.store", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditRetentionJob {
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final AuditEventRepository auditEventRepository;
+    private final AppProperties appProperties;
+    private final Clock clock = Clock.systemUTC();
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "PT6H")
+    public void run() {
+        try {
+            maintain(clock.instant());
+        } catch (RuntimeException e) {
+            log.warn("Audit retention failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 维护分区并清理过期数据
+     */
+    void maintain(Instant now) {
+        Instant cutoff = now.minus(appProperties.getAudit().getStore().getRetention());
+        List<Partition> partitions = auditEventRepository.findPartitions();
+        if (partitions.isEmpty()) {
+            int deleted = auditEventRepository.deleteCreatedBefore(cutoff);
+            if (deleted > 0) {
+                log.info("Deleted {} audit events created before {}", deleted, cutoff);
+            }
+            return;
+        }
+
+        // 创建到下个月为止的月度分区（上界为次月 1 日 00:00 UTC）
+        long highest = partitions.stream()
+                .map(Partition::lessThan)
+                .filter(bound -> bound != null)
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(0L);
+        YearMonth last = YearMonth.from(now.atZone(ZoneOffset.UTC)).plusMonths(1);
+        YearMonth month = highest > 0
+                ? YearMonth.from(Instant.ofEpochSecond(highest).atZone(ZoneOffset.UTC))
+                : YearMonth.from(now.atZone(ZoneOffset.UTC));
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            long upperBound = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+            if (upperBound > highest) {
+                String name = PARTITION_NAME.format(month);
+                auditEventRepository.addPartition(name, upperBound);
+                highest = upperBound;
+                log.info("Created audit partition {}", name);
+            }
+        }
+
+        // 整个分区都早于保留期时删除
+        for (Partition partition : partitions) {
+            if (partition.lessThan() != null && partition.lessThan() <= cutoff.getEpochSecond()) {
+                auditEventRepository.dropPartition(partition.name());
+                log.info("Dropped audit partition {}", partition.name());
+            }
+        }
+    }
+}
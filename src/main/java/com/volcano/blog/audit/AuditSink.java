@@ -0,0 +1,16 @@
+package com.volcano.blog.audit;
+
+import java.util.List;
+
+/**
+ * 审计事件输出目标
+ * 由 AuditEventQueue 的后台线程按批次调用，实现无需考虑并发
+ */
+public interface AuditSink {
+
+    /**
+     * 写入一批审计事件
+     * 抛出异常时整批计为丢弃
+     */
+    void write(List<AuditEvent> batch);
+}
@@ -0,0 +1,60 @@
+package com.volcano.blog.audit;
+
+import com.volcano.blog.model.AuditRecord;
+import com.volcano.blog.repository.AuditEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 将审计事件持久化到 audit_event 表（每批一条多行 INSERT）
+ * 返回结果只写入日志，不入库
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "audit.store", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcAuditSink implements AuditSink {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_USER_AGENT_LENGTH = 255;
+    private static final int MAX_URI_LENGTH = 255;
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditEventFormatter formatter;
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        List<AuditRecord> records = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            records.add(toRecord(event));
+        }
+        auditEventRepository.insertAll(records);
+    }
+
+    private AuditRecord toRecord(AuditEvent event) {
+        return AuditRecord.builder()
+                // 与 TIMESTAMP(3) 列精度一致，保证 keyset 游标能精确定位
+                .createdAt(event.timestamp().truncatedTo(ChronoUnit.MILLIS))
+                .userId(event.userId())
+                .action(event.action().name())
+                .description(event.description())
+                .method(event.method())
+                .ip(formatter.maskedIp(event))
+                .uri(truncate(event.uri(), MAX_URI_LENGTH))
+                .httpMethod(event.httpMethod())
+                .userAgent(truncate(event.userAgent(), MAX_USER_AGENT_LENGTH))
+                .success(event.success())
+                .error(truncate(event.error(), MAX_ERROR_LENGTH))
+                .params(formatter.params(event))
+                .durationMs(event.durationMs())
+                .build();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
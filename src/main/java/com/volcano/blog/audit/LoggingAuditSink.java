@@ -0,0 +1,36 @@
+package com.volcano.blog.audit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 以 JSON 日志行输出审计事件（格式与原同步审计日志一致）
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoggingAuditSink implements AuditSink {
+
+    private final AuditEventFormatter formatter;
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        for (AuditEvent event : batch) {
+            String line;
+            try {
+                line = formatter.toJson(event);
+            } catch (Exception e) {
+                log.warn("AUDIT: {} (serialization error: {})", event.method(), e.getMessage());
+                continue;
+            }
+            if (event.success()) {
+                log.info("AUDIT: {}", line);
+            } else {
+                log.warn("AUDIT: {}", line);
+            }
+        }
+    }
+}
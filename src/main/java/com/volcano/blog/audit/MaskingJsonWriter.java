@@ -0,0 +1,568 @@
+package com.volcano.blog.audit;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.List;
+
+/**
+ * 流式脱敏 JSON 序列化
+ * 在 JsonGenerator 层拦截字段名：敏感字段（名称包含 password/token/secret/credential，不区分大小写，
+ * 如 confirmPassword、refreshToken、clientSecret）的值在写出时直接替换为 "***"，
+ * 值为对象或数组时整个跳过；输出达到字符预算后立即停止序列化，不再先生成完整 JSON 再截断或正则替换。
+ */
+public final class MaskingJsonWriter {
+
+    static final String MASK = "***";
+    static final String TRUNCATED_SUFFIX = "...[truncated]";
+
+    /**
+     * 字段名（小写）包含其中任意一个即视为敏感
+     */
+    private static final List<String> SENSITIVE_FRAGMENTS = List.of("password", "token", "secret", "credential");
+
+    private final ObjectMapper objectMapper;
+    private final int maxChars;
+
+    /**
+     * @param maxChars 输出字符预算，超出部分截断并追加 {@value #TRUNCATED_SUFFIX}
+     */
+    public MaskingJsonWriter(ObjectMapper objectMapper, int maxChars) {
+        this.objectMapper = objectMapper;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * 序列化并脱敏
+     *
+     * @throws IOException 序列化失败（预算耗尽不算失败）
+     */
+    public String write(Object value) throws IOException {
+        BudgetWriter out = new BudgetWriter(maxChars);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        MaskingGenerator masking = new MaskingGenerator(generator, out, maxChars);
+        boolean truncated = false;
+        try {
+            objectMapper.writeValue(masking, value);
+        } catch (IOException e) {
+            if (!isBudgetExceeded(e)) {
+                throw e;
+            }
+            truncated = true;
+            // 把生成器缓冲区中已写出的部分交给 BudgetWriter（超出预算的字符被丢弃）
+            generator.flush();
+        }
+        truncated |= out.isOverflowed();
+        return truncated ? out.toString() + TRUNCATED_SUFFIX : out.toString();
+    }
+
+    private static boolean isBudgetExceeded(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof BudgetExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isSensitive(String fieldName) {
+        if (fieldName == null) {
+            return false;
+        }
+        String name = fieldName.toLowerCase(Locale.ROOT);
+        for (String fragment : SENSITIVE_FRAGMENTS) {
+            if (name.contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 预算耗尽信号（不收集堆栈）
+     * 继承 IOException，Jackson 会原样向上抛出而不包装为 JsonMappingException
+     */
+    static final class BudgetExceededException extends IOException {
+
+        BudgetExceededException() {
+            super("Output budget exceeded", null);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * 最多保留 maxChars 个字符的 Writer，超出部分丢弃
+     */
+    static final class BudgetWriter extends Writer {
+
+        private final StringBuilder buffer;
+        private final int maxChars;
+        private boolean overflowed;
+
+        BudgetWriter(int maxChars) {
+            this.maxChars = maxChars;
+            this.buffer = new StringBuilder(Math.min(maxChars, 256));
+        }
+
+        int length() {
+            return buffer.length();
+        }
+
+        boolean isOverflowed() {
+            return overflowed;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            int room = maxChars - buffer.length();
+            if (length > room) {
+                overflowed = true;
+                length = Math.max(room, 0);
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String str, int offset, int length) {
+            int room = maxChars - buffer.length();
+            if (length > room) {
+                overflowed = true;
+                length = Math.max(room, 0);
+            }
+            buffer.append(str, offset, offset + length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+
+    /**
+     * 脱敏并检查预算的生成器
+     * maskNext 表示下一个值需要替换为掩码；skipDepth > 0 表示正在跳过被掩码的对象或数组
+     */
+    static final class MaskingGenerator extends JsonGeneratorDelegate {
+
+        private final BudgetWriter out;
+        private final int maxChars;
+        private boolean maskNext;
+        private int skipDepth;
+
+        MaskingGenerator(JsonGenerator delegate, BudgetWriter out, int maxChars) {
+            super(delegate, false);
+            this.out = out;
+            this.maxChars = maxChars;
+        }
+
+        /**
+         * 写出标量值前调用，返回 false 表示该值已被掩码或跳过
+         */
+        private boolean beforeScalar() throws IOException {
+            if (skipDepth > 0) {
+                return false;
+            }
+            if (maskNext) {
+                maskNext = false;
+                delegate.writeString(MASK);
+                checkBudget();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * 开始对象或数组前调用，返回 false 表示整个结构被掩码或跳过
+         */
+        private boolean beforeStructure() throws IOException {
+            if (skipDepth > 0) {
+                skipDepth++;
+                return false;
+            }
+            if (maskNext) {
+                maskNext = false;
+                delegate.writeString(MASK);
+                skipDepth = 1;
+                checkBudget();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * 结束对象或数组前调用
+         */
+        private boolean beforeEnd() {
+            if (skipDepth > 0) {
+                skipDepth--;
+                return false;
+            }
+            return true;
+        }
+
+        private int remaining() {
+            return maxChars - out.length() - delegate.getOutputBuffered();
+        }
+
+        private void checkBudget() throws IOException {
+            if (remaining() < 0) {
+                throw new BudgetExceededException();
+            }
+        }
+
+        // ---- 结构 ----
+
+        @Override
+        public void writeStartObject() throws IOException {
+            if (beforeStructure()) {
+                delegate.writeStartObject();
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeStartObject(Object forValue) throws IOException {
+            if (beforeStructure()) {
+                delegate.writeStartObject(forValue);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeStartObject(Object forValue, int size) throws IOException {
+            if (beforeStructure()) {
+                delegate.writeStartObject(forValue, size);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            if (beforeEnd()) {
+                delegate.writeEndObject();
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeStartArray() throws IOException {
+            if (beforeStructure()) {
+                delegate.writeStartArray();
+                checkBudget();
+            }
+        }
+
+        @Override
+        @Deprecated
+        public void writeStartArray(int size) throws IOException {
+            if (beforeStructure()) {
+                delegate.writeStartArray(null, size);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeStartArray(Object forValue) throws IOException {
+            if (beforeStructure()) {
+                delegate.writeStartArray(forValue);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeStartArray(Object forValue, int size) throws IOException {
+            if (beforeStructure()) {
+                delegate.writeStartArray(forValue, size);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeEndArray() throws IOException {
+            if (beforeEnd()) {
+                delegate.writeEndArray();
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeArray(int[] array, int offset, int length) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeArray(array, offset, length);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeArray(long[] array, int offset, int length) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeArray(array, offset, length);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeArray(double[] array, int offset, int length) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeArray(array, offset, length);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeArray(String[] array, int offset, int length) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeArray(array, offset, length);
+                checkBudget();
+            }
+        }
+
+        // ---- 字段名 ----
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            if (skipDepth > 0) {
+                return;
+            }
+            maskNext = isSensitive(name);
+            delegate.writeFieldName(name);
+            checkBudget();
+        }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException {
+            if (skipDepth > 0) {
+                return;
+            }
+            maskNext = isSensitive(name.getValue());
+            delegate.writeFieldName(name);
+            checkBudget();
+        }
+
+        @Override
+        public void writeFieldId(long id) throws IOException {
+            writeFieldName(Long.toString(id));
+        }
+
+        // ---- 标量 ----
+
+        @Override
+        public void writeString(String text) throws IOException {
+            if (beforeScalar()) {
+                // 超长字符串只写出预算内的前缀：输出本就会在预算处截断，结果与写出完整字符串相同
+                int remaining = remaining();
+                if (text != null && text.length() > remaining) {
+                    delegate.writeString(text.substring(0, Math.max(remaining, 0)));
+                    throw new BudgetExceededException();
+                }
+                delegate.writeString(text);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeString(Reader reader, int len) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeString(reader, len);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeString(char[] text, int offset, int len) throws IOException {
+            if (beforeScalar()) {
+                int remaining = remaining();
+                if (len > remaining) {
+                    delegate.writeString(text, offset, Math.max(remaining, 0));
+                    throw new BudgetExceededException();
+                }
+                delegate.writeString(text, offset, len);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeString(SerializableString text) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeString(text);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeRawUTF8String(text, offset, length);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeUTF8String(text, offset, length);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeRawValue(String text) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeRawValue(text);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeRawValue(String text, int offset, int len) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeRawValue(text, offset, len);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeRawValue(char[] text, int offset, int len) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeRawValue(text, offset, len);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeBinary(Base64Variant variant, byte[] data, int offset, int len) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeBinary(variant, data, offset, len);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public int writeBinary(Base64Variant variant, InputStream data, int dataLength) throws IOException {
+            if (beforeScalar()) {
+                int written = delegate.writeBinary(variant, data, dataLength);
+                checkBudget();
+                return written;
+            }
+            return 0;
+        }
+
+        @Override
+        public void writeNumber(short v) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNumber(v);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeNumber(int v) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNumber(v);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeNumber(long v) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNumber(v);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeNumber(BigInteger v) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNumber(v);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeNumber(double v) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNumber(v);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeNumber(float v) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNumber(v);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeNumber(BigDecimal v) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNumber(v);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeNumber(String encodedValue) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNumber(encodedValue);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeNumber(char[] encodedValueBuffer, int offset, int len) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNumber(encodedValueBuffer, offset, len);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeBoolean(boolean state) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeBoolean(state);
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeNull() throws IOException {
+            if (beforeScalar()) {
+                delegate.writeNull();
+                checkBudget();
+            }
+        }
+
+        @Override
+        public void writeEmbeddedObject(Object object) throws IOException {
+            if (beforeScalar()) {
+                delegate.writeEmbeddedObject(object);
+                checkBudget();
+            }
+        }
+    }
+}
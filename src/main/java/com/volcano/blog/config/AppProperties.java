@@ -5,9 +5,12 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -22,6 +25,17 @@ public class AppProperties {
 
     private final Jwt jwt = new Jwt();
     private final Cors cors = new Cors();
+    private final Cache cache = new Cache();
+    private final HttpCache httpCache = new HttpCache();
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+    private final Threads threads = new Threads();
+    private final Audit audit = new Audit();
+    private final Ratelimit ratelimit = new Ratelimit();
+    private final ClientIp clientIp = new ClientIp();
+    private final Search search = new Search();
+    private final Sql sql = new Sql();
+    private final PostImport postImport = new PostImport();
+    private final Metrics metrics = new Metrics();
 
     /**
      * JWT 配置
@@ -78,4 +92,381 @@ public class AppProperties {
         @Positive
         private long maxAge = 3600L;
     }
+
+    /**
+     * 密码哈希线程池配置
+     * 登录、注册的 BCrypt 计算在独立的有界线程池中执行，不占用处理文章读取的 Tomcat 工作线程
+     */
+    @Data
+    public static class PasswordHashing {
+        /**
+         * 线程数（BCrypt 为纯 CPU 计算，默认取 CPU 核数的一半）
+         */
+        @Positive
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * 等待队列容量，队列满时立即拒绝（HTTP 503）
+         */
+        @Positive
+        private int queueCapacity = 64;
+
+        /**
+         * 最长排队时间，超过后不再计算哈希而直接拒绝（客户端很可能已超时）
+         */
+        private Duration maxQueueWait = Duration.ofSeconds(5);
+    }
+
+    /**
+     * 审计日志队列配置
+     * 审计事件在请求线程上入队，由后台线程批量写出
+     */
+    @Data
+    public static class Audit {
+        /**
+         * 队列容量
+         */
+        @Positive
+        private int queueCapacity = 8192;
+
+        /**
+         * 每批最多写出的事件数，攒满一批立即写出
+         */
+        @Positive
+        private int batchSize = 256;
+
+        /**
+         * 未攒满一批时的最长等待时间
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * 队列满时的处理策略
+         */
+        private Overflow overflow = Overflow.DROP;
+
+        /**
+         * BLOCK 策略下请求线程的最长等待时间
+         */
+        private Duration maxBlock = Duration.ofMillis(50);
+
+        /**
+         * SAMPLE 策略开始采样的队列占用比例
+         */
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double sampleThreshold = 0.75;
+
+        /**
+         * SAMPLE 策略下每 N 个事件保留 1 个
+         */
+        @Positive
+        private int sampleRate = 10;
+
+        /**
+         * 数据库存储配置
+         */
+        private final Store store = new Store();
+
+        @Data
+        public static class Store {
+            /**
+             * 是否写入 audit_event 表
+             */
+            private boolean enabled = true;
+
+            /**
+             * 保留时长，分区表按月整体删除
+             */
+            private Duration retention = Duration.ofDays(180);
+        }
+
+        public enum Overflow {
+            /**
+             * 直接丢弃新事件
+             */
+            DROP,
+            /**
+             * 等待队列空出位置，超过 max-block 后丢弃
+             */
+            BLOCK,
+            /**
+             * 队列占用超过阈值后按比例采样，满时丢弃
+             */
+            SAMPLE
+        }
+    }
+
+    /**
+     * 客户端 IP 解析配置
+     */
+    @Data
+    public static class ClientIp {
+        /**
+         * 受信任的反向代理（CIDR），只有来自这些地址的 X-Forwarded-For / X-Real-IP 才会被采用
+         */
+        private List<String> trustedProxies = List.of("127.0.0.0/8", "::1/128");
+    }
+
+    /**
+     * 限流配置
+     * 令牌桶参数（login.*、cache.*、backend）由 RateLimitService 等组件直接读取，这里只绑定路由表
+     */
+    @Data
+    public static class Ratelimit {
+        /**
+         * 按路径限流的路由，由 RateLimitFilter 在 Spring Security 之前执行
+         */
+        private List<Route> routes = List.of();
+
+        @Data
+        public static class Route {
+            /**
+             * 策略名称；未配置 limit 时引用已有策略（如 login，对应 ratelimit.login.*）
+             */
+            @NotBlank
+            private String name;
+
+            /**
+             * HTTP 方法，为空表示所有方法
+             */
+            private List<String> methods = List.of();
+
+            /**
+             * 路径模式（PathPattern 语法，如 /api/posts/{id}）
+             */
+            @NotEmpty
+            private List<String> paths = List.of();
+
+            /**
+             * 时间窗口内允许的最大请求数，0 表示引用已有策略
+             */
+            private int limit;
+
+            /**
+             * 时间窗口
+             */
+            private Duration window = Duration.ofMinutes(1);
+
+            /**
+             * 限流提示信息
+             */
+            private String message = "请求过于频繁，请稍后再试";
+        }
+    }
+
+    /**
+     * 文章搜索配置
+     */
+    @Data
+    public static class Search {
+        private final Index index = new Index();
+
+        /**
+         * 应用内倒排索引配置
+         * 索引就绪前及未启用时，搜索使用数据库全文检索
+         */
+        @Data
+        public static class Index {
+            /**
+             * 是否启用
+             */
+            private boolean enabled = true;
+
+            /**
+             * 快照文件路径，为空表示不写快照（每次启动全量重建）
+             */
+            private String snapshotPath = "";
+
+            /**
+             * 写出快照的间隔（索引未变化时跳过），关闭应用时也会写出一次
+             */
+            private Duration snapshotInterval = Duration.ofMinutes(10);
+
+            /**
+             * 全量重建的间隔，用于同步其他实例上的修改
+             */
+            private Duration rebuildInterval = Duration.ofHours(6);
+
+            /**
+             * 重建时每批读取的文章数
+             */
+            @Positive
+            private int batchSize = 500;
+        }
+    }
+
+    /**
+     * SQL 统计配置
+     * 统计每个 HTTP 请求执行的语句数和 JDBC 耗时（见 SqlStatementTracker、SqlRequestTrackingFilter）
+     */
+    @Data
+    public static class Sql {
+        /**
+         * 单个请求允许执行的语句数，超出时记录警告（通常意味着 N+1 查询）
+         */
+        @Positive
+        private int statementBudget = 20;
+
+        /**
+         * 单个请求的 JDBC 累计耗时阈值，超出时记录警告
+         */
+        private Duration slowRequestThreshold = Duration.ofMillis(500);
+
+        /**
+         * 单条语句的耗时阈值，超出时记录慢查询日志
+         */
+        private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+        /**
+         * 是否在响应头中返回语句数和 JDBC 耗时（X-SQL-Statements、X-SQL-Time-Ms），仅用于开发环境
+         */
+        private boolean responseHeaders = false;
+
+        /**
+         * 超出语句预算时让请求以异常结束（只用于 MockMvc 测试，尽早发现 N+1 查询；真实容器中响应通常已提交）
+         */
+        private boolean failOnBudgetExceeded = false;
+    }
+
+    /**
+     * 文章批量导入配置
+     */
+    @Data
+    public static class PostImport {
+        /**
+         * 每批写入的文章数：一批一条多行 INSERT、一个事务
+         */
+        @Positive
+        private int batchSize = 100;
+
+        /**
+         * 单次请求最多导入的文章数，超出部分不再处理
+         */
+        @Positive
+        private int maxItems = 10000;
+    }
+
+    /**
+     * 指标抓取配置
+     */
+    @Data
+    public static class Metrics {
+        /**
+         * Prometheus 抓取令牌（Authorization: Bearer），为空时 /actuator/prometheus 只允许 ADMIN 访问
+         */
+        private String scrapeToken = "";
+    }
+
+    /**
+     * 请求处理线程配置
+     */
+    @Data
+    public static class Threads {
+        /**
+         * 是否使用虚拟线程处理请求和异步任务（需要 Java 21+，见 VirtualThreadConfig）
+         */
+        private boolean virtual = false;
+    }
+
+    /**
+     * HTTP 缓存配置（Cache-Control）
+     * 只作用于公开的已发布文章，未发布文章仍使用 Spring Security 默认的 no-store
+     */
+    @Data
+    public static class HttpCache {
+        /**
+         * 已发布文章详情的 max-age，过期后客户端/CDN 通过 ETag 重新验证
+         */
+        private Duration postMaxAge = Duration.ofSeconds(60);
+
+        /**
+         * 已发布文章列表的 max-age（列表变化更频繁，默认每次都重新验证）
+         */
+        private Duration feedMaxAge = Duration.ZERO;
+
+        /**
+         * 列表版本（ETag）从数据库重新计算的间隔，决定其他实例的写入最迟多久反映到本实例的列表 ETag
+         */
+        private Duration feedVersionRefreshInterval = Duration.ofSeconds(10);
+    }
+
+    /**
+     * 应用内缓存配置
+     */
+    @Data
+    public static class Cache {
+        private final PostCount postCount = new PostCount();
+        private final PostDetail postDetail = new PostDetail();
+        private final HotFeed hotFeed = new HotFeed();
+        private final JwtPrincipal jwtPrincipal = new JwtPrincipal();
+    }
+
+    /**
+     * 文章总数缓存配置（供不需要精确总数的分页请求使用）
+     */
+    @Data
+    public static class PostCount {
+        /**
+         * 后台刷新间隔
+         */
+        private Duration refreshInterval = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 文章详情缓存配置
+     */
+    @Data
+    public static class PostDetail {
+        /**
+         * 最大缓存条目数
+         */
+        @Positive
+        private long maxSize = 10_000;
+
+        /**
+         * 写入后过期时间（文章修改时会主动失效，过期只是兜底）
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    /**
+     * 已验证 JWT 的用户主体缓存配置
+     * 条目在令牌自身的 exp 到期时失效
+     */
+    @Data
+    public static class JwtPrincipal {
+        /**
+         * 最大缓存令牌数
+         */
+        @Positive
+        private long maxSize = 10_000;
+
+        /**
+         * 令牌没有 exp 声明时的缓存时间
+         */
+        private Duration expireWithoutExp = Duration.ofMinutes(10);
+    }
+
+    /**
+     * 首页热点文章摘要缓存配置
+     */
+    @Data
+    public static class HotFeed {
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 缓存的最新已发布文章条数（覆盖前 size / 每页大小 页）
+         */
+        @Positive
+        private int size = 200;
+
+        /**
+         * 后台从数据库重建的间隔，决定其他实例的写入最迟多久反映到本实例的前几页
+         */
+        private Duration refreshInterval = Duration.ofSeconds(30);
+    }
 }
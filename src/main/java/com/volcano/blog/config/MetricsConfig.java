@@ -0,0 +1,49 @@
+package com.volcano.blog.config;
+
+import com.volcano.blog.metrics.SqlRequestTrackingFilter;
+import com.volcano.blog.metrics.SqlStatementTracker;
+import com.volcano.blog.metrics.SqlTrackingDataSourcePostProcessor;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 指标配置
+ * 启用 @Timed 注解（服务层方法计时，见 PostService、AuthService），
+ * 并通过 datasource-proxy 统计每个请求的 SQL 语句数和 JDBC 耗时（见 sql.* 配置）。
+ * 指标通过 /actuator/prometheus 暴露
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 在限流过滤器之前执行，覆盖整个请求处理过程
+     */
+    public static final int SQL_METRICS_FILTER_ORDER = RateLimitFilterConfig.FILTER_ORDER - 10;
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * 后处理器需在其他 Bean 之前创建，声明为 static，跟踪器在数据源创建时才解析
+     */
+    @Bean
+    public static SqlTrackingDataSourcePostProcessor sqlTrackingDataSourcePostProcessor(
+            ObjectProvider<SqlStatementTracker> tracker) {
+        return new SqlTrackingDataSourcePostProcessor(tracker);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestTrackingFilter> sqlRequestTrackingFilterRegistration(
+            MeterRegistry meterRegistry, AppProperties appProperties) {
+        FilterRegistrationBean<SqlRequestTrackingFilter> registration =
+                new FilterRegistrationBean<>(new SqlRequestTrackingFilter(meterRegistry, appProperties));
+        registration.setOrder(SQL_METRICS_FILTER_ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,64 @@
+package com.volcano.blog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volcano.blog.ratelimit.RateLimitFilter;
+import com.volcano.blog.ratelimit.RateLimitPolicyRegistry;
+import com.volcano.blog.ratelimit.RateLimitRouteTable;
+import com.volcano.blog.security.ClientIpResolver;
+import com.volcano.blog.service.RateLimitService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 限流过滤器配置
+ * 过滤器排在 Spring Security 过滤器链之前，被拒绝的请求不做认证和任何后续处理
+ */
+@Configuration
+public class RateLimitFilterConfig {
+
+    /**
+     * 在 Spring Security 过滤器链（DEFAULT_FILTER_ORDER）之前执行
+     */
+    public static final int FILTER_ORDER = SecurityProperties.DEFAULT_FILTER_ORDER - 10;
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(ObjectMapper objectMapper, ClientIpResolver clientIpResolver) {
+        return new RateLimitFilter(objectMapper, clientIpResolver);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+
+    /**
+     * 过滤器随 Web 容器提前创建，处理器映射就绪后再构建路由表
+     * 路由来自 ratelimit.routes 配置（登录、注册、文章写操作、公开读取）和 @RateLimit 注解
+     */
+    @Bean
+    public SmartInitializingSingleton rateLimitRouteTableInitializer(RateLimitFilter rateLimitFilter,
+                                                                     RateLimitPolicyRegistry policyRegistry,
+                                                                     RateLimitService rateLimitService,
+                                                                     AppProperties appProperties,
+                                                                     ApplicationContext applicationContext) {
+        return () -> {
+            List<RateLimitRouteTable.Route> routes = new ArrayList<>(RateLimitRouteTable.configuredRoutes(
+                    appProperties.getRatelimit().getRoutes(), policyRegistry,
+                    Map.of("login", rateLimitService.getLoginPolicy())));
+            routes.addAll(RateLimitRouteTable.annotatedRoutes(
+                    applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values(), policyRegistry));
+            rateLimitFilter.setRoutes(new RateLimitRouteTable(routes));
+        };
+    }
+}
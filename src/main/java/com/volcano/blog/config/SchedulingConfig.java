@@ -0,0 +1,13 @@
+package com.volcano.blog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置
+ * 用于缓存的后台刷新等周期性任务
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.volcano.blog.config;
 
 import com.volcano.blog.security.JwtAuthenticationFilter;
+import com.volcano.blog.security.MetricsScrapeAuthorizationManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,6 +22,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final MetricsScrapeAuthorizationManager metricsScrapeAuthorizationManager;
 
     @Value("${cors.allowed-origins}")
     private List<String> allowedOrigins;
@@ -57,10 +59,14 @@ public class SecurityConfig {
                     "/v3/api-docs/**"
                 ).permitAll()
                 // 公开只读文章接口
-                .requestMatchers(HttpMethod.GET, "/api/posts", "/api/posts/{id}").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/posts", "/api/posts/search", "/api/posts/{id}").permitAll()
+                // 管理接口
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                // 指标抓取：ADMIN 或抓取令牌
+                .requestMatchers("/actuator/prometheus").access(metricsScrapeAuthorizationManager)
                 // 其他请求需要认证
                 .anyRequest().authenticated()
-            )
+            )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
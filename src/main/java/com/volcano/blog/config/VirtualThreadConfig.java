@@ -0,0 +1,94 @@
+package com.volcano.blog.config;
+
+import com.volcano.blog.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 虚拟线程配置（threads.virtual=true 时启用，需要 Java 21+）
+ * Tomcat 请求处理、Spring MVC 异步请求和 @Async 任务都改为每个任务一个虚拟线程，
+ * 阻塞的 JPA 调用不再受固定大小的 Tomcat 线程池限制，数据库并发由 Hikari 连接池约束。
+ * BCrypt 等 CPU 密集任务仍在 CredentialExecutor 的有界平台线程池中执行。
+ * 排查 pinning 可加 JVM 参数 -Djdk.tracePinnedThreads=short
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * 请求处理用的虚拟线程执行器，应用关闭时停止
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadRequestExecutor() {
+        log.info("Virtual thread mode enabled (Java {})", Runtime.version().feature());
+        return VirtualThreads.newPerTaskExecutor("tomcat-virtual-");
+    }
+
+    /**
+     * Tomcat 使用虚拟线程处理请求
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadRequestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadRequestExecutor);
+    }
+
+    /**
+     * 替换默认的 applicationTaskExecutor，Spring MVC 异步请求和 @Async 任务使用虚拟线程
+     * 关闭行为与默认执行器一致，遵循 spring.task.execution.shutdown.*
+     */
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public AsyncTaskExecutor applicationTaskExecutor(TaskExecutionProperties properties) {
+        TaskExecutionProperties.Shutdown shutdown = properties.getShutdown();
+        return new ClosingTaskExecutor(VirtualThreads.newPerTaskExecutor("task-virtual-"),
+                shutdown.isAwaitTermination() ? shutdown.getAwaitTerminationPeriod() : null);
+    }
+
+    /**
+     * 应用关闭时关闭底层执行器
+     * 配置了等待时间时先等待进行中的任务完成，超时或未配置时中断剩余任务
+     */
+    static class ClosingTaskExecutor extends TaskExecutorAdapter implements DisposableBean {
+
+        private final ExecutorService executor;
+
+        private final Duration awaitTermination;
+
+        ClosingTaskExecutor(ExecutorService executor, Duration awaitTermination) {
+            super(executor);
+            this.executor = executor;
+            this.awaitTermination = awaitTermination;
+        }
+
+        @Override
+        public void destroy() throws InterruptedException {
+            if (awaitTermination == null) {
+                executor.shutdownNow();
+                return;
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(awaitTermination.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Application task executor did not terminate within {}, interrupting remaining tasks",
+                        awaitTermination);
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.volcano.blog.controller;
+
+import com.volcano.blog.annotation.AuditLog.AuditAction;
+import com.volcano.blog.dto.AuditEventDto;
+import com.volcano.blog.dto.CursorPageResponse;
+import com.volcano.blog.service.AuditQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 审计事件管理控制器（仅管理员）
+ */
+@RestController
+@RequestMapping("/api/admin/audit-events")
+@RequiredArgsConstructor
+@Tag(name = "审计日志", description = "审计事件查询 API（管理员）")
+public class AdminAuditController {
+
+    private final AuditQueryService auditQueryService;
+
+    /**
+     * 查询审计事件
+     */
+    @Operation(summary = "查询审计事件",
+            description = "按用户、操作类型和时间范围查询审计事件，按时间倒序游标分页")
+    @SecurityRequirement(name = "bearer-jwt")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "成功"),
+        @ApiResponse(responseCode = "400", description = "游标、分页大小或时间范围无效"),
+        @ApiResponse(responseCode = "401", description = "未授权"),
+        @ApiResponse(responseCode = "403", description = "非管理员")
+    })
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getAuditEvents(
+            @Parameter(description = "操作用户ID") @RequestParam(required = false) Long userId,
+            @Parameter(description = "操作类型") @RequestParam(required = false) AuditAction action,
+            @Parameter(description = "起始时间（含，ISO-8601）", example = "2026-10-01T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "结束时间（不含，ISO-8601）", example = "2026-11-01T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "游标：传空值获取第一页，之后传上一页返回的 nextCursor")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小（最大100）") @RequestParam(defaultValue = "20") int size) {
+
+        CursorPageResponse<AuditEventDto> events =
+                auditQueryService.getAuditEvents(userId, action, from, to, cursor, size);
+
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "data", events
+        ));
+    }
+}
@@ -6,6 +6,9 @@ import com.volcano.blog.dto.LoginRequest;
 import com.volcano.blog.dto.LoginResponse;
 import com.volcano.blog.dto.RegisterRequest;
 import com.volcano.blog.dto.UserDto;
+import com.volcano.blog.security.ClientAddress;
+import com.volcano.blog.security.ClientIpResolver;
+import com.volcano.blog.security.CredentialExecutor;
 import com.volcano.blog.security.JwtUserPrincipal;
 import com.volcano.blog.service.AuthService;
 import com.volcano.blog.service.RateLimitService;
@@ -25,10 +28,13 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 认证控制器
  * 处理用户登录、注销等认证相关的 HTTP 请求
+ * 登录和注册在 CredentialExecutor 中异步执行，请求线程在等待 BCrypt 计算期间被释放
  */
 @Slf4j
 @RestController
@@ -38,10 +44,15 @@ public class AuthController {
 
     private final AuthService authService;
     private final RateLimitService rateLimitService;
+    private final CredentialExecutor credentialExecutor;
+    private final ClientIpResolver clientIpResolver;
 
-    public AuthController(AuthService authService, RateLimitService rateLimitService) {
+    public AuthController(AuthService authService, RateLimitService rateLimitService,
+                          CredentialExecutor credentialExecutor, ClientIpResolver clientIpResolver) {
         this.authService = authService;
         this.rateLimitService = rateLimitService;
+        this.credentialExecutor = credentialExecutor;
+        this.clientIpResolver = clientIpResolver;
     }
 
     /**
@@ -55,68 +66,46 @@ public class AuthController {
                 content = @Content(schema = @Schema(implementation = LoginResponse.class))),
         @ApiResponse(responseCode = "401", description = "用户名或密码错误"),
         @ApiResponse(responseCode = "400", description = "请求参数验证失败"),
-        @ApiResponse(responseCode = "429", description = "请求过于频繁，请稍后再试")
+        @ApiResponse(responseCode = "429", description = "请求过于频繁，请稍后再试"),
+        @ApiResponse(responseCode = "503", description = "登录请求过多，服务繁忙")
     })
     @PostMapping("/login")
     @AuditLog(value = "用户登录", action = AuditAction.LOGIN)
-    public ResponseEntity<Map<String, Object>> login(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> login(
             @Valid @RequestBody LoginRequest request,
             jakarta.servlet.http.HttpServletRequest httpRequest) {
         
-        // 获取客户端 IP 地址
-        String clientIp = getClientIp(httpRequest);
+        // 获取客户端 IP 地址（已由 RateLimitFilter 解析并缓存在请求属性中）
+        ClientAddress clientIp = clientIpResolver.resolve(httpRequest);
         log.info("Received login request for email: {} from IP: {}", 
-                LogUtils.maskEmail(request.getEmail()), LogUtils.maskIp(clientIp));
+                LogUtils.maskEmail(request.getEmail()), LogUtils.maskIp(clientIp.toString()));
         
-        // 检查限流
-        if (!rateLimitService.allowRequest(clientIp)) {
-            log.warn("Rate limit exceeded for IP: {}", LogUtils.maskIp(clientIp));
-            return ResponseEntity.status(429).body(Map.of(
-                "success", false,
-                "message", "请求过于频繁，请稍后再试",
-                "error", "RATE_LIMIT_EXCEEDED"
-            ));
-        }
-        
-        try {
-            LoginResponse response = authService.login(request);
-            
-            // 登录成功后重置限流计数器
-            rateLimitService.resetLimit(clientIp);
-            log.info("Login successful for user: {}", LogUtils.maskEmail(request.getEmail()));
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "data", response,
-                "message", "登录成功"
-            ));
-        } catch (Exception e) {
-            // 登录失败，限流保持生效
-            log.warn("Login failed for email: {} from IP: {}", 
-                    LogUtils.maskEmail(request.getEmail()), LogUtils.maskIp(clientIp));
-            throw e;
-        }
-    }
-    
-    /**
-     * 获取客户端真实 IP 地址
-     * 考虑代理和负载均衡的情况
-     */
-    private String getClientIp(jakarta.servlet.http.HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        // 如果有多个 IP（经过多层代理），取第一个
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        return ip;
+        // 限流已由 RateLimitFilter 在进入安全链之前完成
+        return credentialExecutor.submit(() -> authService.login(request))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        // 登录失败，限流保持生效
+                        log.warn("Login failed for email: {} from IP: {}", 
+                                LogUtils.maskEmail(request.getEmail()), LogUtils.maskIp(clientIp.toString()));
+                        throw asCompletionException(error);
+                    }
+
+                    // 登录成功后重置限流计数器
+                    rateLimitService.resetLimit(clientIp);
+                    log.info("Login successful for user: {}", LogUtils.maskEmail(request.getEmail()));
+
+                    return ResponseEntity.ok(Map.<String, Object>of(
+                        "success", true,
+                        "data", response,
+                        "message", "登录成功"
+                    ));
+                });
     }
 
+    private static CompletionException asCompletionException(Throwable error) {
+        return error instanceof CompletionException completion ? completion : new CompletionException(error);
+    }
+    
     /**
      * 获取当前登录用户信息
      */
@@ -145,35 +134,28 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "注册成功"),
         @ApiResponse(responseCode = "400", description = "请求参数验证失败或邮箱已被注册"),
-        @ApiResponse(responseCode = "429", description = "请求过于频繁，请稍后再试")
+        @ApiResponse(responseCode = "429", description = "请求过于频繁，请稍后再试"),
+        @ApiResponse(responseCode = "503", description = "注册请求过多，服务繁忙")
     })
     @PostMapping("/register")
     @AuditLog(value = "用户注册", action = AuditAction.CREATE)
-    public ResponseEntity<Map<String, Object>> register(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> register(
             @Valid @RequestBody RegisterRequest request,
             jakarta.servlet.http.HttpServletRequest httpRequest) {
         
-        String clientIp = getClientIp(httpRequest);
+        ClientAddress clientIp = clientIpResolver.resolve(httpRequest);
         log.info("Received register request for email: {} from IP: {}", 
-                LogUtils.maskEmail(request.getEmail()), LogUtils.maskIp(clientIp));
-        
-        // 检查限流
-        if (!rateLimitService.allowRequest("register:" + clientIp)) {
-            log.warn("Rate limit exceeded for registration from IP: {}", LogUtils.maskIp(clientIp));
-            return ResponseEntity.status(429).body(Map.of(
-                "success", false,
-                "message", "请求过于频繁，请稍后再试",
-                "error", "RATE_LIMIT_EXCEEDED"
-            ));
-        }
-        
-        UserDto user = authService.register(request);
-        log.info("Registration successful for user: {}", LogUtils.maskEmail(request.getEmail()));
+                LogUtils.maskEmail(request.getEmail()), LogUtils.maskIp(clientIp.toString()));
         
-        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
-            "success", true,
-            "data", user,
-            "message", "注册成功"
-        ));
+        return credentialExecutor.submit(() -> authService.register(request))
+                .thenApply(user -> {
+                    log.info("Registration successful for user: {}", LogUtils.maskEmail(request.getEmail()));
+
+                    return ResponseEntity.status(HttpStatus.CREATED).body(Map.<String, Object>of(
+                        "success", true,
+                        "data", user,
+                        "message", "注册成功"
+                    ));
+                });
     }
 }
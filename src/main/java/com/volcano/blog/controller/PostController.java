@@ -2,8 +2,14 @@ package com.volcano.blog.controller;
 
 import com.volcano.blog.annotation.AuditLog;
 import com.volcano.blog.annotation.AuditLog.AuditAction;
+import com.volcano.blog.config.AppProperties;
 import com.volcano.blog.dto.*;
+import com.volcano.blog.exception.BusinessException;
+import com.volcano.blog.metrics.SqlRequestTrackingFilter;
 import com.volcano.blog.security.JwtUserPrincipal;
+import com.volcano.blog.service.PostFeedVersion;
+import com.volcano.blog.service.PostImportService;
+import com.volcano.blog.service.PostSearchService;
 import com.volcano.blog.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,14 +17,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -32,6 +47,10 @@ import java.util.Map;
 public class PostController {
 
     private final PostService postService;
+    private final PostSearchService postSearchService;
+    private final PostImportService postImportService;
+    private final PostFeedVersion postFeedVersion;
+    private final AppProperties appProperties;
 
     /**
      * 创建文章
@@ -58,45 +77,147 @@ public class PostController {
         ));
     }
 
+    /**
+     * 批量导入文章
+     */
+    @Operation(summary = "批量导入文章",
+            description = "请求体为文章对象的 JSON 数组，或每行一个文章对象（application/x-ndjson），作者为当前用户。"
+                    + "逐条校验，校验失败的文章跳过；返回每篇文章的结果（按输入顺序，成功时带文章ID）。"
+                    + "只有管理员可以指定原创建时间（createdAt），用于迁移旧内容")
+    @SecurityRequirement(name = "bearer-jwt")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "处理完成（可能部分失败，见 data.items）"),
+        @ApiResponse(responseCode = "401", description = "未授权")
+    })
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @AuditLog(value = "批量导入文章", action = AuditAction.IMPORT, logParams = false)
+    public ResponseEntity<Map<String, Object>> importPosts(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            HttpServletRequest request) throws IOException {
+
+        // 每批一条 INSERT，语句数随导入数量增长，不受单请求语句预算限制
+        request.setAttribute(SqlRequestTrackingFilter.BUDGET_EXEMPT_ATTRIBUTE, Boolean.TRUE);
+        PostImportResult result = postImportService.importPosts(principal.getUserId(), principal.getRole(),
+                request.getInputStream());
+
+        return ResponseEntity.ok(Map.of(
+            "success", result.getFailed() == 0 && result.getAbortReason() == null,
+            "data", result,
+            "message", "导入完成：成功 " + result.getImported() + " 篇，失败 " + result.getFailed() + " 篇"
+        ));
+    }
+
     /**
      * 获取文章详情
      */
-    @Operation(summary = "获取文章详情", description = "根据ID获取文章详情")
+    @Operation(summary = "获取文章详情",
+            description = "根据ID获取文章详情，返回 ETag / Last-Modified；带 If-None-Match 或 If-Modified-Since 且未修改时返回 304")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "成功"),
+        @ApiResponse(responseCode = "304", description = "未修改"),
         @ApiResponse(responseCode = "404", description = "文章不存在")
     })
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> getPost(
-            @Parameter(description = "文章ID") @PathVariable Long id) {
+            @Parameter(description = "文章ID") @PathVariable Long id,
+            HttpServletRequest request) {
         
+        // 条件请求先只取版本信息，未修改时不加载正文
+        if (isConditional(request)) {
+            PostVersion version = postService.getPostVersion(id);
+            if (isNotModified(request, version.eTag(), version.updatedAt())) {
+                return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED),
+                        version.eTag(), version.updatedAt(), postCacheControl(version))
+                        .build();
+            }
+        }
+
         PostDto post = postService.getPost(id);
+        PostVersion version = PostVersion.of(post);
         
-        return ResponseEntity.ok(Map.of(
-            "success", true,
-            "data", post
-        ));
+        return withValidators(ResponseEntity.ok(), version.eTag(), version.updatedAt(), postCacheControl(version))
+                .body(dataBody(post));
     }
 
     /**
      * 获取文章列表（分页）
      */
-    @Operation(summary = "获取文章列表", description = "获取文章列表，支持分页")
+    @Operation(summary = "获取文章列表",
+            description = "获取文章列表，支持页码分页；传入 cursor 参数时切换为游标分页（不返回总数，深分页无额外开销）。"
+                    + "view=summary 时只返回摘要，不包含正文；total=approx/none 时不执行 COUNT 查询")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "成功")
+        @ApiResponse(responseCode = "200", description = "成功"),
+        @ApiResponse(responseCode = "304", description = "已发布文章列表未变化"),
+        @ApiResponse(responseCode = "400", description = "游标、view 或 total 参数无效")
     })
     @GetMapping
     public ResponseEntity<Map<String, Object>> getPosts(
             @Parameter(description = "页码（从0开始）") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "每页大小") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "是否只返回已发布文章") @RequestParam(defaultValue = "true") boolean publishedOnly) {
+            @Parameter(description = "是否只返回已发布文章") @RequestParam(defaultValue = "true") boolean publishedOnly,
+            @Parameter(description = "游标（游标分页模式）：传空值获取第一页，之后传上一页返回的 nextCursor")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "返回视图：full 完整文章，summary 仅摘要") @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "总数统计：exact 精确，approx 近似（缓存），none 不统计（totalElements 为 -1）")
+            @RequestParam(defaultValue = "exact") String total,
+            HttpServletRequest request) {
         
-        PageResponse<PostDto> posts = postService.getPosts(page, size, publishedOnly);
+        boolean summary = isSummaryView(view);
+        TotalCountMode totalMode = TotalCountMode.fromParameter(total);
+
+        // 已发布文章列表按列表版本生成校验器；包含草稿的列表不参与 HTTP 缓存
+        String eTag = null;
+        Instant lastModified = null;
+        CacheControl cacheControl = null;
+        if (publishedOnly) {
+            eTag = postFeedVersion.getETag();
+            lastModified = postFeedVersion.getLastModified();
+            cacheControl = publicCacheControl(appProperties.getHttpCache().getFeedMaxAge());
+            if (isNotModified(request, eTag, lastModified)) {
+                return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag, lastModified, cacheControl)
+                        .build();
+            }
+        }
+
+        Object posts;
+        if (cursor != null) {
+            posts = summary
+                    ? postService.getPostSummariesByCursor(cursor, size, publishedOnly)
+                    : postService.getPostsByCursor(cursor, size, publishedOnly);
+        } else if (totalMode != TotalCountMode.EXACT) {
+            posts = summary
+                    ? postService.getPostSummarySlice(page, size, publishedOnly, totalMode)
+                    : postService.getPostSlice(page, size, publishedOnly, totalMode);
+        } else {
+            posts = summary
+                    ? postService.getPostSummaries(page, size, publishedOnly)
+                    : postService.getPosts(page, size, publishedOnly);
+        }
         
-        return ResponseEntity.ok(Map.of(
-            "success", true,
-            "data", posts
-        ));
+        return withValidators(ResponseEntity.ok(), eTag, lastModified, cacheControl)
+                .body(dataBody(posts));
+    }
+
+    /**
+     * 搜索已发布文章
+     */
+    @Operation(summary = "搜索文章",
+            description = "按标题和正文全文检索已发布文章，结果按相关度排序，使用游标分页；"
+                    + "highlightedTitle 和 snippet 为已转义的 HTML，命中关键词包裹在 <mark> 中")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "成功"),
+        @ApiResponse(responseCode = "400", description = "关键词为空或过长、游标或每页大小无效，或游标已过期（CURSOR_EXPIRED，需从第一页重新搜索）")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchPosts(
+            @Parameter(description = "关键词，多个关键词以空格分隔") @RequestParam String q,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "游标：不传获取第一页，之后传上一页返回的 nextCursor")
+            @RequestParam(required = false) String cursor) {
+
+        CursorPageResponse<PostSearchHitDto> hits = postSearchService.search(q, cursor, size);
+
+        return ResponseEntity.ok(dataBody(hits));
     }
 
     /**
@@ -112,9 +233,13 @@ public class PostController {
     public ResponseEntity<Map<String, Object>> getMyPosts(
             @Parameter(description = "页码（从0开始）") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "每页大小") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "游标（游标分页模式）：传空值获取第一页，之后传上一页返回的 nextCursor")
+            @RequestParam(required = false) String cursor,
             @AuthenticationPrincipal JwtUserPrincipal principal) {
         
-        PageResponse<PostDto> posts = postService.getUserPosts(principal.getUserId(), page, size);
+        Object posts = cursor != null
+                ? postService.getUserPostsByCursor(principal.getUserId(), cursor, size)
+                : postService.getUserPosts(principal.getUserId(), page, size);
         
         return ResponseEntity.ok(Map.of(
             "success", true,
@@ -201,4 +326,68 @@ public class PostController {
             "message", message
         ));
     }
+
+    /**
+     * 成功响应体，字段顺序固定，保证同一版本的表示逐字节一致（强 ETag）
+     */
+    private static Map<String, Object> dataBody(Object data) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", true);
+        body.put("data", data);
+        return body;
+    }
+
+    /**
+     * 已发布文章允许浏览器和 CDN 缓存；未发布文章返回 null，保留默认的 no-store
+     */
+    private CacheControl postCacheControl(PostVersion version) {
+        return version.published() ? publicCacheControl(appProperties.getHttpCache().getPostMaxAge()) : null;
+    }
+
+    private static CacheControl publicCacheControl(Duration maxAge) {
+        return CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+    }
+
+    private static boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * 按 If-None-Match / If-Modified-Since 判断是否未修改（不写入响应）
+     */
+    private static boolean isNotModified(HttpServletRequest request, String eTag, Instant lastModified) {
+        if (eTag == null || lastModified == null) {
+            return false;
+        }
+        return new ServletWebRequest(request).checkNotModified(eTag, lastModified.toEpochMilli());
+    }
+
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B withValidators(B builder, String eTag,
+                                                                                 Instant lastModified,
+                                                                                 CacheControl cacheControl) {
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        if (cacheControl != null) {
+            builder.cacheControl(cacheControl);
+        }
+        return builder;
+    }
+
+    /**
+     * 解析列表视图参数
+     */
+    private static boolean isSummaryView(String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return true;
+        }
+        if ("full".equalsIgnoreCase(view)) {
+            return false;
+        }
+        throw new BusinessException("INVALID_VIEW", "view 参数只支持 summary 或 full");
+    }
 }
@@ -0,0 +1,82 @@
+package com.volcano.blog.dto;
+
+import com.volcano.blog.model.AuditRecord;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 审计事件数据传输对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "审计事件")
+public class AuditEventDto {
+
+    @Schema(description = "事件ID", example = "1")
+    private Long id;
+
+    @Schema(description = "发生时间")
+    private Instant createdAt;
+
+    @Schema(description = "操作用户ID，匿名操作为空", example = "1")
+    private Long userId;
+
+    @Schema(description = "操作类型", example = "DELETE")
+    private String action;
+
+    @Schema(description = "操作描述", example = "删除文章")
+    private String description;
+
+    @Schema(description = "方法签名", example = "PostController.deletePost(..)")
+    private String method;
+
+    @Schema(description = "客户端IP（已脱敏）", example = "192.168.*.*")
+    private String ip;
+
+    @Schema(description = "请求URI", example = "/api/posts/42")
+    private String uri;
+
+    @Schema(description = "HTTP 方法", example = "DELETE")
+    private String httpMethod;
+
+    @Schema(description = "User-Agent")
+    private String userAgent;
+
+    @Schema(description = "是否成功")
+    private boolean success;
+
+    @Schema(description = "失败原因")
+    private String error;
+
+    @Schema(description = "请求参数（已脱敏的 JSON）")
+    private String params;
+
+    @Schema(description = "耗时（毫秒）", example = "12")
+    private long durationMs;
+
+    public static AuditEventDto fromEntity(AuditRecord record) {
+        return AuditEventDto.builder()
+                .id(record.getId())
+                .createdAt(record.getCreatedAt())
+                .userId(record.getUserId())
+                .action(record.getAction())
+                .description(record.getDescription())
+                .method(record.getMethod())
+                .ip(record.getIp())
+                .uri(record.getUri())
+                .httpMethod(record.getHttpMethod())
+                .userAgent(record.getUserAgent())
+                .success(record.isSuccess())
+                .error(record.getError())
+                .params(record.getParams())
+                .durationMs(record.getDurationMs())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.volcano.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页响应（keyset 分页，不返回总数）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "游标分页响应")
+public class CursorPageResponse<T> {
+
+    @Schema(description = "数据列表")
+    private List<T> content;
+
+    @Schema(description = "每页大小", example = "10")
+    private int size;
+
+    @Schema(description = "下一页游标，没有更多数据时为 null", example = "MTcwMDAwMDAwMDowOjQy")
+    private String nextCursor;
+
+    @Schema(description = "是否还有下一页", example = "true")
+    private boolean hasNext;
+}
@@ -0,0 +1,40 @@
+package com.volcano.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 批量导入中的一篇文章
+ * 校验规则与创建文章相同；管理员迁移旧内容时可保留原创建时间
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "批量导入的文章")
+public class ImportPostRequest {
+
+    @Schema(description = "文章标题", example = "我的第一篇博客", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "文章标题不能为空")
+    @Size(min = 1, max = 200, message = "文章标题长度必须在1-200个字符之间")
+    private String title;
+
+    @Schema(description = "文章内容", example = "这是文章的正文内容...")
+    private String content;
+
+    @Schema(description = "是否发布", example = "true")
+    @Builder.Default
+    private boolean published = false;
+
+    @Schema(description = "原创建时间（仅管理员可指定），为空时使用导入时间", example = "2020-01-01T08:00:00Z")
+    @PastOrPresent(message = "创建时间不能晚于当前时间")
+    private Instant createdAt;
+}
@@ -5,8 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * 分页响应
@@ -18,6 +21,11 @@ import java.util.List;
 @Schema(description = "分页响应")
 public class PageResponse<T> {
 
+    /**
+     * 未统计总数时 totalElements / totalPages 的取值
+     */
+    public static final int UNKNOWN_TOTAL = -1;
+
     @Schema(description = "数据列表")
     private List<T> content;
 
@@ -27,10 +35,10 @@ public class PageResponse<T> {
     @Schema(description = "每页大小", example = "10")
     private int size;
 
-    @Schema(description = "总元素数", example = "100")
+    @Schema(description = "总元素数，未统计时为 -1", example = "100")
     private long totalElements;
 
-    @Schema(description = "总页数", example = "10")
+    @Schema(description = "总页数，未统计时为 -1", example = "10")
     private int totalPages;
 
     @Schema(description = "是否为第一页", example = "true")
@@ -38,4 +46,40 @@ public class PageResponse<T> {
 
     @Schema(description = "是否为最后一页", example = "false")
     private boolean last;
+
+    /**
+     * 从 Spring Data 分页结果创建，并转换元素类型
+     */
+    public static <S, T> PageResponse<T> from(Page<S> page, Function<? super S, ? extends T> mapper) {
+        return PageResponse.<T>builder()
+                .content(page.getContent().stream().<T>map(mapper).toList())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .build();
+    }
+
+    /**
+     * 从 Spring Data Slice 创建（Slice 不含总数，由调用方提供）
+     *
+     * @param totalElements 总数，未知时传 {@link #UNKNOWN_TOTAL}
+     */
+    public static <S, T> PageResponse<T> fromSlice(Slice<S> slice, Function<? super S, ? extends T> mapper,
+                                                   long totalElements) {
+        int totalPages = totalElements < 0
+                ? UNKNOWN_TOTAL
+                : (int) ((totalElements + slice.getSize() - 1) / slice.getSize());
+        return PageResponse.<T>builder()
+                .content(slice.getContent().stream().<T>map(mapper).toList())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .build();
+    }
 }
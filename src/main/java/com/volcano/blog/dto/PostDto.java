@@ -1,5 +1,6 @@
 package com.volcano.blog.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.volcano.blog.model.Post;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
@@ -46,6 +47,12 @@ public class PostDto {
     @Schema(description = "更新时间")
     private Instant updatedAt;
 
+    /**
+     * 修订号，只用于生成 ETag，不输出
+     */
+    @JsonIgnore
+    private long revision;
+
     /**
      * 从 Post 实体创建 PostDto
      */
@@ -56,7 +63,8 @@ public class PostDto {
                 .content(post.getContent())
                 .published(post.isPublished())
                 .createdAt(post.getCreatedAt())
-                .updatedAt(post.getUpdatedAt());
+                .updatedAt(post.getUpdatedAt())
+                .revision(post.getRevision());
 
         if (post.getAuthor() != null) {
             builder.authorId(post.getAuthor().getId())
@@ -0,0 +1,23 @@
+package com.volcano.blog.dto;
+
+import java.time.Instant;
+
+/**
+ * 已发布文章的汇总状态，用于生成列表的 HTTP 缓存校验器
+ * 发布、取消发布、删除改变数量；新建改变最大ID；修改使修订号之和与最后修改时间增加
+ *
+ * @param count          已发布文章数
+ * @param maxId          最大文章ID，没有已发布文章时为 null
+ * @param revisionSum    修订号之和，没有已发布文章时为 null
+ * @param maxUpdatedAt   最后修改时间，没有已发布文章时为 null
+ */
+public record PostFeedStats(Long count, Long maxId, Long revisionSum, Instant maxUpdatedAt) {
+
+    /**
+     * 强 ETag：数据库状态相同时各实例生成相同的值
+     */
+    public String eTag() {
+        return "\"feed-" + count + "-" + (maxId != null ? maxId : 0) + "-" + (revisionSum != null ? revisionSum : 0)
+                + "-" + (maxUpdatedAt != null ? maxUpdatedAt.getEpochSecond() : 0) + "\"";
+    }
+}
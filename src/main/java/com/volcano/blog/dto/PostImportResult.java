@@ -0,0 +1,60 @@
+package com.volcano.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量导入结果
+ * items 按输入顺序列出每篇文章的结果：成功时带文章 ID，失败时带原因
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "批量导入结果")
+public class PostImportResult {
+
+    @Schema(description = "已处理的文章数", example = "3")
+    private int total;
+
+    @Schema(description = "导入成功数", example = "2")
+    private int imported;
+
+    @Schema(description = "导入失败数", example = "1")
+    private int failed;
+
+    @Schema(description = "提前终止的原因（请求体格式错误或超过数量上限），为空表示全部处理完")
+    private String abortReason;
+
+    @Schema(description = "每篇文章的结果")
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "单篇文章的导入结果")
+    public static class Item {
+
+        @Schema(description = "在请求中的序号（从0开始）", example = "0")
+        private int index;
+
+        @Schema(description = "文章ID，失败时为空", example = "101")
+        private Long id;
+
+        @Schema(description = "失败原因，成功时为空", example = "文章标题不能为空")
+        private String error;
+
+        public static Item created(int index, Long id) {
+            return new Item(index, id, null);
+        }
+
+        public static Item failed(int index, String error) {
+            return new Item(index, null, error);
+        }
+    }
+}
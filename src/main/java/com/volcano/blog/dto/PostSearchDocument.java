@@ -0,0 +1,12 @@
+package com.volcano.blog.dto;
+
+/**
+ * 构建搜索索引所需的文章字段
+ * 重建索引时按 id 分批读取，不加载作者等关联
+ *
+ * @param id      文章ID
+ * @param title   标题
+ * @param content 正文
+ */
+public record PostSearchDocument(Long id, String title, String content) {
+}
@@ -0,0 +1,45 @@
+package com.volcano.blog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 文章搜索结果
+ * highlightedTitle 与 snippet 已做 HTML 转义，命中的关键词包裹在 &lt;mark&gt; 中
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "文章搜索结果")
+public class PostSearchHitDto {
+
+    @Schema(description = "文章ID", example = "1")
+    private Long id;
+
+    @Schema(description = "文章标题", example = "我的第一篇博客")
+    private String title;
+
+    @Schema(description = "高亮后的标题（HTML）", example = "我的第一篇<mark>博客</mark>")
+    private String highlightedTitle;
+
+    @Schema(description = "正文中命中关键词附近的片段（HTML）", example = "…记录搭建<mark>博客</mark>的过程…")
+    private String snippet;
+
+    @Schema(description = "相关度，越大越相关", example = "1.75")
+    private double score;
+
+    @Schema(description = "作者ID", example = "1")
+    private Long authorId;
+
+    @Schema(description = "作者名称", example = "张三")
+    private String authorName;
+
+    @Schema(description = "创建时间")
+    private Instant createdAt;
+}
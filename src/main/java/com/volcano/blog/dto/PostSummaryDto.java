@@ -0,0 +1,66 @@
+package com.volcano.blog.dto;
+
+import com.volcano.blog.model.Post;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 文章摘要数据传输对象
+ * 用于列表接口，不包含正文；由 JPQL 构造器表达式直接投影，字段顺序即构造参数顺序
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "文章摘要信息")
+public class PostSummaryDto {
+
+    @Schema(description = "文章ID", example = "1")
+    private Long id;
+
+    @Schema(description = "文章标题", example = "我的第一篇博客")
+    private String title;
+
+    @Schema(description = "文章摘要", example = "这是文章的正文内容...")
+    private String excerpt;
+
+    @Schema(description = "是否已发布", example = "true")
+    private boolean published;
+
+    @Schema(description = "作者ID", example = "1")
+    private Long authorId;
+
+    @Schema(description = "作者名称", example = "张三")
+    private String authorName;
+
+    @Schema(description = "创建时间")
+    private Instant createdAt;
+
+    @Schema(description = "更新时间")
+    private Instant updatedAt;
+
+    /**
+     * 从 Post 实体创建摘要（需已加载作者）
+     */
+    public static PostSummaryDto fromEntity(Post post) {
+        PostSummaryDto.PostSummaryDtoBuilder builder = PostSummaryDto.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .excerpt(post.getExcerpt())
+                .published(post.isPublished())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt());
+
+        if (post.getAuthor() != null) {
+            builder.authorId(post.getAuthor().getId())
+                    .authorName(post.getAuthor().getName());
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.volcano.blog.dto;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 文章版本信息
+ * 只包含生成 HTTP 缓存校验器（ETag / Last-Modified）所需的字段，条件请求可在不加载正文的情况下判断是否修改
+ *
+ * @param id          文章ID
+ * @param revision    修订号，每次修改加一
+ * @param updatedAt   最后修改时间（秒精度）
+ * @param published   是否已发布
+ * @param authorName  作者名称（出现在响应体中）
+ * @param authorEmail 作者邮箱（出现在响应体中）
+ */
+public record PostVersion(Long id, long revision, Instant updatedAt, boolean published,
+                          String authorName, String authorEmail) {
+
+    public static PostVersion of(PostDto post) {
+        return new PostVersion(post.getId(), post.getRevision(), post.getUpdatedAt(), post.isPublished(),
+                post.getAuthorName(), post.getAuthorEmail());
+    }
+
+    /**
+     * 强 ETag：由修订号和响应体中的作者字段决定，同一 ETag 的表示逐字节相同；无修改时间时返回 null
+     * 不使用修改时间，同一秒内的两次修改修订号不同
+     */
+    public String eTag() {
+        if (updatedAt == null) {
+            return null;
+        }
+        return "\"post-" + id + "-" + revision + "-"
+                + Integer.toHexString(Objects.hash(authorName, authorEmail)) + "\"";
+    }
+}
@@ -0,0 +1,36 @@
+package com.volcano.blog.dto;
+
+import com.volcano.blog.exception.BusinessException;
+
+/**
+ * 分页总数统计方式
+ */
+public enum TotalCountMode {
+
+    /**
+     * 精确统计：每次分页额外执行 COUNT 查询
+     */
+    EXACT,
+
+    /**
+     * 近似统计：使用后台定期刷新的缓存总数，不执行 COUNT 查询
+     */
+    APPROX,
+
+    /**
+     * 不统计：只返回是否还有下一页（多取一条判断）
+     */
+    NONE;
+
+    /**
+     * 解析请求参数（不区分大小写）
+     */
+    public static TotalCountMode fromParameter(String value) {
+        for (TotalCountMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new BusinessException("INVALID_TOTAL_MODE", "total 参数只支持 exact、approx 或 none");
+    }
+}
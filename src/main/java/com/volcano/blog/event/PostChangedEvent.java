@@ -0,0 +1,37 @@
+package com.volcano.blog.event;
+
+import com.volcano.blog.model.Post;
+
+/**
+ * 文章变更事件
+ * 由 PostService 在创建、更新、删除、切换发布状态时发布，监听方应在事务提交后处理
+ *
+ * @param postId       文章ID
+ * @param post         变更后的文章（已加载作者）；删除时为 null。事务提交后读取，@PreUpdate 计算的字段已是最终值
+ * @param wasPublished 变更前是否已发布；新建文章为 false
+ */
+public record PostChangedEvent(Long postId, Post post, boolean wasPublished) {
+
+    public static PostChangedEvent created(Post post) {
+        return new PostChangedEvent(post.getId(), post, false);
+    }
+
+    public static PostChangedEvent updated(Post post, boolean wasPublished) {
+        return new PostChangedEvent(post.getId(), post, wasPublished);
+    }
+
+    public static PostChangedEvent deleted(Long postId, boolean wasPublished) {
+        return new PostChangedEvent(postId, null, wasPublished);
+    }
+
+    public boolean isDeleted() {
+        return post == null;
+    }
+
+    /**
+     * 变更后是否处于已发布状态
+     */
+    public boolean isPublished() {
+        return post != null && post.isPublished();
+    }
+}
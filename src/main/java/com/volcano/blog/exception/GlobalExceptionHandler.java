@@ -1,6 +1,8 @@
 package com.volcano.blog.exception;
 
+import com.volcano.blog.ratelimit.RateLimitFilter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -91,6 +93,42 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * 处理服务繁忙异常（有界线程池拒绝任务）
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceBusyException(ServiceBusyException ex) {
+        log.warn("Service busy: {}", ex.getMessage());
+        ResponseEntity<Map<String, Object>> response = buildErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "SERVICE_BUSY",
+            ex.getMessage(),
+            null
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    /**
+     * 处理限流异常（路由表之外的 @RateLimit 方法），与 RateLimitFilter 一样返回 429 和 Retry-After
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleRateLimitExceededException(RateLimitExceededException ex) {
+        // 拒绝次数由 ratelimit.requests{outcome=rejected} 统计
+        log.debug("Rate limit exceeded: {}", ex.getMessage());
+        ResponseEntity<Map<String, Object>> response = buildErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS,
+            "RATE_LIMIT_EXCEEDED",
+            ex.getMessage(),
+            null
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .header(RateLimitFilter.REMAINING_HEADER, "0")
+                .body(response.getBody());
+    }
+
     /**
      * 处理不支持的媒体类型异常
      */
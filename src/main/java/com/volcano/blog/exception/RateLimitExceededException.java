@@ -0,0 +1,21 @@
+package com.volcano.blog.exception;
+
+import lombok.Getter;
+
+/**
+ * 限流异常
+ * 路由表之外的 @RateLimit 方法超限时抛出，对应 HTTP 429，响应与 RateLimitFilter 直接写出的一致
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * 距下次补充令牌的秒数，写入 Retry-After
+     */
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.volcano.blog.exception;
+
+/**
+ * 服务繁忙异常
+ * 有界线程池队列已满或排队超时时抛出，对应 HTTP 503
+ */
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
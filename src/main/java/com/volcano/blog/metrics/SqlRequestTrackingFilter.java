@@ -0,0 +1,156 @@
+package com.volcano.blog.metrics;
+
+import com.volcano.blog.config.AppProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个请求的 SQL 统计
+ * <ul>
+ *   <li>指标：http.server.requests.db.statements（语句数）和 http.server.requests.db.time（JDBC 累计耗时），
+ *       tag method、uri（匹配到的路由模板，与 http.server.requests 一致），未匹配到处理器的请求不记录；</li>
+ *   <li>语句数超过 sql.statement-budget、JDBC 耗时超过 sql.slow-request-threshold 时分别记录警告；
+ *       语句数随请求规模增长的接口（如批量导入）可设置 {@link #BUDGET_EXEMPT_ATTRIBUTE} 跳过语句预算检查；</li>
+ *   <li>开启 sql.response-headers 时在响应提交前写出 X-SQL-Statements、X-SQL-Time-Ms（截至提交时的统计）。</li>
+ * </ul>
+ * 异步请求（如登录、注册）的统计在 async dispatch 中继续累加，最后一次 dispatch 结束时记录；
+ * 提交到 CredentialExecutor 的任务执行的语句也计入（见 {@link SqlStatementTracker#propagate}）。
+ * <p>
+ * sql.fail-on-budget-exceeded 只用于测试：检查在请求处理完成后进行，此时响应通常已经提交，
+ * 抛出的异常无法改变真实容器中的响应状态；在 MockMvc 中异常从 perform()（异步请求为 asyncDispatch）抛出，使测试失败。
+ */
+@Slf4j
+public class SqlRequestTrackingFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_METRIC = "http.server.requests.db.statements";
+    static final String TIME_METRIC = "http.server.requests.db.time";
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    /**
+     * 请求属性：设置后不检查语句预算（仍记录指标和慢请求日志）
+     */
+    public static final String BUDGET_EXEMPT_ATTRIBUTE = SqlRequestTrackingFilter.class.getName() + ".BUDGET_EXEMPT";
+
+    /**
+     * 请求属性：异步请求在各次 dispatch 之间传递的统计
+     */
+    private static final String STATS_ATTRIBUTE = SqlRequestTrackingFilter.class.getName() + ".STATS";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final long slowRequestNanos;
+    private final long slowRequestMillis;
+    private final boolean responseHeaders;
+    private final boolean failOnBudgetExceeded;
+
+    public SqlRequestTrackingFilter(MeterRegistry meterRegistry, AppProperties appProperties) {
+        AppProperties.Sql config = appProperties.getSql();
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = config.getStatementBudget();
+        this.slowRequestNanos = config.getSlowRequestThreshold().toNanos();
+        this.slowRequestMillis = config.getSlowRequestThreshold().toMillis();
+        this.responseHeaders = config.isResponseHeaders();
+        this.failOnBudgetExceeded = config.isFailOnBudgetExceeded();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Object carried = isAsyncDispatch(request) ? request.getAttribute(STATS_ATTRIBUTE) : null;
+        if (carried instanceof SqlStatementTracker.Stats previous) {
+            SqlStatementTracker.resume(previous);
+        } else {
+            SqlStatementTracker.start();
+        }
+        SqlStatementTracker.Stats stats;
+        try {
+            filterChain.doFilter(request, responseHeaders ? new SqlHeadersResponseWrapper(response) : response);
+        } finally {
+            stats = SqlStatementTracker.stop();
+        }
+        if (request.isAsyncStarted()) {
+            // 异步处理尚未完成，在下一次 dispatch 中继续统计
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            return;
+        }
+        request.removeAttribute(STATS_ATTRIBUTE);
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        String uri = pattern.toString();
+        record(request.getMethod(), uri, stats);
+
+        boolean overBudget = stats.getStatements() > statementBudget
+                && request.getAttribute(BUDGET_EXEMPT_ATTRIBUTE) == null;
+        if (overBudget) {
+            log.warn("SQL statement budget exceeded: {} {} statements={} (budget {})",
+                    request.getMethod(), uri, stats.getStatements(), statementBudget);
+        }
+        if (stats.getJdbcNanos() > slowRequestNanos) {
+            log.warn("Slow JDBC time for request: {} {} jdbcTime={}ms (threshold {}ms), statements={}",
+                    request.getMethod(), uri, TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos()),
+                    slowRequestMillis, stats.getStatements());
+        }
+        if (overBudget && failOnBudgetExceeded) {
+            throw new IllegalStateException("SQL statement budget exceeded: " + request.getMethod() + " " + uri
+                    + " executed " + stats.getStatements() + " statements (budget " + statementBudget + ")");
+        }
+    }
+
+    private void record(String method, String uri, SqlStatementTracker.Stats stats) {
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements executed per HTTP request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder(TIME_METRIC)
+                .description("JDBC time spent per HTTP request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 响应提交前写出当前线程的 SQL 统计
+     */
+    private static final class SqlHeadersResponseWrapper extends OnCommittedResponseWrapper {
+
+        SqlHeadersResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            SqlStatementTracker.Stats stats = SqlStatementTracker.current();
+            if (stats != null) {
+                HttpServletResponse response = (HttpServletResponse) getResponse();
+                response.setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+                response.setHeader(TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos())));
+            }
+        }
+    }
+}
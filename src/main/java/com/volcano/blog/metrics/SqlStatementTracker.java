@@ -0,0 +1,145 @@
+package com.volcano.blog.metrics;
+
+import com.volcano.blog.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SQL 语句跟踪
+ * 作为 datasource-proxy 的监听器挂在数据源上（见 SqlTrackingDataSourcePostProcessor），覆盖 JPA 和 JdbcTemplate 的所有语句：
+ * <ul>
+ *   <li>在 {@link #start()} 与 {@link #stop()} 之间统计当前线程执行的语句数和 JDBC 耗时（批量执行算一条）；</li>
+ *   <li>单条语句超过 sql.slow-query-threshold 时记录慢查询日志（不限于请求线程）。</li>
+ * </ul>
+ * 统计绑定在线程上：提交到其他线程执行的任务需要用 {@link #propagate(Runnable)} 包装（如 CredentialExecutor），
+ * 任务执行的语句才计入发起请求的统计
+ */
+@Slf4j
+@Component
+public class SqlStatementTracker implements QueryExecutionListener {
+
+    /**
+     * 慢查询日志中 SQL 的最大长度
+     */
+    private static final int MAX_LOGGED_SQL_LENGTH = 500;
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<long[]> STARTED_AT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final long slowQueryNanos;
+
+    public SqlStatementTracker(AppProperties appProperties) {
+        this.slowQueryNanos = appProperties.getSql().getSlowQueryThreshold().toNanos();
+    }
+
+    /**
+     * 开始统计当前线程的语句
+     */
+    public static void start() {
+        CURRENT.set(new Stats());
+    }
+
+    /**
+     * 在当前线程上继续累加已有的统计（如异步请求在 async dispatch 中继续统计）
+     */
+    public static void resume(Stats stats) {
+        CURRENT.set(stats);
+    }
+
+    /**
+     * 当前线程自 start() 以来的统计，未开始统计时返回 null
+     */
+    public static Stats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 结束统计
+     *
+     * @return 自 start() 以来的统计，未开始统计时返回空统计
+     */
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats == null ? new Stats() : stats;
+    }
+
+    /**
+     * 包装提交到其他线程执行的任务：任务执行期间的语句计入提交线程当前的统计
+     * 提交线程未在统计时原样返回
+     */
+    public static Runnable propagate(Runnable task) {
+        Stats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            Stats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        STARTED_AT.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = System.nanoTime() - STARTED_AT.get()[0];
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements.incrementAndGet();
+            stats.jdbcNanos.addAndGet(elapsed);
+        }
+        if (elapsed > slowQueryNanos) {
+            log.warn("Slow SQL ({} ms{}): {}", TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "", describe(queryInfoList));
+        }
+    }
+
+    private static String describe(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return "";
+        }
+        String sql = queryInfoList.get(0).getQuery().replaceAll("\\s+", " ");
+        if (sql.length() > MAX_LOGGED_SQL_LENGTH) {
+            sql = sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+        }
+        return queryInfoList.size() > 1 ? sql + " (+" + (queryInfoList.size() - 1) + " more)" : sql;
+    }
+
+    /**
+     * 一次统计的语句数和 JDBC 耗时，可由请求线程和执行其任务的线程共同累加
+     */
+    public static final class Stats {
+
+        private final AtomicInteger statements = new AtomicInteger();
+        private final AtomicLong jdbcNanos = new AtomicLong();
+
+        public int getStatements() {
+            return statements.get();
+        }
+
+        public long getJdbcNanos() {
+            return jdbcNanos.get();
+        }
+    }
+}
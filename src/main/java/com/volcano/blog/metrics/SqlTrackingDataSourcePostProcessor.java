@@ -0,0 +1,32 @@
+package com.volcano.blog.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * 用 datasource-proxy 包装应用的数据源，挂上 SqlStatementTracker
+ * 在数据源初始化（连接池配置绑定）之后包装，Hikari 指标等仍可通过 unwrap 取到原始连接池
+ */
+public class SqlTrackingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatementTracker> tracker;
+
+    public SqlTrackingDataSourcePostProcessor(ObjectProvider<SqlStatementTracker> tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(tracker.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
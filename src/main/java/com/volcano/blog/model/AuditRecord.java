@@ -0,0 +1,68 @@
+package com.volcano.blog.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * 审计事件记录（audit_event 表）
+ * 由 AuditEventRepository 通过 JDBC 批量写入和查询；生产表按 created_at 分区（见 V5 迁移），
+ * 主键为 (id, created_at)。映射为实体以便测试环境由 Hibernate 建表。
+ */
+@Entity
+@Table(name = "audit_event", indexes = {
+    @Index(name = "idx_audit_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_audit_user_created_id", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_audit_action_created_id", columnList = "action, created_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 毫秒精度，与 TIMESTAMP(3) 列一致
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    @Column(length = 100)
+    private String description;
+
+    @Column(length = 200)
+    private String method;
+
+    @Column(length = 64)
+    private String ip;
+
+    @Column(length = 255)
+    private String uri;
+
+    @Column(name = "http_method", length = 10)
+    private String httpMethod;
+
+    @Column(name = "user_agent", length = 255)
+    private String userAgent;
+
+    @Column(nullable = false)
+    private boolean success;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(columnDefinition = "TEXT")
+    private String params;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+}
@@ -1,15 +1,18 @@
 package com.volcano.blog.model;
 
 import jakarta.persistence.*;
+import com.volcano.blog.util.ExcerptUtils;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(name = "post", indexes = {
-    @Index(name = "idx_post_author", columnList = "author_id"),
-    @Index(name = "idx_post_published", columnList = "published"),
-    @Index(name = "idx_post_created", columnList = "created_at")
+    @Index(name = "idx_post_created", columnList = "created_at"),
+    @Index(name = "idx_post_published_created_id", columnList = "published, created_at, id"),
+    @Index(name = "idx_post_author_created_id", columnList = "author_id, created_at, id")
 })
 @Getter
 @Setter
@@ -27,10 +30,20 @@ public class Post {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // 由 content 派生的摘要，写入时计算，列表查询只读取该列
+    @Column(length = 255)
+    private String excerpt;
+
     @Column(nullable = false)
     @Builder.Default
     private boolean published = false;
 
+    // 修订号，每次修改加一；updatedAt 只有秒精度，ETag 依赖修订号区分同一秒内的修改
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long revision = 0;
+
     // 与 User 的多对一关联
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
@@ -42,14 +55,19 @@ public class Post {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    // 时间戳截断到秒，与数据库 TIMESTAMP 列精度一致，
+    // 使内存中的实体（如热点缓存中的摘要、游标）与重新查询出的值排序相同
     @PrePersist
     protected void onCreate() {
-        createdAt = Instant.now();
-        updatedAt = Instant.now();
+        createdAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        updatedAt = createdAt;
+        excerpt = ExcerptUtils.fromContent(content);
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = Instant.now();
+        updatedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        excerpt = ExcerptUtils.fromContent(content);
+        revision++;
     }
 }
@@ -0,0 +1,25 @@
+package com.volcano.blog.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+/**
+ * 令牌桶存储后端
+ * local：桶只存在于当前 JVM；jdbc：桶状态保存在数据库中，多个实例共享同一限额。
+ * 返回的 Bucket 由 RateLimitPolicy 缓存在本地（近缓存），同一客户端的后续请求复用
+ */
+public interface BucketBackend {
+
+    /**
+     * 创建（或连接到已存在的）令牌桶
+     *
+     * @param policyName 策略名称
+     * @param clientKey  客户端标识（ClientAddress 或字符串）
+     */
+    Bucket createBucket(String policyName, Object clientKey, BucketConfiguration configuration);
+
+    /**
+     * 删除令牌桶的共享状态（本地缓存由调用方清理）
+     */
+    void removeBucket(String policyName, Object clientKey);
+}
@@ -0,0 +1,125 @@
+package com.volcano.blog.ratelimit;
+
+import com.volcano.blog.security.ClientAddress;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfiguration;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 基于数据库的分布式令牌桶（Bucket4j select-for-update 代理，见 {@link MySqlSelectForUpdateProxyManager}）
+ * 所有实例共享 rate_limit_bucket 表中的桶状态，登录等限额不再随实例数成倍放大。
+ * <p>
+ * 近缓存：Bucket 代理缓存在策略的本地 Caffeine 中。容量较大的策略使用 delaying 优化，
+ * 本地最多累积 capacity × max-unsynced-ratio 个令牌（或 max-unsynced-timeout）后再与数据库同步，
+ * 各实例最多超发这么多；容量太小（如登录 5 次/分钟）时只使用 batching，
+ * 把同一实例上的并发请求合并为一次数据库往返，保证限额精确。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "ratelimit", name = "backend", havingValue = "jdbc")
+public class JdbcBucketBackend implements BucketBackend {
+
+    static final String TABLE = "rate_limit_bucket";
+
+    private final ProxyManager<Long> proxyManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final double maxUnsyncedRatio;
+    private final Duration maxUnsyncedTimeout;
+    private final Duration idleRetention;
+
+    public JdbcBucketBackend(
+            DataSource dataSource,
+            @Value("${ratelimit.near-cache.max-unsynced-ratio:0.1}") double maxUnsyncedRatio,
+            @Value("${ratelimit.near-cache.max-unsynced-timeout:1s}") Duration maxUnsyncedTimeout,
+            @Value("${ratelimit.jdbc.idle-retention:1d}") Duration idleRetention) {
+        this.proxyManager = new MySqlSelectForUpdateProxyManager(new SQLProxyConfiguration(
+                dataSource, ClientSideConfig.getDefault(), BucketTableSettings.customSettings(TABLE, "id", "state")));
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.maxUnsyncedRatio = maxUnsyncedRatio;
+        this.maxUnsyncedTimeout = maxUnsyncedTimeout;
+        this.idleRetention = idleRetention;
+
+        log.info("JdbcBucketBackend initialized: maxUnsyncedRatio={}, maxUnsyncedTimeout={}",
+                maxUnsyncedRatio, maxUnsyncedTimeout);
+    }
+
+    @Override
+    public Bucket createBucket(String policyName, Object clientKey, BucketConfiguration configuration) {
+        return proxyManager.builder()
+                .withOptimization(optimizationFor(configuration))
+                .build(keyOf(policyName, clientKey), configuration);
+    }
+
+    @Override
+    public void removeBucket(String policyName, Object clientKey) {
+        proxyManager.removeProxy(keyOf(policyName, clientKey));
+    }
+
+    /**
+     * 删除长时间未使用的桶（updated_at 由数据库在写入时维护）
+     */
+    @Scheduled(initialDelayString = "PT5M", fixedDelayString = "PT1H")
+    public void purgeIdleBuckets() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE updated_at < ?",
+                    Timestamp.from(Instant.now().minus(idleRetention)));
+            if (deleted > 0) {
+                log.info("Purged {} idle rate limit buckets", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge idle rate limit buckets: {}", e.getMessage());
+        }
+    }
+
+    Optimization optimizationFor(BucketConfiguration configuration) {
+        long minCapacity = Long.MAX_VALUE;
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            minCapacity = Math.min(minCapacity, bandwidth.getCapacity());
+        }
+        long maxUnsynced = (long) (minCapacity * maxUnsyncedRatio);
+        return maxUnsynced >= 1
+                ? Optimizations.delaying(new DelayParameters(maxUnsynced, maxUnsyncedTimeout))
+                : Optimizations.batching();
+    }
+
+    /**
+     * 表主键为 BIGINT：取 "策略名\0客户端" 的 SHA-256 前 8 字节（ClientAddress 按 16 字节地址参与计算）
+     */
+    static long keyOf(String policyName, Object clientKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(policyName.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            if (clientKey instanceof ClientAddress address) {
+                digest.update(ByteBuffer.allocate(16).putLong(address.high()).putLong(address.low()).array());
+            } else {
+                digest.update(clientKey.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
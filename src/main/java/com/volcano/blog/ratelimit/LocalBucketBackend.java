@@ -0,0 +1,30 @@
+package com.volcano.blog.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 进程内令牌桶（默认，单实例部署）
+ */
+@Component
+@ConditionalOnProperty(prefix = "ratelimit", name = "backend", havingValue = "local", matchIfMissing = true)
+public class LocalBucketBackend implements BucketBackend {
+
+    @Override
+    public Bucket createBucket(String policyName, Object clientKey, BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void removeBucket(String policyName, Object clientKey) {
+        // 桶只存在于策略的本地缓存中
+    }
+}
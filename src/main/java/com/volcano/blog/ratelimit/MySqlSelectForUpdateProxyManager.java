@@ -0,0 +1,156 @@
+package com.volcano.blog.ratelimit;
+
+import io.github.bucket4j.BucketExceptions;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfiguration;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.AbstractSelectForUpdateBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.LockAndGetResult;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.SelectForUpdateBasedTransaction;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+
+/**
+ * MySQL 令牌桶代理（SELECT ... FOR UPDATE 行锁）
+ * Bucket4j 8.1 只在 bucket4j-core 中提供通用的 select-for-update 事务框架，没有发布 MySQL 模块，这里补上 SQL 部分：
+ * 行不存在时先 INSERT IGNORE 一条空状态，再在同一事务中加锁读取、计算并写回。
+ * 键为 BIGINT 主键，与 rate_limit_bucket 表一致
+ */
+class MySqlSelectForUpdateProxyManager extends AbstractSelectForUpdateBasedProxyManager<Long> {
+
+    private final DataSource dataSource;
+    private final String selectSql;
+    private final String insertSql;
+    private final String updateSql;
+    private final String deleteSql;
+
+    MySqlSelectForUpdateProxyManager(SQLProxyConfiguration configuration) {
+        super(configuration.getClientSideConfig());
+        this.dataSource = configuration.getDataSource();
+        String table = configuration.getTableName();
+        String id = configuration.getIdName();
+        String state = configuration.getStateName();
+        this.selectSql = "SELECT " + state + " FROM " + table + " WHERE " + id + " = ? FOR UPDATE";
+        this.insertSql = "INSERT IGNORE INTO " + table + " (" + id + ", " + state + ") VALUES (?, NULL)";
+        this.updateSql = "UPDATE " + table + " SET " + state + " = ? WHERE " + id + " = ?";
+        this.deleteSql = "DELETE FROM " + table + " WHERE " + id + " = ?";
+    }
+
+    @Override
+    protected SelectForUpdateBasedTransaction allocateTransaction(Long key) {
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+        return new Transaction(connection, key);
+    }
+
+    @Override
+    public void removeProxy(Long key) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(deleteSql)) {
+            statement.setLong(1, key);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+    }
+
+    @Override
+    public boolean isAsyncModeSupported() {
+        return false;
+    }
+
+    /**
+     * 一次桶操作的数据库事务，独占一个连接直到 release
+     */
+    private final class Transaction implements SelectForUpdateBasedTransaction {
+
+        private final Connection connection;
+        private final long key;
+
+        Transaction(Connection connection, long key) {
+            this.connection = connection;
+            this.key = key;
+        }
+
+        @Override
+        public void begin() {
+            try {
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public void rollback() {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public void commit() {
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public LockAndGetResult tryLockAndGet() {
+            try (PreparedStatement statement = connection.prepareStatement(selectSql)) {
+                statement.setLong(1, key);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? LockAndGetResult.locked(resultSet.getBytes(1)) : LockAndGetResult.notLocked();
+                }
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public boolean tryInsertEmptyData() {
+            try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                statement.setLong(1, key);
+                statement.executeUpdate();
+                return true;
+            } catch (SQLTransactionRollbackException e) {
+                // 并发插入同一行时死锁被回滚，由框架在新事务中重试
+                return false;
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public void update(byte[] data, RemoteBucketState newState) {
+            try (PreparedStatement statement = connection.prepareStatement(updateSql)) {
+                statement.setBytes(1, data);
+                statement.setLong(2, key);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public void release() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+    }
+}
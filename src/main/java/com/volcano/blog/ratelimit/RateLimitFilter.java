@@ -0,0 +1,104 @@
+package com.volcano.blog.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volcano.blog.security.ClientAddress;
+import com.volcano.blog.security.ClientIpResolver;
+import io.github.bucket4j.ConsumptionProbe;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流过滤器
+ * 在 Spring Security 过滤器链之前按路由表限流：通过的响应带 X-RateLimit-Remaining，
+ * 超限时直接写出 429 和 Retry-After，不抛异常，也不经过安全链、请求体解析和参数校验
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * 已在过滤器中消耗令牌的策略，RateLimitAspect 据此跳过重复计数
+     */
+    public static final String POLICY_ATTRIBUTE = RateLimitFilter.class.getName() + ".POLICY";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ObjectMapper objectMapper;
+    private final ClientIpResolver clientIpResolver;
+
+    /**
+     * 路由表在所有单例初始化完成后设置，此前不限流
+     */
+    private volatile RateLimitRouteTable routes = RateLimitRouteTable.EMPTY;
+
+    public RateLimitFilter(ObjectMapper objectMapper, ClientIpResolver clientIpResolver) {
+        this.objectMapper = objectMapper;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    public void setRoutes(RateLimitRouteTable routes) {
+        this.routes = routes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitPolicy policy = routes.match(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ClientAddress clientIp = clientIpResolver.resolve(request);
+        ConsumptionProbe probe = policy.tryConsumeAndReturnRemaining(clientIp);
+        if (probe.isConsumed()) {
+            response.setHeader(REMAINING_HEADER, Long.toString(probe.getRemainingTokens()));
+            request.setAttribute(POLICY_ATTRIBUTE, policy);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 拒绝次数由 ratelimit.requests{outcome=rejected} 统计，洪泛时逐条 WARN 会放大日志量
+        log.debug("Rate limit exceeded: policy={}, client={}", policy.getName(), clientIp);
+        reject(response, policy, probe.getNanosToWaitForRefill());
+    }
+
+    private void reject(HttpServletResponse response, RateLimitPolicy policy, long nanosToWait) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(nanosToWait)));
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // 与 GlobalExceptionHandler 的错误响应格式一致
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("error", "RATE_LIMIT_EXCEEDED");
+        body.put("message", policy.getMessage());
+        body.put("timestamp", Instant.now().toString());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * 向上取整到秒，至少 1 秒
+     */
+    public static long retryAfterSeconds(long nanosToWait) {
+        return Math.max(1, (nanosToWait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+}
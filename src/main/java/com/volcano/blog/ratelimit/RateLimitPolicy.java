@@ -0,0 +1,181 @@
+package com.volcano.blog.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.ConfigurationBuilder;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 限流策略
+ * 一组带宽（如持续速率 + 突发限制）及其按客户端划分的令牌桶缓存。
+ * 带宽配置在创建时构建一次，每个客户端的桶由 BucketBackend 创建后缓存复用；
+ * 使用分布式后端时，这里缓存的是远程桶的代理（近缓存）。
+ * 放行/拒绝次数和缓存的桶数量通过 {@link #bindTo} 注册为指标（ratelimit.requests、ratelimit.buckets，tag policy）
+ */
+@Slf4j
+public final class RateLimitPolicy implements MeterBinder {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final List<Limit> limits;
+    @Getter
+    private final String message;
+
+    private final BucketConfiguration configuration;
+    private final BucketBackend backend;
+    private final Cache<Object, Bucket> buckets;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param expireAfterAccess 空闲桶的过期时间，实际取值不小于最长的补充周期，避免桶在补满前被回收而提前重置
+     * @param maxSize           最多缓存的桶数量
+     * @param backend           令牌桶存储后端
+     */
+    public RateLimitPolicy(String name, List<Limit> limits, String message,
+                           Duration expireAfterAccess, long maxSize, BucketBackend backend) {
+        if (limits.isEmpty()) {
+            throw new IllegalArgumentException("Rate limit policy '" + name + "' has no limits");
+        }
+        this.name = name;
+        this.limits = List.copyOf(limits);
+        this.message = message;
+        this.backend = backend;
+
+        ConfigurationBuilder configurationBuilder = BucketConfiguration.builder();
+        Duration longestPeriod = Duration.ZERO;
+        for (Limit limit : this.limits) {
+            configurationBuilder.addLimit(limit.toBandwidth());
+            if (limit.period().compareTo(longestPeriod) > 0) {
+                longestPeriod = limit.period();
+            }
+        }
+        this.configuration = configurationBuilder.build();
+
+        Duration expiry = expireAfterAccess.compareTo(longestPeriod) >= 0 ? expireAfterAccess : longestPeriod;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(expiry)
+                .maximumSize(maxSize)
+                .removalListener((key, value, cause) ->
+                        log.debug("Rate limit bucket removed: policy={}, client={}, cause={}", name, key, cause))
+                .build();
+    }
+
+    /**
+     * 消耗一个令牌
+     *
+     * @param clientKey 客户端标识（通常是 ClientAddress）
+     * @return true 如果允许请求，false 如果超过限流
+     */
+    public boolean tryConsume(Object clientKey) {
+        return count(buckets.get(clientKey, this::createBucket).tryConsume(1));
+    }
+
+    /**
+     * 消耗一个令牌，并返回剩余令牌数及（被拒绝时）距下次补充的等待时间
+     *
+     * @param clientKey 客户端标识（通常是 ClientAddress）
+     */
+    public ConsumptionProbe tryConsumeAndReturnRemaining(Object clientKey) {
+        ConsumptionProbe probe = buckets.get(clientKey, this::createBucket).tryConsumeAndReturnRemaining(1);
+        count(probe.isConsumed());
+        return probe;
+    }
+
+    /**
+     * 重置客户端的令牌桶
+     */
+    public void reset(Object clientKey) {
+        buckets.invalidate(clientKey);
+        backend.removeBucket(name, clientKey);
+    }
+
+    /**
+     * 当前缓存的桶数量
+     */
+    public long getBucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * 清理本地缓存的所有桶（分布式后端中的共享状态不受影响）
+     */
+    public void clear() {
+        buckets.invalidateAll();
+    }
+
+    /**
+     * 注册本策略的指标；同一个 MeterRegistry 重复注册时复用已有指标
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ratelimit.requests", accepted, LongAdder::sum)
+                .description("Rate limit decisions")
+                .tags("policy", name, "outcome", "accepted")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.requests", rejected, LongAdder::sum)
+                .description("Rate limit decisions")
+                .tags("policy", name, "outcome", "rejected")
+                .register(registry);
+        Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate limit buckets cached locally")
+                .tag("policy", name)
+                .register(registry);
+    }
+
+    private boolean count(boolean consumed) {
+        (consumed ? accepted : rejected).increment();
+        return consumed;
+    }
+
+    private Bucket createBucket(Object clientKey) {
+        log.debug("Created rate limit bucket: policy={}, client={}", name, clientKey);
+        return backend.createBucket(name, clientKey, configuration);
+    }
+
+    /**
+     * 单个带宽
+     *
+     * @param capacity     桶容量
+     * @param refillTokens 每个周期补充的令牌数
+     * @param period       补充周期
+     * @param interval     true 表示周期结束时一次性补充，false 表示在周期内均匀补充
+     */
+    public record Limit(long capacity, long refillTokens, Duration period, boolean interval) {
+
+        public Limit {
+            if (capacity <= 0 || refillTokens <= 0 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Invalid rate limit: " + capacity + "/" + period);
+            }
+        }
+
+        /**
+         * 窗口内最多 limit 次请求，令牌均匀补充
+         */
+        public static Limit perWindow(int limit, Duration window) {
+            return new Limit(limit, limit, window, false);
+        }
+
+        Bandwidth toBandwidth() {
+            Refill refill = interval
+                    ? Refill.intervally(refillTokens, period)
+                    : Refill.greedy(refillTokens, period);
+            return Bandwidth.classic(capacity, refill);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.volcano.blog.ratelimit;
+
+import com.volcano.blog.annotation.RateLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 限流策略注册表
+ * 启动时扫描所有 Bean 中带 @RateLimit 的方法，为每个方法（或相同 key 的一组方法）构建一次限流策略，
+ * 请求时按 Method 直接查表，不再反射读取注解或拼接方法签名；策略创建时注册各自的限流指标
+ */
+@Slf4j
+@Component
+public class RateLimitPolicyRegistry implements SmartInitializingSingleton {
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final BucketBackend backend;
+    private final MeterRegistry meterRegistry;
+    private final Duration expireAfterAccess;
+    private final long maxSize;
+
+    private final Map<Method, RateLimitPolicy> policiesByMethod = new ConcurrentHashMap<>();
+    private final Map<String, RateLimitPolicy> policiesByName = new ConcurrentHashMap<>();
+
+    public RateLimitPolicyRegistry(
+            ConfigurableListableBeanFactory beanFactory,
+            BucketBackend backend,
+            MeterRegistry meterRegistry,
+            @Value("${ratelimit.cache.expire-minutes:10}") int expireMinutes,
+            @Value("${ratelimit.cache.max-size:10000}") int maxSize) {
+        this.beanFactory = beanFactory;
+        this.backend = backend;
+        this.meterRegistry = meterRegistry;
+        this.expireAfterAccess = Duration.ofMinutes(expireMinutes);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            Class<?> userType = ClassUtils.getUserClass(beanType);
+            Map<Method, RateLimit> annotated = MethodIntrospector.selectMethods(userType,
+                    (MethodIntrospector.MetadataLookup<RateLimit>) method ->
+                            AnnotatedElementUtils.findMergedAnnotation(method, RateLimit.class));
+            annotated.forEach((method, rateLimit) -> register(userType, method, rateLimit));
+        }
+        log.info("RateLimitPolicyRegistry initialized: {} policies for {} methods",
+                policiesByName.size(), policiesByMethod.size());
+    }
+
+    /**
+     * 获取方法的限流策略
+     * 启动时未扫描到的方法（如通过接口代理调用）在首次调用时解析一次
+     */
+    public RateLimitPolicy getPolicy(Method method) {
+        RateLimitPolicy policy = policiesByMethod.get(method);
+        if (policy != null) {
+            return policy;
+        }
+        return policiesByMethod.computeIfAbsent(method, m -> {
+            RateLimit rateLimit = AnnotatedElementUtils.findMergedAnnotation(m, RateLimit.class);
+            if (rateLimit == null) {
+                throw new IllegalStateException("No @RateLimit on " + m);
+            }
+            return resolve(m.getDeclaringClass(), m, rateLimit);
+        });
+    }
+
+    /**
+     * 所有已注册的策略
+     */
+    public Collection<RateLimitPolicy> getPolicies() {
+        return policiesByName.values();
+    }
+
+    private void register(Class<?> beanType, Method method, RateLimit rateLimit) {
+        RateLimitPolicy policy = resolve(beanType, method, rateLimit);
+        policiesByMethod.put(method, policy);
+        log.debug("Rate limit policy {} -> {}.{}: {}",
+                policy.getName(), beanType.getSimpleName(), method.getName(), policy.getLimits());
+    }
+
+    /**
+     * 按名称复用策略；相同 key 的方法限流参数不一致时启动失败
+     */
+    private RateLimitPolicy resolve(Class<?> beanType, Method method, RateLimit rateLimit) {
+        String name = rateLimit.key().isEmpty()
+                ? beanType.getSimpleName() + "." + method.getName()
+                : rateLimit.key();
+        return getOrCreate(name, toLimits(rateLimit, name), rateLimit.message(), method);
+    }
+
+    /**
+     * 按名称获取或创建策略（供 ratelimit.routes 等非注解来源使用）
+     *
+     * @param source 声明位置，用于冲突时的错误信息
+     */
+    public RateLimitPolicy getOrCreate(String name, List<RateLimitPolicy.Limit> limits, String message, Object source) {
+        RateLimitPolicy policy = policiesByName.computeIfAbsent(name, n -> {
+            RateLimitPolicy created = new RateLimitPolicy(n, limits, message, expireAfterAccess, maxSize, backend);
+            created.bindTo(meterRegistry);
+            return created;
+        });
+        if (!policy.getLimits().equals(limits)) {
+            throw new IllegalStateException("Rate limit key '" + name + "' is declared with different limits: "
+                    + policy.getLimits() + " vs " + limits + " on " + source);
+        }
+        return policy;
+    }
+
+    private static List<RateLimitPolicy.Limit> toLimits(RateLimit rateLimit, String name) {
+        List<RateLimitPolicy.Limit> limits = new ArrayList<>(1 + rateLimit.bandwidths().length);
+        try {
+            limits.add(RateLimitPolicy.Limit.perWindow(rateLimit.limit(), Duration.ofSeconds(rateLimit.window())));
+            for (RateLimit.Limit extra : rateLimit.bandwidths()) {
+                limits.add(RateLimitPolicy.Limit.perWindow(extra.limit(), Duration.ofSeconds(extra.window())));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid @RateLimit for '" + name + "': " + e.getMessage(), e);
+        }
+        return limits;
+    }
+}
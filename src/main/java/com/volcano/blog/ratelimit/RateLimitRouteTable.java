@@ -0,0 +1,141 @@
+package com.volcano.blog.ratelimit;
+
+import com.volcano.blog.annotation.RateLimit;
+import com.volcano.blog.config.AppProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 限流路由表
+ * 启动时把 ratelimit.routes 配置和带 @RateLimit 的处理方法预编译为（HTTP 方法, PathPattern, 限流策略）列表，
+ * 过滤器按请求路径直接查表，不需要等到 DispatcherServlet 查找处理器。每个请求只匹配一条路由
+ */
+@Slf4j
+public final class RateLimitRouteTable {
+
+    public static final RateLimitRouteTable EMPTY = new RateLimitRouteTable(List.of());
+
+    /**
+     * 同一路径匹配多条路由时，更具体的模式优先（如 /api/posts/my 优先于 /api/posts/{id}）
+     */
+    private static final Comparator<Route> MOST_SPECIFIC_FIRST =
+            Comparator.comparing(Route::pattern, PathPattern.SPECIFICITY_COMPARATOR);
+
+    private final List<Route> routes;
+
+    public RateLimitRouteTable(List<Route> routes) {
+        List<Route> sorted = new ArrayList<>(routes);
+        sorted.sort(MOST_SPECIFIC_FIRST);
+        this.routes = List.copyOf(sorted);
+        if (!routes.isEmpty()) {
+            log.info("Rate limit route table built: {} routes", routes.size());
+        }
+    }
+
+    /**
+     * 从 MVC 处理器映射中收集带 @RateLimit 的处理方法
+     */
+    public static List<Route> annotatedRoutes(Collection<RequestMappingHandlerMapping> handlerMappings,
+                                              RateLimitPolicyRegistry policyRegistry) {
+        List<Route> routes = new ArrayList<>();
+        for (RequestMappingHandlerMapping handlerMapping : handlerMappings) {
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+                if (!entry.getValue().hasMethodAnnotation(RateLimit.class)) {
+                    continue;
+                }
+                RateLimitPolicy policy = policyRegistry.getPolicy(entry.getValue().getMethod());
+                Set<String> methods = entry.getKey().getMethodsCondition().getMethods().stream()
+                        .map(RequestMethod::name)
+                        .collect(Collectors.toUnmodifiableSet());
+                for (String pattern : entry.getKey().getPatternValues()) {
+                    routes.add(new Route(methods, PathPatternParser.defaultInstance.parse(pattern), policy));
+                }
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * 按 ratelimit.routes 配置构建路由
+     *
+     * @param namedPolicies 可被未配置 limit 的路由引用的已有策略（如 login）
+     */
+    public static List<Route> configuredRoutes(List<AppProperties.Ratelimit.Route> configured,
+                                               RateLimitPolicyRegistry policyRegistry,
+                                               Map<String, RateLimitPolicy> namedPolicies) {
+        List<Route> routes = new ArrayList<>();
+        for (AppProperties.Ratelimit.Route route : configured) {
+            RateLimitPolicy policy;
+            if (route.getLimit() > 0) {
+                policy = policyRegistry.getOrCreate(route.getName(),
+                        List.of(RateLimitPolicy.Limit.perWindow(route.getLimit(), route.getWindow())),
+                        route.getMessage(), "ratelimit.routes");
+            } else {
+                policy = namedPolicies.get(route.getName());
+                if (policy == null) {
+                    throw new IllegalStateException("Rate limit route '" + route.getName()
+                            + "' has no limit and does not reference a known policy " + namedPolicies.keySet());
+                }
+            }
+            Set<String> methods = route.getMethods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            for (String pattern : route.getPaths()) {
+                routes.add(new Route(methods, PathPatternParser.defaultInstance.parse(pattern), policy));
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * 查找请求对应的限流策略，没有匹配的路由时返回 null
+     */
+    public RateLimitPolicy match(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        PathContainer path = PathContainer.parsePath(
+                contextPath.isEmpty() ? uri : uri.substring(contextPath.length()));
+        String method = request.getMethod();
+        for (Route route : routes) {
+            if (route.matches(method, path)) {
+                return route.policy();
+            }
+        }
+        return null;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * 单条路由
+     *
+     * @param methods HTTP 方法，为空表示匹配所有方法
+     */
+    public record Route(Set<String> methods, PathPattern pattern, RateLimitPolicy policy) {
+
+        boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+    }
+}
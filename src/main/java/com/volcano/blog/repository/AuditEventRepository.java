@@ -0,0 +1,201 @@
+package com.volcano.blog.repository;
+
+import com.volcano.blog.model.AuditRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 审计事件仓库（JDBC）
+ * 写入使用多行 INSERT，查询按 (created_at, id) 倒序 keyset 分页，过滤条件均落在复合索引的前缀上
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditEventRepository {
+
+    /**
+     * 单条 INSERT 语句最多包含的行数
+     */
+    static final int MAX_ROWS_PER_STATEMENT = 200;
+
+    /**
+     * 存放未来数据的 MAXVALUE 分区
+     */
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final String COLUMNS = "created_at, user_id, action, description, method, ip, uri, "
+            + "http_method, user_agent, success, error, params, duration_ms";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<AuditRecord> ROW_MAPPER = (rs, rowNum) -> AuditRecord.builder()
+            .id(rs.getLong("id"))
+            .createdAt(rs.getTimestamp("created_at").toInstant())
+            .userId(rs.getObject("user_id", Long.class))
+            .action(rs.getString("action"))
+            .description(rs.getString("description"))
+            .method(rs.getString("method"))
+            .ip(rs.getString("ip"))
+            .uri(rs.getString("uri"))
+            .httpMethod(rs.getString("http_method"))
+            .userAgent(rs.getString("user_agent"))
+            .success(rs.getBoolean("success"))
+            .error(rs.getString("error"))
+            .params(rs.getString("params"))
+            .durationMs(rs.getLong("duration_ms"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean mysql;
+
+    /**
+     * 批量写入，每 {@value #MAX_ROWS_PER_STATEMENT} 行一条多行 INSERT
+     */
+    public void insertAll(List<AuditRecord> records) {
+        for (int from = 0; from < records.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<AuditRecord> chunk = records.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, records.size()));
+
+            StringBuilder sql = new StringBuilder("INSERT INTO audit_event (").append(COLUMNS).append(") VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 13);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(ROW_PLACEHOLDERS);
+                AuditRecord record = chunk.get(i);
+                args.add(Timestamp.from(record.getCreatedAt()));
+                args.add(record.getUserId());
+                args.add(record.getAction());
+                args.add(record.getDescription());
+                args.add(record.getMethod());
+                args.add(record.getIp());
+                args.add(record.getUri());
+                args.add(record.getHttpMethod());
+                args.add(record.getUserAgent());
+                args.add(record.isSuccess());
+                args.add(record.getError());
+                args.add(record.getParams());
+                args.add(record.getDurationMs());
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    /**
+     * 按条件查询一页审计事件，按 (created_at, id) 倒序
+     *
+     * @param criteria    过滤条件
+     * @param afterTime   上一页最后一条的 created_at，第一页为 null
+     * @param afterId     上一页最后一条的 id
+     * @param limit       最多返回条数
+     */
+    public List<AuditRecord> findPage(Criteria criteria, Instant afterTime, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, ").append(COLUMNS).append(" FROM audit_event WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (criteria.userId() != null) {
+            sql.append(" AND user_id = ?");
+            args.add(criteria.userId());
+        }
+        if (criteria.action() != null) {
+            sql.append(" AND action = ?");
+            args.add(criteria.action());
+        }
+        if (criteria.from() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.from(criteria.from()));
+        }
+        if (criteria.to() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.from(criteria.to()));
+        }
+        if (afterTime != null) {
+            Timestamp after = Timestamp.from(afterTime);
+            sql.append(" AND (created_at < ? OR (created_at = ? AND id < ?))");
+            args.add(after);
+            args.add(after);
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * 删除指定时间之前的事件（未分区时的保留策略）
+     */
+    public int deleteCreatedBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM audit_event WHERE created_at < ?", Timestamp.from(cutoff));
+    }
+
+    /**
+     * 查询 audit_event 的 RANGE 分区，按边界升序
+     * 非 MySQL 数据库或表未分区时返回空列表
+     */
+    public List<Partition> findPartitions() {
+        if (!isMySql()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_event' "
+                        + "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> {
+                    String description = rs.getString("PARTITION_DESCRIPTION");
+                    Long lessThan = "MAXVALUE".equalsIgnoreCase(description) ? null : Long.valueOf(description);
+                    return new Partition(rs.getString("PARTITION_NAME"), lessThan);
+                });
+    }
+
+    /**
+     * 从 MAXVALUE 分区中拆出新分区
+     *
+     * @param lessThanEpochSecond 新分区的上界（UTC Unix 秒）
+     */
+    public void addPartition(String name, long lessThanEpochSecond) {
+        jdbcTemplate.execute("ALTER TABLE audit_event REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                + "PARTITION " + name + " VALUES LESS THAN (" + lessThanEpochSecond + "), "
+                + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+    }
+
+    /**
+     * 删除整个分区及其数据
+     */
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("ALTER TABLE audit_event DROP PARTITION " + name);
+    }
+
+    private boolean isMySql() {
+        Boolean current = mysql;
+        if (current == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            current = product != null && product.toLowerCase().contains("mysql");
+            mysql = current;
+        }
+        return current;
+    }
+
+    /**
+     * 查询条件，均可为 null
+     *
+     * @param from 起始时间（含）
+     * @param to   结束时间（不含）
+     */
+    public record Criteria(Long userId, String action, Instant from, Instant to) {
+    }
+
+    /**
+     * RANGE 分区
+     *
+     * @param lessThan 上界（UTC Unix 秒），MAXVALUE 分区为 null
+     */
+    public record Partition(String name, Long lessThan) {
+    }
+}
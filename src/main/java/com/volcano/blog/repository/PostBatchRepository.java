@@ -0,0 +1,72 @@
+package com.volcano.blog.repository;
+
+import com.volcano.blog.model.Post;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章批量写入（JDBC）
+ * 主键使用 IDENTITY 生成，Hibernate 无法批量插入；这里用一条多行 INSERT 写入一批文章，
+ * 并按行序取回自增主键
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostBatchRepository {
+
+    private static final String INSERT_PREFIX = "INSERT INTO post (title, content, excerpt, published, author_id, "
+            + "created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 写入一批文章（作者、时间戳和摘要需已设置），写入后回填文章 ID
+     * 调用方控制批大小，一批对应一条语句
+     */
+    public void insertAll(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + posts.size() * 23).append(INSERT_PREFIX);
+        for (int i = 0; i < posts.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS);
+            int parameter = 1;
+            for (Post post : posts) {
+                ps.setString(parameter++, post.getTitle());
+                ps.setString(parameter++, post.getContent());
+                ps.setString(parameter++, post.getExcerpt());
+                ps.setBoolean(parameter++, post.isPublished());
+                ps.setLong(parameter++, post.getAuthor().getId());
+                ps.setTimestamp(parameter++, Timestamp.from(post.getCreatedAt()));
+                ps.setTimestamp(parameter++, Timestamp.from(post.getUpdatedAt()));
+            }
+            return ps;
+        }, keyHolder);
+
+        // 多行 INSERT 的自增主键按行序返回（MySQL 为连续值）
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != posts.size()) {
+            throw new IllegalStateException("Expected " + posts.size() + " generated keys but got " + keys.size());
+        }
+        for (int i = 0; i < posts.size(); i++) {
+            posts.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
@@ -1,21 +1,243 @@
 package com.volcano.blog.repository;
 
+import com.volcano.blog.dto.PostFeedStats;
+import com.volcano.blog.dto.PostSearchDocument;
+import com.volcano.blog.dto.PostSummaryDto;
+import com.volcano.blog.dto.PostVersion;
 import com.volcano.blog.model.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    
+
     /**
      * 查询已发布的文章（分页）
      */
     Page<Post> findByPublishedTrue(Pageable pageable);
-    
+
     /**
      * 查询指定作者的文章（分页）
      */
     Page<Post> findByAuthorId(Long authorId, Pageable pageable);
+
+    /**
+     * 统计已发布文章数
+     */
+    long countByPublishedTrue();
+
+    /**
+     * 按 ID 查询文章，同时加载作者（避免转换 DTO 时触发懒加载）
+     */
+    @EntityGraph(attributePaths = "author")
+    Optional<Post> findWithAuthorById(Long id);
+
+    /**
+     * 按 ID 批量查询已发布文章，JOIN FETCH 作者（搜索结果按相关度排序后回表）
+     * 检索结果可能来自尚未同步的索引，回表时再次过滤未发布的文章
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.id IN :ids AND p.published = true")
+    List<Post> findPublishedWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按 ID 查询文章版本（不读取正文），用于 HTTP 条件请求
+     */
+    @Query("SELECT new com.volcano.blog.dto.PostVersion(p.id, p.revision, p.updatedAt, p.published, a.name, a.email) "
+            + "FROM Post p JOIN p.author a WHERE p.id = :id")
+    Optional<PostVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * 汇总已发布文章的状态，用于生成文章列表的 ETag
+     */
+    @Query("SELECT new com.volcano.blog.dto.PostFeedStats(COUNT(p), MAX(p.id), SUM(p.revision), MAX(p.updatedAt)) "
+            + "FROM Post p WHERE p.published = true")
+    PostFeedStats findPublishedFeedStats();
+
+    /**
+     * 查询已发布的文章（分页），JOIN FETCH 作者，避免 N+1 查询
+     * 总数查询单独编写，不做多余的关联
+     */
+    @Query(value = "SELECT p FROM Post p JOIN FETCH p.author WHERE p.published = true",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.published = true")
+    Page<Post> findPublishedWithAuthor(Pageable pageable);
+
+    /**
+     * 查询全部文章（分页），JOIN FETCH 作者
+     */
+    @Query(value = "SELECT p FROM Post p JOIN FETCH p.author",
+           countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<Post> findAllWithAuthor(Pageable pageable);
+
+    /**
+     * 查询指定作者的文章（分页），JOIN FETCH 作者
+     */
+    @Query(value = "SELECT p FROM Post p JOIN FETCH p.author WHERE p.author.id = :authorId",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.author.id = :authorId")
+    Page<Post> findByAuthorIdWithAuthor(@Param("authorId") Long authorId, Pageable pageable);
+
+    /**
+     * 查询已发布的文章（Slice，多取一条判断是否有下一页，不执行 COUNT）
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.published = true")
+    Slice<Post> findPublishedSliceWithAuthor(Pageable pageable);
+
+    /**
+     * 查询全部文章（Slice，不执行 COUNT）
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.author")
+    Slice<Post> findAllSliceWithAuthor(Pageable pageable);
+
+    /**
+     * 已发布文章 keyset 分页：第一页
+     * 依赖 (published, created_at, id) 复合索引
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.published = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPublishedFirstPage(Pageable pageable);
+
+    /**
+     * 已发布文章 keyset 分页：游标之后的一页
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.published = true " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findPublishedAfterCursor(@Param("createdAt") Instant createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    /**
+     * 全部文章 keyset 分页：第一页
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.author ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findAllFirstPage(Pageable pageable);
+
+    /**
+     * 全部文章 keyset 分页：游标之后的一页
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.author " +
+           "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findAllAfterCursor(@Param("createdAt") Instant createdAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
+
+    /**
+     * 指定作者文章 keyset 分页：第一页
+     * 依赖 (author_id, created_at, id) 复合索引
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.author.id = :authorId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findByAuthorFirstPage(@Param("authorId") Long authorId, Pageable pageable);
+
+    /**
+     * 指定作者文章 keyset 分页：游标之后的一页
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.author.id = :authorId " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findByAuthorAfterCursor(@Param("authorId") Long authorId,
+                                       @Param("createdAt") Instant createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    /**
+     * 文章摘要投影（不读取 content 列）
+     */
+    String SUMMARY_SELECT = "SELECT new com.volcano.blog.dto.PostSummaryDto(" +
+            "p.id, p.title, p.excerpt, p.published, a.id, a.name, p.createdAt, p.updatedAt) " +
+            "FROM Post p JOIN p.author a ";
+
+    /**
+     * 已发布文章摘要（分页）
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE p.published = true",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.published = true")
+    Page<PostSummaryDto> findPublishedSummaries(Pageable pageable);
+
+    /**
+     * 全部文章摘要（分页）
+     */
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostSummaryDto> findAllSummaries(Pageable pageable);
+
+    /**
+     * 已发布文章摘要（Slice，不执行 COUNT）
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.published = true")
+    Slice<PostSummaryDto> findPublishedSummarySlice(Pageable pageable);
+
+    /**
+     * 全部文章摘要（Slice，不执行 COUNT）
+     */
+    @Query(SUMMARY_SELECT)
+    Slice<PostSummaryDto> findAllSummarySlice(Pageable pageable);
+
+    /**
+     * 已发布文章摘要 keyset 分页：第一页
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.published = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDto> findPublishedSummariesFirstPage(Pageable pageable);
+
+    /**
+     * 已发布文章摘要 keyset 分页：游标之后的一页
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.published = true " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDto> findPublishedSummariesAfterCursor(@Param("createdAt") Instant createdAt,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
+
+    /**
+     * 全部文章摘要 keyset 分页：第一页
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDto> findAllSummariesFirstPage(Pageable pageable);
+
+    /**
+     * 全部文章摘要 keyset 分页：游标之后的一页
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDto> findAllSummariesAfterCursor(@Param("createdAt") Instant createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+
+    /**
+     * 搜索索引文档投影（不加载作者）
+     */
+    String SEARCH_DOCUMENT_SELECT = "SELECT new com.volcano.blog.dto.PostSearchDocument(p.id, p.title, p.content) " +
+            "FROM Post p ";
+
+    /**
+     * 按 id 分批读取已发布文章，用于全量重建搜索索引
+     */
+    @Query(SEARCH_DOCUMENT_SELECT + "WHERE p.published = true AND p.id > :afterId ORDER BY p.id")
+    List<PostSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 按 id 分批读取指定时间之后修改过的已发布文章，用于从快照恢复索引后追赶增量
+     */
+    @Query(SEARCH_DOCUMENT_SELECT + "WHERE p.published = true AND p.updatedAt >= :since AND p.id > :afterId " +
+           "ORDER BY p.id")
+    List<PostSearchDocument> findSearchDocumentsUpdatedSince(@Param("since") Instant since,
+                                                             @Param("afterId") Long afterId,
+                                                             Pageable pageable);
+
+    /**
+     * 按 id 分批读取已发布文章的 id，用于清理索引中已删除或已取消发布的文章
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.published = true AND p.id > :afterId ORDER BY p.id")
+    List<Long> findPublishedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,140 @@
+package com.volcano.blog.repository;
+
+import com.volcano.blog.util.SearchTextUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 文章全文检索仓库（JDBC）
+ * MySQL 使用 FULLTEXT 索引（V7，ngram 解析器）计算相关度；其他数据库（H2 测试环境）在应用内按关键词出现次数打分。
+ * 结果按 (相关度, id) 倒序，游标之后的一页通过 keyset 条件过滤，只返回 id 和相关度
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostSearchRepository {
+
+    /**
+     * 标题命中的相关度权重
+     */
+    static final int TITLE_WEIGHT = 2;
+
+    private static final String MATCH_ALL = "MATCH(p.title, p.content) AGAINST (? IN NATURAL LANGUAGE MODE)";
+    private static final String MATCH_TITLE = "MATCH(p.title) AGAINST (? IN NATURAL LANGUAGE MODE)";
+
+    private static final String MYSQL_SEARCH = "SELECT id, score FROM ("
+            + "SELECT p.id, " + MATCH_TITLE + " * " + TITLE_WEIGHT + " + " + MATCH_ALL + " AS score "
+            + "FROM post p WHERE p.published = TRUE AND " + MATCH_ALL
+            + ") ranked ";
+
+    private static final RowMapper<Match> MATCH_MAPPER =
+            (rs, rowNum) -> new Match(rs.getLong("id"), rs.getDouble("score"));
+
+    private static final Comparator<Match> BEST_FIRST = Comparator
+            .comparingDouble(Match::score).reversed()
+            .thenComparing(Comparator.comparingLong(Match::id).reversed());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean mysql;
+
+    /**
+     * 检索已发布文章
+     *
+     * @param query      用户输入的查询
+     * @param afterScore 上一页最后一条的相关度，第一页为 null
+     * @param afterId    上一页最后一条的 id
+     */
+    public List<Match> search(String query, Double afterScore, long afterId, int limit) {
+        return isMySql()
+                ? searchFullText(query, afterScore, afterId, limit)
+                : searchInProcess(query, afterScore, afterId, limit);
+    }
+
+    private List<Match> searchFullText(String query, Double afterScore, long afterId, int limit) {
+        List<Object> args = new ArrayList<>(List.of(query, query, query));
+        StringBuilder sql = new StringBuilder(MYSQL_SEARCH);
+        if (afterScore != null) {
+            sql.append("WHERE score < ? OR (score = ? AND id < ?) ");
+            args.add(afterScore);
+            args.add(afterScore);
+            args.add(afterId);
+        }
+        sql.append("ORDER BY score DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), MATCH_MAPPER, args.toArray());
+    }
+
+    /**
+     * 应用内检索：LIKE 过滤出候选文章后按关键词出现次数打分，仅适用于小数据量（测试环境）
+     */
+    private List<Match> searchInProcess(String query, Double afterScore, long afterId, int limit) {
+        List<String> terms = SearchTextUtils.terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT p.id, p.title, p.content FROM post p WHERE p.published = TRUE AND (");
+        List<Object> args = new ArrayList<>(terms.size() * 2);
+        for (int i = 0; i < terms.size(); i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append("LOWER(p.title) LIKE ? ESCAPE '\\' OR LOWER(p.content) LIKE ? ESCAPE '\\'");
+            String pattern = "%" + escapeLike(terms.get(i)) + "%";
+            args.add(pattern);
+            args.add(pattern);
+        }
+        sql.append(")");
+
+        List<Match> matches = new ArrayList<>(jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            String title = rs.getString("title");
+            String content = rs.getString("content");
+            int score = 0;
+            for (String term : terms) {
+                score += SearchTextUtils.count(title, term) * TITLE_WEIGHT + SearchTextUtils.count(content, term);
+            }
+            return new Match(rs.getLong("id"), score);
+        }, args.toArray()));
+
+        matches.removeIf(match -> afterScore != null && BEST_FIRST.compare(match, new Match(afterId, afterScore)) <= 0);
+        matches.sort(BEST_FIRST);
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private static String escapeLike(String term) {
+        StringBuilder sb = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private boolean isMySql() {
+        Boolean current = mysql;
+        if (current == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            current = product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+            mysql = current;
+        }
+        return current;
+    }
+
+    /**
+     * 命中的文章及其相关度
+     */
+    public record Match(long id, double score) {
+    }
+}
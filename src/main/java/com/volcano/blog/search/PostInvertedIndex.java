@@ -0,0 +1,553 @@
+package com.volcano.blog.search;
+
+import com.volcano.blog.repository.PostSearchRepository.Match;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 文章倒排索引
+ * 每篇文章分配一个递增的内部序号，每个词的倒排表是按序号递增的两个 int 数组（序号、加权词频），
+ * 新增文章只需在倒排表末尾追加。更新是删除后以新序号追加；删除只在位图中打标记，
+ * 标记数超过序号总数的四分之一时整体压缩。
+ * 相关度使用 BM25，标题中的词频按 TITLE_WEIGHT 加权。读写由读写锁保护，查询之间互不阻塞
+ */
+public class PostInvertedIndex {
+
+    /**
+     * 标题词频权重，与数据库检索（PostSearchRepository）一致
+     */
+    static final int TITLE_WEIGHT = 2;
+
+    /**
+     * 压缩前至少累积的删除标记数，避免小索引频繁压缩
+     */
+    static final int MIN_COMPACT_DELETIONS = 1024;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<Match> BEST_FIRST = Comparator
+            .comparingDouble(Match::score).reversed()
+            .thenComparing(Comparator.comparingLong(Match::id).reversed());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    /**
+     * 按序号保存的文章 ID 和文档长度（词数）
+     */
+    private long[] postIds = new long[64];
+    private int[] lengths = new int[64];
+
+    /**
+     * 已分配的序号数（含已删除）
+     */
+    private int ordinalCount;
+
+    /**
+     * 未删除文档的总长度，用于计算平均文档长度
+     */
+    private long totalLength;
+
+    /**
+     * 每次修改加一，用于判断快照是否需要重新写出
+     */
+    private long version;
+
+    /**
+     * 添加或替换一篇文章
+     */
+    public void upsert(long postId, String title, String content) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] length = new int[1];
+        SearchTokenizer.tokenize(title, token -> {
+            frequencies.computeIfAbsent(token, key -> new int[1])[0] += TITLE_WEIGHT;
+            length[0]++;
+        });
+        SearchTokenizer.tokenize(content, token -> {
+            frequencies.computeIfAbsent(token, key -> new int[1])[0]++;
+            length[0]++;
+        });
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+            int ordinal = ordinalCount++;
+            ensureCapacity(ordinalCount);
+            postIds[ordinal] = postId;
+            lengths[ordinal] = length[0];
+            ordinals.put(postId, ordinal);
+            totalLength += length[0];
+            frequencies.forEach((token, frequency) ->
+                    postings.computeIfAbsent(token, key -> new Postings(4)).add(ordinal, frequency[0]));
+            version++;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除一篇文章，不存在时忽略
+     */
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            if (removeLocked(postId)) {
+                version++;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 只保留满足条件的文章
+     *
+     * @return 移除的文章数
+     */
+    public int retainAll(LongPredicate keep) {
+        lock.writeLock().lock();
+        try {
+            List<Long> removed = new ArrayList<>();
+            for (Long postId : ordinals.keySet()) {
+                if (!keep.test(postId)) {
+                    removed.add(postId);
+                }
+            }
+            removed.forEach(this::removeLocked);
+            if (!removed.isEmpty()) {
+                version++;
+                compactIfNeeded();
+            }
+            return removed.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 检索，结果按 (相关度, 文章ID) 倒序
+     *
+     * @param clauses    查询子句（见 SearchTokenizer.queryClauses），子句内的词全部命中才算命中该子句，子句之间取并集、相关度相加
+     * @param afterScore 上一页最后一条的相关度，第一页为 null
+     * @param afterId    上一页最后一条的文章ID
+     */
+    public List<Match> search(List<List<String>> clauses, Double afterScore, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int live = ordinals.size();
+            if (live == 0 || clauses.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / live);
+
+            ScoredDocs merged = null;
+            for (List<String> clause : clauses) {
+                ScoredDocs docs = matchClause(clause, live, averageLength);
+                if (docs != null) {
+                    merged = merged == null ? docs : merged.union(docs);
+                }
+            }
+            if (merged == null) {
+                return List.of();
+            }
+
+            // 保留游标之后最好的 limit 条，堆顶是其中最差的一条
+            Match after = afterScore != null ? new Match(afterId, afterScore) : null;
+            PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            for (int i = 0; i < merged.size; i++) {
+                Match match = new Match(postIds[merged.docs[i]], merged.scores[i]);
+                if (after != null && BEST_FIRST.compare(match, after) <= 0) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(match);
+                } else if (BEST_FIRST.compare(match, top.peek()) < 0) {
+                    top.poll();
+                    top.add(match);
+                }
+            }
+            List<Match> result = new ArrayList<>(top);
+            result.sort(BEST_FIRST);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 已索引的文章数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long postId) {
+        lock.readLock().lock();
+        try {
+            return ordinals.containsKey(postId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 写出索引（跳过已删除的文章，序号重新连续编号）
+     * 写出期间持有读锁，修改会等待写出完成
+     *
+     * @return 写出的索引版本
+     */
+    public long writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            int[] remap = new int[ordinalCount];
+            int next = 0;
+            for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+                remap[ordinal] = deleted.get(ordinal) ? -1 : next++;
+            }
+
+            out.writeInt(next);
+            for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+                if (remap[ordinal] >= 0) {
+                    out.writeLong(postIds[ordinal]);
+                    writeVarInt(out, lengths[ordinal]);
+                }
+            }
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                Postings list = entry.getValue();
+                int live = 0;
+                for (int i = 0; i < list.size; i++) {
+                    if (remap[list.docs[i]] >= 0) {
+                        live++;
+                    }
+                }
+                if (live == 0) {
+                    continue;
+                }
+                out.writeUTF(entry.getKey());
+                writeVarInt(out, live);
+                int previous = 0;
+                for (int i = 0; i < list.size; i++) {
+                    int doc = remap[list.docs[i]];
+                    if (doc >= 0) {
+                        writeVarInt(out, doc - previous);
+                        writeVarInt(out, list.freqs[i]);
+                        previous = doc;
+                    }
+                }
+            }
+            // 空字符串不会是一个词，作为结束标记
+            out.writeUTF("");
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 读取 writeTo 写出的索引
+     *
+     * @throws IOException 读取失败或数据不完整
+     */
+    public static PostInvertedIndex readFrom(DataInput in) throws IOException {
+        PostInvertedIndex index = new PostInvertedIndex();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid document count: " + count);
+        }
+        index.ensureCapacity(count);
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            long postId = in.readLong();
+            int length = readVarInt(in);
+            index.postIds[ordinal] = postId;
+            index.lengths[ordinal] = length;
+            index.totalLength += length;
+            if (index.ordinals.put(postId, ordinal) != null) {
+                throw new IOException("Duplicate post id: " + postId);
+            }
+        }
+        index.ordinalCount = count;
+
+        for (String token = in.readUTF(); !token.isEmpty(); token = in.readUTF()) {
+            int size = readVarInt(in);
+            Postings list = new Postings(size);
+            int doc = 0;
+            for (int i = 0; i < size; i++) {
+                doc += readVarInt(in);
+                if (doc >= count || (i > 0 && doc <= list.docs[i - 1])) {
+                    throw new IOException("Invalid posting for token '" + token + "'");
+                }
+                list.add(doc, readVarInt(in));
+            }
+            index.postings.put(token, list);
+        }
+        return index;
+    }
+
+    /**
+     * 计算一个子句命中的文档及相关度，任意一个词没有倒排表时返回 null
+     * 从最短的倒排表出发，在其余倒排表中跳跃查找同一序号
+     */
+    private ScoredDocs matchClause(List<String> tokens, int live, double averageLength) {
+        Postings[] lists = new Postings[tokens.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(tokens.get(i));
+            if (lists[i] == null) {
+                return null;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        double[] idf = new double[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            // 倒排表中可能包含尚未压缩的已删除文档，文档频率不超过文档总数
+            int df = Math.min(lists[i].size, live);
+            idf[i] = Math.log(1 + (live - df + 0.5) / (df + 0.5));
+        }
+
+        Postings lead = lists[0];
+        int[] positions = new int[lists.length];
+        int[] docs = new int[lead.size];
+        double[] scores = new double[lead.size];
+        int size = 0;
+
+        candidates:
+        for (int i = 0; i < lead.size; i++) {
+            int doc = lead.docs[i];
+            if (deleted.get(doc)) {
+                continue;
+            }
+            double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+            double score = bm25(idf[0], lead.freqs[i], norm);
+            for (int j = 1; j < lists.length; j++) {
+                Postings other = lists[j];
+                int position = other.advance(positions[j], doc);
+                positions[j] = position;
+                if (position >= other.size) {
+                    break candidates;
+                }
+                if (other.docs[position] != doc) {
+                    continue candidates;
+                }
+                score += bm25(idf[j], other.freqs[position], norm);
+            }
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+        return new ScoredDocs(docs, scores, size);
+    }
+
+    private static double bm25(double idf, int frequency, double norm) {
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private boolean removeLocked(long postId) {
+        Integer ordinal = ordinals.remove(postId);
+        if (ordinal == null) {
+            return false;
+        }
+        deleted.set(ordinal);
+        totalLength -= lengths[ordinal];
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        int deletions = ordinalCount - ordinals.size();
+        if (deletions >= MIN_COMPACT_DELETIONS && deletions * 4L >= ordinalCount) {
+            compact();
+        }
+    }
+
+    /**
+     * 去掉已删除的文档并重新连续编号，序号的相对顺序不变，倒排表仍然有序
+     */
+    private void compact() {
+        int[] remap = new int[ordinalCount];
+        int next = 0;
+        for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = next;
+                postIds[next] = postIds[ordinal];
+                lengths[next] = lengths[ordinal];
+                ordinals.put(postIds[next], next);
+                next++;
+            }
+        }
+        Iterator<Postings> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            Postings list = iterator.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                iterator.remove();
+            }
+        }
+        deleted.clear();
+        ordinalCount = next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > postIds.length) {
+            int newCapacity = Math.max(capacity, postIds.length + (postIds.length >> 1));
+            postIds = Arrays.copyOf(postIds, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+        }
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * 一个词的倒排表：按序号递增的文档序号及对应的加权词频
+     */
+    private static final class Postings {
+
+        private int[] docs;
+        private int[] freqs;
+        private int size;
+
+        Postings(int capacity) {
+            docs = new int[Math.max(capacity, 1)];
+            freqs = new int[docs.length];
+        }
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                int newCapacity = docs.length + Math.max(docs.length >> 1, 1);
+                docs = Arrays.copyOf(docs, newCapacity);
+                freqs = Arrays.copyOf(freqs, newCapacity);
+            }
+            docs[size] = doc;
+            freqs[size] = frequency;
+            size++;
+        }
+
+        /**
+         * 从 from 开始查找第一个序号不小于 target 的位置，先按倍数跳跃再二分
+         */
+        int advance(int from, int target) {
+            if (from >= size || docs[from] >= target) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            int high = from + step;
+            while (high < size && docs[high] < target) {
+                low = high;
+                step <<= 1;
+                high = from + step;
+            }
+            high = Math.min(high, size);
+            int found = Arrays.binarySearch(docs, low + 1, high, target);
+            return found >= 0 ? found : -found - 1;
+        }
+
+        void remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    freqs[next] = freqs[i];
+                    next++;
+                }
+            }
+            size = next;
+            if (docs.length > 16 && size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(size, 1));
+                freqs = Arrays.copyOf(freqs, docs.length);
+            }
+        }
+    }
+
+    /**
+     * 按序号递增的命中文档及相关度
+     */
+    private static final class ScoredDocs {
+
+        private final int[] docs;
+        private final double[] scores;
+        private final int size;
+
+        ScoredDocs(int[] docs, double[] scores, int size) {
+            this.docs = docs;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        /**
+         * 合并两个结果，同一文档的相关度相加
+         */
+        ScoredDocs union(ScoredDocs other) {
+            int[] mergedDocs = new int[size + other.size];
+            double[] mergedScores = new double[mergedDocs.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < size || j < other.size) {
+                if (j >= other.size || (i < size && docs[i] < other.docs[j])) {
+                    mergedDocs[n] = docs[i];
+                    mergedScores[n++] = scores[i++];
+                } else if (i >= size || other.docs[j] < docs[i]) {
+                    mergedDocs[n] = other.docs[j];
+                    mergedScores[n++] = other.scores[j++];
+                } else {
+                    mergedDocs[n] = docs[i];
+                    mergedScores[n++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new ScoredDocs(mergedDocs, mergedScores, n);
+        }
+    }
+}
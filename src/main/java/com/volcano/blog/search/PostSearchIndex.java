@@ -0,0 +1,404 @@
+package com.volcano.blog.search;
+
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.dto.PostSearchDocument;
+import com.volcano.blog.event.PostChangedEvent;
+import com.volcano.blog.repository.PostRepository;
+import com.volcano.blog.repository.PostSearchRepository.Match;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文章搜索索引
+ * 维护已发布文章的应用内倒排索引（PostInvertedIndex）：
+ * <ul>
+ *   <li>启动后在后台线程中加载快照并追赶快照之后的修改，没有可用快照时按 id 分批读取文章全量构建；</li>
+ *   <li>本实例的文章变更由 PostChangedEvent（事务提交后）增量更新；</li>
+ *   <li>定时写出快照，并定时全量重建以同步其他实例上的修改。</li>
+ * </ul>
+ * 构建期间到达的变更暂存起来，在新索引替换旧索引前按顺序重放。索引就绪前 isReady 返回 false，由调用方回退到数据库检索。
+ * 每次替换索引产生新的代，不同代的相关度不可比较，分页游标据此判断是否仍然有效
+ */
+@Slf4j
+@Component
+public class PostSearchIndex implements DisposableBean {
+
+    private static final int SNAPSHOT_MAGIC = 0x50534958;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * 从快照恢复时向前多追赶的时长，覆盖实例间的时钟偏差和事务提交延迟
+     */
+    static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(1);
+
+    private final PostRepository postRepository;
+    private final boolean enabled;
+    private final Path snapshotPath;
+    private final int batchSize;
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * 构建锁，同一时间只有一个构建任务，使用 ReentrantLock 避免虚拟线程被固定在载体线程上
+     */
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    /**
+     * 快照写出锁
+     */
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    /**
+     * 当前索引，null 表示尚未就绪
+     */
+    private volatile PostInvertedIndex index;
+
+    /**
+     * 当前索引与数据库一致的时间点（最近一次构建开始的时间），写入快照，恢复时从这里开始追赶
+     */
+    private volatile Instant consistentAsOf;
+
+    /**
+     * 当前索引的代，每次替换索引时更新（由 this 保护）
+     * 取构建开始时间的毫秒数并保证递增，各实例的代基本不会相同
+     */
+    private long generation;
+
+    /**
+     * 构建期间到达的变更，构建完成前重放；不在构建时为 null（由 this 保护）
+     */
+    private List<Change> pending;
+
+    private PostInvertedIndex savedIndex;
+    private long savedVersion;
+
+    public PostSearchIndex(PostRepository postRepository, AppProperties appProperties) {
+        AppProperties.Search.Index config = appProperties.getSearch().getIndex();
+        this.postRepository = postRepository;
+        this.enabled = config.isEnabled();
+        this.snapshotPath = config.getSnapshotPath() == null || config.getSnapshotPath().isBlank()
+                ? null : Path.of(config.getSnapshotPath());
+        this.batchSize = config.getBatchSize();
+
+        log.info("PostSearchIndex initialized: enabled={}, snapshot={}, batchSize={}", enabled, snapshotPath, batchSize);
+    }
+
+    /**
+     * 索引是否可用
+     */
+    public boolean isReady() {
+        return enabled && index != null;
+    }
+
+    /**
+     * 检索已发布文章，索引未就绪时返回代为 0 的空结果
+     *
+     * @see PostInvertedIndex#search
+     */
+    public Hits search(String query, Double afterScore, long afterId, int limit) {
+        PostInvertedIndex current;
+        long currentGeneration;
+        // 索引和代在构建完成时一起替换，需要同时读取
+        synchronized (this) {
+            current = index;
+            currentGeneration = generation;
+        }
+        if (current == null) {
+            return new Hits(0, List.of());
+        }
+        return new Hits(currentGeneration,
+                current.search(SearchTokenizer.queryClauses(query), afterScore, afterId, limit));
+    }
+
+    /**
+     * 启动完成后在后台线程中构建索引，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::initialize, "post-search-index-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 文章变更后增量更新索引
+     */
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Change change = event.isPublished()
+                ? new Change(event.postId(), event.post().getTitle(), event.post().getContent())
+                : new Change(event.postId(), null, null);
+
+        synchronized (this) {
+            PostInvertedIndex current = index;
+            if (current != null) {
+                change.applyTo(current);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    /**
+     * 定时全量重建
+     */
+    @Scheduled(initialDelayString = "#{@appProperties.search.index.rebuildInterval.toMillis()}",
+               fixedDelayString = "#{@appProperties.search.index.rebuildInterval.toMillis()}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            build(null, null);
+        } catch (RuntimeException e) {
+            // 重建失败时继续使用旧索引
+            log.warn("Failed to rebuild post search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定时写出快照
+     */
+    @Scheduled(initialDelayString = "#{@appProperties.search.index.snapshotInterval.toMillis()}",
+               fixedDelayString = "#{@appProperties.search.index.snapshotInterval.toMillis()}")
+    public void saveSnapshot() {
+        if (!enabled || snapshotPath == null) {
+            return;
+        }
+        snapshotLock.lock();
+        try {
+            PostInvertedIndex current;
+            Instant asOf;
+            // 索引和一致时间点在构建完成时一起替换，需要同时读取
+            synchronized (this) {
+                current = index;
+                asOf = consistentAsOf;
+            }
+            if (current == null || (current == savedIndex && current.version() == savedVersion)) {
+                return;
+            }
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            long version;
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(asOf.toEpochMilli());
+                version = current.writeTo(out);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            savedIndex = current;
+            savedVersion = version;
+            log.debug("Post search index snapshot saved: posts={}, path={}", current.size(), snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to save post search index snapshot: {}", e.getMessage());
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * 关闭时写出最新快照，下次启动只需追赶增量
+     */
+    @Override
+    public void destroy() {
+        saveSnapshot();
+    }
+
+    /**
+     * 首次构建：优先从快照恢复，快照不存在或无法读取时全量构建
+     */
+    void initialize() {
+        try {
+            Snapshot snapshot = readSnapshot();
+            if (snapshot != null) {
+                build(snapshot.index(), snapshot.consistentAsOf());
+            } else {
+                build(null, null);
+            }
+        } catch (RuntimeException e) {
+            // 保持未就绪状态，搜索使用数据库检索，等待下次定时重建
+            log.warn("Failed to build post search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 构建新索引并替换当前索引
+     *
+     * @param base  从快照恢复的索引，为 null 时全量构建
+     * @param since 快照与数据库一致的时间点
+     */
+    private void build(PostInvertedIndex base, Instant since) {
+        if (!buildLock.tryLock()) {
+            log.debug("Post search index build already in progress, skipping");
+            return;
+        }
+        try {
+            Instant startedAt = clock.instant();
+            List<Change> changes = new ArrayList<>();
+            synchronized (this) {
+                pending = changes;
+            }
+            try {
+                PostInvertedIndex built = base != null ? catchUp(base, since) : loadAll();
+                synchronized (this) {
+                    // 构建期间读到的可能是变更前的数据，按顺序重放后与最后一次提交一致
+                    changes.forEach(change -> change.applyTo(built));
+                    index = built;
+                    consistentAsOf = startedAt;
+                    generation = Math.max(startedAt.toEpochMilli(), generation + 1);
+                }
+                log.info("Post search index {}: posts={}, replayed={}, took={}ms",
+                        base != null ? "restored from snapshot" : "rebuilt", built.size(), changes.size(),
+                        Duration.between(startedAt, clock.instant()).toMillis());
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * 按 id 分批读取全部已发布文章构建索引
+     */
+    private PostInvertedIndex loadAll() {
+        PostInvertedIndex built = new PostInvertedIndex();
+        long afterId = 0;
+        List<PostSearchDocument> batch;
+        do {
+            batch = postRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, batchSize));
+            for (PostSearchDocument document : batch) {
+                built.upsert(document.id(), document.title(), document.content());
+                afterId = document.id();
+            }
+        } while (batch.size() == batchSize);
+        return built;
+    }
+
+    /**
+     * 在快照基础上追赶：重新索引快照之后修改过的文章，再移除已删除或已取消发布的文章
+     */
+    private PostInvertedIndex catchUp(PostInvertedIndex base, Instant since) {
+        Instant from = since.minus(CATCH_UP_MARGIN);
+        long afterId = 0;
+        int updated = 0;
+        List<PostSearchDocument> batch;
+        do {
+            batch = postRepository.findSearchDocumentsUpdatedSince(from, afterId, PageRequest.of(0, batchSize));
+            for (PostSearchDocument document : batch) {
+                base.upsert(document.id(), document.title(), document.content());
+                afterId = document.id();
+            }
+            updated += batch.size();
+        } while (batch.size() == batchSize);
+
+        // 删除不会留下记录，按 id 读取全部已发布文章（只读 id 列）与索引比对
+        long[] publishedIds = loadPublishedIds();
+        int removed = base.retainAll(postId -> Arrays.binarySearch(publishedIds, postId) >= 0);
+        log.debug("Post search index caught up since {}: updated={}, removed={}", from, updated, removed);
+        return base;
+    }
+
+    /**
+     * 按 id 升序读取全部已发布文章的 id
+     */
+    private long[] loadPublishedIds() {
+        long[] ids = new long[1024];
+        int size = 0;
+        long afterId = 0;
+        List<Long> batch;
+        do {
+            batch = postRepository.findPublishedIdsAfter(afterId, PageRequest.of(0, batchSize));
+            for (Long id : batch) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = id;
+                afterId = id;
+            }
+        } while (batch.size() == batchSize);
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * 读取快照，不存在或格式不符时返回 null
+     */
+    private Snapshot readSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotPath), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring post search index snapshot with unknown format: {}", snapshotPath);
+                return null;
+            }
+            Instant asOf = Instant.ofEpochMilli(in.readLong());
+            return new Snapshot(PostInvertedIndex.readFrom(in), asOf);
+        } catch (IOException e) {
+            log.warn("Failed to read post search index snapshot {}: {}", snapshotPath, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 一次检索的结果
+     *
+     * @param generation 产生结果的索引的代
+     * @param matches    按相关度降序、id 降序排列的命中
+     */
+    public record Hits(long generation, List<Match> matches) {
+    }
+
+    private record Snapshot(PostInvertedIndex index, Instant consistentAsOf) {
+    }
+
+    /**
+     * 一次文章变更，title 为 null 表示从索引中移除（已删除或未发布）
+     */
+    private record Change(long postId, String title, String content) {
+
+        void applyTo(PostInvertedIndex target) {
+            if (title == null) {
+                target.remove(postId);
+            } else {
+                target.upsert(postId, title, content);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.volcano.blog.search;
+
+import com.volcano.blog.util.SearchTextUtils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 搜索分词器
+ * 文本先做 NFKC 归一化（全角字母数字转半角）并转为小写：
+ * 连续的字母数字（拉丁、西里尔等）作为一个词；中日韩文字没有空格分词，连续的一段按相邻两字切分为二元词（bigram），
+ * 只有一个字的片段保留单字。与 MySQL ngram 解析器（ngram_token_size=2）的切分方式一致
+ */
+public final class SearchTokenizer {
+
+    /**
+     * 单个词的最大长度（字符），更长的只保留前缀
+     */
+    static final int MAX_TOKEN_LENGTH = 32;
+
+    private SearchTokenizer() {
+        // 工具类不允许实例化
+    }
+
+    /**
+     * 切分文本，按出现顺序逐个输出词（可能重复）
+     */
+    public static void tokenize(String text, Consumer<String> sink) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = Normalizer.isNormalized(text, Normalizer.Form.NFKC)
+                ? text : Normalizer.normalize(text, Normalizer.Form.NFKC);
+        normalized = normalized.toLowerCase(Locale.ROOT);
+
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = normalized.codePointAt(i);
+            if (isCjk(codePoint)) {
+                i = emitCjkRun(normalized, i, sink);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+                while (i < length) {
+                    int c = normalized.codePointAt(i);
+                    if (isCjk(c) || !Character.isLetterOrDigit(c)) {
+                        break;
+                    }
+                    i += Character.charCount(c);
+                }
+                int end = Math.min(i, start + MAX_TOKEN_LENGTH);
+                if (end < i && Character.isHighSurrogate(normalized.charAt(end - 1))) {
+                    end--;
+                }
+                sink.accept(normalized.substring(start, end));
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+    }
+
+    /**
+     * 切分查询
+     * 按空白拆分关键词（见 SearchTextUtils.terms），每个关键词切分出的词去重后组成一个子句。
+     * 文档需包含子句中的全部词才算命中该关键词，多个关键词之间是“或”的关系
+     */
+    public static List<List<String>> queryClauses(String query) {
+        List<List<String>> clauses = new ArrayList<>();
+        for (String term : SearchTextUtils.terms(query)) {
+            Set<String> tokens = new LinkedHashSet<>();
+            tokenize(term, tokens::add);
+            if (!tokens.isEmpty() && !clauses.contains(List.copyOf(tokens))) {
+                clauses.add(List.copyOf(tokens));
+            }
+        }
+        return clauses;
+    }
+
+    /**
+     * 输出一段连续的中日韩文字，返回该段结束的位置
+     */
+    private static int emitCjkRun(String text, int start, Consumer<String> sink) {
+        int length = text.length();
+        int previous = start;
+        int i = start + Character.charCount(text.codePointAt(start));
+        boolean emitted = false;
+        while (i < length && isCjk(text.codePointAt(i))) {
+            int next = i + Character.charCount(text.codePointAt(i));
+            sink.accept(text.substring(previous, next));
+            emitted = true;
+            previous = i;
+            i = next;
+        }
+        if (!emitted) {
+            sink.accept(text.substring(start, i));
+        }
+        return i;
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,256 @@
+package com.volcano.blog.security;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * 客户端 IP 地址
+ * 以 128 位整数（两个 long）保存，IPv4 按 IPv4 映射地址（::ffff:a.b.c.d）存储，
+ * 因此同一地址的 IPv4 与映射形式相等。比较和哈希只涉及两个 long，可直接作为限流桶的键。
+ * 解析不使用正则、split 或 DNS，无法解析的文本返回 null
+ */
+public final class ClientAddress {
+
+    /**
+     * 无法识别的远端地址（如 Unix 域套接字）
+     */
+    public static final ClientAddress UNSPECIFIED = new ClientAddress(0, 0);
+
+    private static final long IPV4_MAPPED_PREFIX = 0x0000_FFFF_0000_0000L;
+
+    private final long high;
+    private final long low;
+
+    private ClientAddress(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static ClientAddress ofIpv4(int address) {
+        return new ClientAddress(0, IPV4_MAPPED_PREFIX | (address & 0xFFFF_FFFFL));
+    }
+
+    public static ClientAddress ofIpv6(long high, long low) {
+        return new ClientAddress(high, low);
+    }
+
+    /**
+     * 解析 IP 地址文本
+     */
+    public static ClientAddress parse(String text) {
+        return text == null ? null : parse(text, 0, text.length());
+    }
+
+    /**
+     * 解析 text[start, end) 中的 IP 地址，忽略首尾空白、方括号、端口号和 IPv6 zone id
+     */
+    public static ClientAddress parse(String text, int start, int end) {
+        while (start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        if (text.charAt(start) == '[') {
+            int close = text.indexOf(']', start);
+            if (close < 0 || close >= end) {
+                return null;
+            }
+            start++;
+            end = close;
+        } else {
+            int firstColon = indexOf(text, ':', start, end);
+            if (firstColon >= 0 && indexOf(text, ':', firstColon + 1, end) < 0) {
+                // 只有一个冒号：IPv4 带端口
+                end = firstColon;
+            }
+        }
+        int zone = indexOf(text, '%', start, end);
+        if (zone >= 0) {
+            end = zone;
+        }
+
+        if (indexOf(text, ':', start, end) >= 0) {
+            return parseIpv6(text, start, end);
+        }
+        long ipv4 = parseIpv4(text, start, end);
+        return ipv4 < 0 ? null : ofIpv4((int) ipv4);
+    }
+
+    public long high() {
+        return high;
+    }
+
+    public long low() {
+        return low;
+    }
+
+    public boolean isIpv4() {
+        return high == 0 && (low & 0xFFFF_FFFF_0000_0000L) == IPV4_MAPPED_PREFIX;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || other instanceof ClientAddress address && address.high == high && address.low == low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high * 31 + low);
+    }
+
+    @Override
+    public String toString() {
+        if (isIpv4()) {
+            return ((low >>> 24) & 0xFF) + "." + ((low >>> 16) & 0xFF) + "." + ((low >>> 8) & 0xFF) + "." + (low & 0xFF);
+        }
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - 8 * i));
+            bytes[i + 8] = (byte) (low >>> (56 - 8 * i));
+        }
+        try {
+            return InetAddress.getByAddress(bytes).getHostAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 解析点分十进制 IPv4，返回无符号 32 位值，无效时返回 -1
+     */
+    static long parseIpv4(String text, int start, int end) {
+        long result = 0;
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || octets == 3) {
+                    return -1;
+                }
+                result = (result << 8) | value;
+                octets++;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0 || octets != 3) {
+            return -1;
+        }
+        return (result << 8) | value;
+    }
+
+    /**
+     * 解析 IPv6（支持 :: 压缩和末尾嵌入的 IPv4）
+     */
+    private static ClientAddress parseIpv6(String text, int start, int end) {
+        int[] groups = new int[8];
+        int count = 0;
+        int compressAt = -1;
+        int i = start;
+
+        if (end - i >= 2 && text.startsWith("::", i)) {
+            compressAt = 0;
+            i += 2;
+        } else if (i < end && text.charAt(i) == ':') {
+            return null;
+        }
+
+        while (i < end) {
+            int groupStart = i;
+            int value = 0;
+            int digits = 0;
+            boolean embeddedIpv4 = false;
+            while (i < end && text.charAt(i) != ':') {
+                char c = text.charAt(i);
+                if (c == '.') {
+                    embeddedIpv4 = true;
+                    break;
+                }
+                int digit = hexDigit(c);
+                if (digit < 0 || ++digits > 4) {
+                    return null;
+                }
+                value = (value << 4) | digit;
+                i++;
+            }
+            if (embeddedIpv4) {
+                long ipv4 = parseIpv4(text, groupStart, end);
+                if (ipv4 < 0 || count > 6) {
+                    return null;
+                }
+                groups[count++] = (int) (ipv4 >>> 16);
+                groups[count++] = (int) (ipv4 & 0xFFFF);
+                break;
+            }
+            if (digits == 0 || count == 8) {
+                return null;
+            }
+            groups[count++] = value;
+
+            if (i < end) {
+                i++;
+                if (i < end && text.charAt(i) == ':') {
+                    if (compressAt >= 0) {
+                        return null;
+                    }
+                    compressAt = count;
+                    i++;
+                } else if (i == end) {
+                    return null;
+                }
+            }
+        }
+
+        if (compressAt < 0 ? count != 8 : count > 7) {
+            return null;
+        }
+        if (compressAt >= 0) {
+            int tail = count - compressAt;
+            System.arraycopy(groups, compressAt, groups, 8 - tail, tail);
+            for (int j = compressAt; j < 8 - tail; j++) {
+                groups[j] = 0;
+            }
+        }
+
+        long high = 0;
+        long low = 0;
+        for (int j = 0; j < 4; j++) {
+            high = (high << 16) | groups[j];
+            low = (low << 16) | groups[j + 4];
+        }
+        return new ClientAddress(high, low);
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static int indexOf(String text, char c, int start, int end) {
+        int index = text.indexOf(c, start);
+        return index < end ? index : -1;
+    }
+}
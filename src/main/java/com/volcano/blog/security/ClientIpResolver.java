@@ -0,0 +1,132 @@
+package com.volcano.blog.security;
+
+import com.volcano.blog.config.AppProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 客户端 IP 解析
+ * 只有直接连接方属于受信任代理（client-ip.trusted-proxies）时才读取 X-Forwarded-For / X-Real-IP：
+ * 从 X-Forwarded-For 的最右侧向左跳过受信任代理，第一个不受信任的地址即为客户端。
+ * 每个请求只解析一次，结果保存在请求属性中，供限流过滤器、切面和控制器共用
+ */
+@Slf4j
+@Component
+public class ClientIpResolver {
+
+    public static final String ATTRIBUTE = ClientIpResolver.class.getName() + ".CLIENT_ADDRESS";
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+    private static final String REAL_IP_HEADER = "X-Real-IP";
+
+    private final Cidr[] trustedProxies;
+
+    @Autowired
+    public ClientIpResolver(AppProperties appProperties) {
+        this(appProperties.getClientIp().getTrustedProxies());
+    }
+
+    /**
+     * @param trustedProxies 受信任代理的 CIDR（如 10.0.0.0/8、::1/128），不带前缀长度表示单个地址
+     */
+    public ClientIpResolver(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream().map(Cidr::parse).toArray(Cidr[]::new);
+        log.info("ClientIpResolver initialized: trustedProxies={}", trustedProxies);
+    }
+
+    /**
+     * 获取请求的客户端地址
+     */
+    public ClientAddress resolve(HttpServletRequest request) {
+        if (request.getAttribute(ATTRIBUTE) instanceof ClientAddress cached) {
+            return cached;
+        }
+        ClientAddress address = doResolve(request);
+        request.setAttribute(ATTRIBUTE, address);
+        return address;
+    }
+
+    private ClientAddress doResolve(HttpServletRequest request) {
+        ClientAddress remote = ClientAddress.parse(request.getRemoteAddr());
+        if (remote == null) {
+            return ClientAddress.UNSPECIFIED;
+        }
+        if (!isTrusted(remote)) {
+            return remote;
+        }
+
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor != null) {
+            return fromForwardedFor(forwardedFor, remote);
+        }
+        ClientAddress realIp = ClientAddress.parse(request.getHeader(REAL_IP_HEADER));
+        return realIp != null ? realIp : remote;
+    }
+
+    /**
+     * 从右向左遍历 X-Forwarded-For；遇到无法解析的条目时停止，其左侧的内容不可信
+     */
+    private ClientAddress fromForwardedFor(String header, ClientAddress remote) {
+        ClientAddress candidate = remote;
+        int end = header.length();
+        while (end > 0) {
+            int comma = header.lastIndexOf(',', end - 1);
+            ClientAddress hop = ClientAddress.parse(header, comma + 1, end);
+            if (hop == null) {
+                return candidate;
+            }
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+            candidate = hop;
+            end = comma;
+        }
+        return candidate;
+    }
+
+    private boolean isTrusted(ClientAddress address) {
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 128 位地址空间中的网段，IPv4 前缀长度加 96（映射地址）
+     */
+    record Cidr(long high, long low, long maskHigh, long maskLow) {
+
+        static Cidr parse(String text) {
+            int slash = text.indexOf('/');
+            String addressText = slash < 0 ? text : text.substring(0, slash);
+            ClientAddress address = ClientAddress.parse(addressText);
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy address: " + text);
+            }
+            int maxPrefix = address.isIpv4() ? 32 : 128;
+            int prefix;
+            try {
+                prefix = slash < 0 ? maxPrefix : Integer.parseInt(text.substring(slash + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid trusted proxy prefix: " + text, e);
+            }
+            if (prefix < 0 || prefix > maxPrefix) {
+                throw new IllegalArgumentException("Invalid trusted proxy prefix: " + text);
+            }
+            int bits = prefix + (128 - maxPrefix);
+            long maskHigh = bits >= 64 ? -1L : bits == 0 ? 0 : -1L << (64 - bits);
+            long maskLow = bits <= 64 ? 0 : bits == 128 ? -1L : -1L << (128 - bits);
+            return new Cidr(address.high() & maskHigh, address.low() & maskLow, maskHigh, maskLow);
+        }
+
+        boolean contains(ClientAddress address) {
+            return (address.high() & maskHigh) == high && (address.low() & maskLow) == low;
+        }
+    }
+}
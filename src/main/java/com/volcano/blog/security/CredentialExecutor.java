@@ -0,0 +1,107 @@
+package com.volcano.blog.security;
+
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.exception.ServiceBusyException;
+import com.volcano.blog.metrics.SqlStatementTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 凭证操作执行器
+ * 登录、注册等包含 BCrypt 计算的操作在独立的有界线程池中执行，突发的登录流量不会占满 Tomcat 工作线程。
+ * 队列满时立即拒绝；排队超过 max-queue-wait 的任务不再执行。两种情况都以 {@link ServiceBusyException} 结束。
+ * 指标：auth.credential.queue.wait（排队时间）、auth.credential.queue.size、auth.credential.active、
+ * auth.credential.rejected（tag reason=queue_full|queue_timeout）
+ */
+@Slf4j
+@Component
+public class CredentialExecutor implements DisposableBean {
+
+    private static final String BUSY_MESSAGE = "服务繁忙，请稍后再试";
+
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueWaitNanos;
+    private final Timer queueWaitTimer;
+    private final Counter queueFullCounter;
+    private final Counter queueTimeoutCounter;
+
+    public CredentialExecutor(AppProperties appProperties, MeterRegistry meterRegistry) {
+        AppProperties.PasswordHashing config = appProperties.getPasswordHashing();
+        this.executor = new ThreadPoolExecutor(
+                config.getThreads(), config.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                new CustomizableThreadFactory("credential-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxQueueWaitNanos = config.getMaxQueueWait().toNanos();
+
+        this.queueWaitTimer = Timer.builder("auth.credential.queue.wait")
+                .description("Time credential tasks spend waiting for a hashing thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueFullCounter = Counter.builder("auth.credential.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.queueTimeoutCounter = Counter.builder("auth.credential.rejected")
+                .tag("reason", "queue_timeout")
+                .register(meterRegistry);
+        Gauge.builder("auth.credential.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.credential.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("CredentialExecutor initialized: threads={}, queueCapacity={}, maxQueueWait={}",
+                config.getThreads(), config.getQueueCapacity(), config.getMaxQueueWait());
+    }
+
+    /**
+     * 提交凭证操作
+     * 任务抛出的异常原样作为返回 future 的异常结果；任务（及在本线程上完成的后续阶段）执行的语句计入提交请求的 SQL 统计
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(SqlStatementTracker.propagate(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                queueWaitTimer.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > maxQueueWaitNanos) {
+                    queueTimeoutCounter.increment();
+                    future.completeExceptionally(new ServiceBusyException(BUSY_MESSAGE));
+                    return;
+                }
+                try {
+                    future.complete(task.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            log.warn("Credential executor queue is full, rejecting task");
+            future.completeExceptionally(new ServiceBusyException(BUSY_MESSAGE));
+        }
+        return future;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -7,14 +7,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 
 /**
  * JWT 认证过滤器
@@ -25,10 +23,11 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtPrincipalCache jwtPrincipalCache;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -37,28 +36,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = extractToken(request);
 
-            if (StringUtils.hasText(token)) {
-                var claims = jwtTokenProvider.parseToken(token);
-                var body = claims.getBody();
-
-                Long userId = body.get("userId", Long.class);
-                String email = body.get("email", String.class);
-                String role = body.get("role", String.class);
-
-                // 创建认证信息
-                var authorities = Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + (role != null ? role.toUpperCase() : "USER"))
-                );
+            if (StringUtils.hasText(token) && !isScrapeToken(request, token)) {
+                // 同一令牌只验证一次，之后命中缓存
+                JwtPrincipalCache.VerifiedToken verified = jwtPrincipalCache.get(token);
+                JwtUserPrincipal principal = verified.principal();
 
                 var authentication = new UsernamePasswordAuthenticationToken(
-                        new JwtUserPrincipal(userId, email, role),
+                        principal,
                         null,
-                        authorities
+                        verified.authorities()
                 );
 
                 // 设置到 Security 上下文
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Authenticated user: {} with role: {}", email, role);
+                log.debug("Authenticated user: {} with role: {}", principal.getEmail(), principal.getRole());
             }
         } catch (Exception e) {
             log.debug("JWT authentication failed: {}", e.getMessage());
@@ -79,6 +70,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
+    /**
+     * Prometheus 抓取请求携带的是抓取令牌而不是 JWT，交给 MetricsScrapeAuthorizationManager 校验；
+     * 不按 JWT 解析，避免每次抓取都记一条 ERROR 日志并计入 auth.jwt.parse.failures。
+     * 管理员用 JWT 访问该端点时令牌形如 header.payload.signature，仍按 JWT 认证
+     */
+    private boolean isScrapeToken(HttpServletRequest request, String token) {
+        return PROMETHEUS_PATH.equals(request.getServletPath()) && !isJwtShaped(token);
+    }
+
+    private static boolean isJwtShaped(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        return second > 0 && token.indexOf('.', second + 1) < 0;
+    }
+
     /**
      * 不需要过滤的路径（可选优化）
      */
@@ -0,0 +1,122 @@
+package com.volcano.blog.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.volcano.blog.config.AppProperties;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已验证 JWT 的用户主体缓存
+ * 同一令牌只做一次 Base64 解码、JSON 解析和 HMAC 校验，之后直接返回缓存的主体和权限。
+ * 条目在令牌自身的 exp 到期时失效；验证失败的令牌不缓存。
+ * 命中/未命中/淘汰统计通过 Actuator metrics 暴露（tag cache=jwtPrincipal）
+ */
+@Slf4j
+@Component
+public class JwtPrincipalCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "jwtPrincipal";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Cache<String, VerifiedToken> cache;
+
+    public JwtPrincipalCache(JwtTokenProvider jwtTokenProvider, AppProperties appProperties) {
+        AppProperties.JwtPrincipal config = appProperties.getCache().getJwtPrincipal();
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfter(new UntilTokenExpiry(config.getExpireWithoutExp().toNanos()))
+                .recordStats()
+                .build();
+
+        log.info("JwtPrincipalCache initialized: maxSize={}", config.getMaxSize());
+    }
+
+    /**
+     * 获取令牌对应的已验证主体，未命中时解析并验证令牌
+     * 令牌无效或已过期时抛出 JwtException / IllegalArgumentException
+     */
+    public VerifiedToken get(String token) {
+        return cache.get(token, this::verify);
+    }
+
+    /**
+     * 清空缓存（用于测试或维护）
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims body = jwtTokenProvider.parseToken(token).getBody();
+
+        Long userId = body.get("userId", Long.class);
+        String email = body.get("email", String.class);
+        String role = body.get("role", String.class);
+
+        List<GrantedAuthority> authorities = List.of(
+                new SimpleGrantedAuthority("ROLE_" + (role != null ? role.toUpperCase() : "USER")));
+        Date expiration = body.getExpiration();
+
+        return new VerifiedToken(new JwtUserPrincipal(userId, email, role), authorities,
+                expiration != null ? expiration.getTime() : null);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 已验证令牌
+     *
+     * @param principal    用户主体（不可变，可跨请求共享）
+     * @param authorities  权限列表（不可变）
+     * @param expiresAtMs  令牌 exp（毫秒时间戳），无 exp 声明时为 null
+     */
+    public record VerifiedToken(JwtUserPrincipal principal, List<GrantedAuthority> authorities, Long expiresAtMs) {
+    }
+
+    /**
+     * 条目存活到令牌的 exp 为止
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final long fallbackNanos;
+
+        private UntilTokenExpiry(long fallbackNanos) {
+            this.fallbackNanos = fallbackNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken value, long currentTime) {
+            if (value.expiresAtMs() == null) {
+                return fallbackNanos;
+            }
+            long remainingMs = value.expiresAtMs() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.volcano.blog.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,23 +14,56 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT 令牌提供者
- * 负责 JWT 的生成、解析和验证
+ * 负责 JWT 的生成、解析和验证。
+ * 生成和解析耗时记录为 auth.jwt（tag operation=create|parse），
+ * 解析失败按原因计数为 auth.jwt.parse.failures（tag reason=expired|unsupported|malformed|signature|invalid）
  */
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
     private Key key;
+    private JwtParser parser;
     private final long validityInMs;
+    private final Timer createTimer;
+    private final Timer parseTimer;
+    private final Counter expiredCounter;
+    private final Counter unsupportedCounter;
+    private final Counter malformedCounter;
+    private final Counter signatureCounter;
+    private final Counter invalidCounter;
     
     @Value("${jwt.secret}")
     private String secret;
 
-    public JwtTokenProvider(@Value("${jwt.expiration}") long expirationMs) {
+    public JwtTokenProvider(@Value("${jwt.expiration}") long expirationMs, MeterRegistry meterRegistry) {
         this.validityInMs = expirationMs;
+        this.createTimer = jwtTimer(meterRegistry, "create");
+        this.parseTimer = jwtTimer(meterRegistry, "parse");
+        this.expiredCounter = failureCounter(meterRegistry, "expired");
+        this.unsupportedCounter = failureCounter(meterRegistry, "unsupported");
+        this.malformedCounter = failureCounter(meterRegistry, "malformed");
+        this.signatureCounter = failureCounter(meterRegistry, "signature");
+        this.invalidCounter = failureCounter(meterRegistry, "invalid");
+    }
+
+    private static Timer jwtTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.jwt")
+                .description("JWT signing and parsing latency")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.jwt.parse.failures")
+                .description("JWT tokens rejected while parsing")
+                .tag("reason", reason)
+                .register(meterRegistry);
     }
 
     /**
@@ -52,6 +88,11 @@ public class JwtTokenProvider {
             log.warn("JWT secret is not Base64 encoded, using UTF-8 bytes directly");
             this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         }
+
+        // 解析器线程安全，构建一次后复用
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     /**
@@ -61,14 +102,14 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + validityInMs);
 
-        String token = Jwts.builder()
+        String token = createTimer.record(() -> Jwts.builder()
                 .claim("userId", userId)
                 .claim("email", email)
                 .claim("role", role)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
                 .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .compact());
         
         log.debug("Created JWT token for user: {} (expires at: {})", email, expiry);
         return token;
@@ -78,26 +119,31 @@ public class JwtTokenProvider {
      * 解析和验证 JWT 令牌
      */
     public Jws<Claims> parseToken(String token) {
+        long start = System.nanoTime();
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
+            return parser.parseClaimsJws(token);
         } catch (ExpiredJwtException e) {
+            expiredCounter.increment();
             log.warn("JWT token is expired: {}", e.getMessage());
             throw e;
         } catch (UnsupportedJwtException e) {
+            unsupportedCounter.increment();
             log.error("JWT token is unsupported: {}", e.getMessage());
             throw e;
         } catch (MalformedJwtException e) {
+            malformedCounter.increment();
             log.error("JWT token is malformed: {}", e.getMessage());
             throw e;
         } catch (io.jsonwebtoken.security.SignatureException e) {
+            signatureCounter.increment();
             log.error("JWT signature validation failed: {}", e.getMessage());
             throw e;
         } catch (IllegalArgumentException e) {
+            invalidCounter.increment();
             log.error("JWT token is invalid: {}", e.getMessage());
             throw e;
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 }
@@ -0,0 +1,62 @@
+package com.volcano.blog.security;
+
+import com.volcano.blog.config.AppProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Prometheus 抓取端点授权
+ * ADMIN 用户可以访问；配置了 metrics.scrape-token 时，携带 Authorization: Bearer &lt;token&gt; 的抓取请求也可以访问。
+ * 抓取令牌不是 JWT，JwtAuthenticationFilter 解析失败后请求保持匿名，由这里以常量时间比较令牌
+ */
+@Slf4j
+@Component
+public class MetricsScrapeAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthorizationManager<RequestAuthorizationContext> admin = AuthorityAuthorizationManager.hasRole("ADMIN");
+
+    /**
+     * 抓取令牌，未配置时为 null
+     */
+    private final byte[] scrapeToken;
+
+    public MetricsScrapeAuthorizationManager(AppProperties appProperties) {
+        String token = appProperties.getMetrics().getScrapeToken();
+        this.scrapeToken = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+        log.info("MetricsScrapeAuthorizationManager initialized: scrapeToken={}",
+                scrapeToken != null ? "configured" : "disabled");
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        if (hasScrapeToken(context.getRequest())) {
+            return new AuthorizationDecision(true);
+        }
+        return admin.check(authentication, context);
+    }
+
+    private boolean hasScrapeToken(HttpServletRequest request) {
+        if (scrapeToken == null) {
+            return false;
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] presented = header.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(presented, scrapeToken);
+    }
+}
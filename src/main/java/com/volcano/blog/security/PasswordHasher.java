@@ -0,0 +1,47 @@
+package com.volcano.blog.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 计时的密码哈希
+ * 包装 BCryptPasswordEncoder，记录每次哈希耗时（auth.password.hash，tag operation=matches|encode）。
+ * 调用方应在 {@link CredentialExecutor} 的线程中调用，避免在请求线程上做 BCrypt 计算。
+ */
+@Component
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+
+    public PasswordHasher(BCryptPasswordEncoder passwordEncoder, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("BCrypt hashing latency")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 校验明文密码与哈希是否匹配
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 计算密码哈希
+     */
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
+    }
+}
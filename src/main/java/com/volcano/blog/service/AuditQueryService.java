@@ -0,0 +1,70 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.annotation.AuditLog.AuditAction;
+import com.volcano.blog.dto.AuditEventDto;
+import com.volcano.blog.dto.CursorPageResponse;
+import com.volcano.blog.exception.BusinessException;
+import com.volcano.blog.model.AuditRecord;
+import com.volcano.blog.repository.AuditEventRepository;
+import com.volcano.blog.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 审计事件查询服务
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditQueryService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final AuditEventRepository auditEventRepository;
+
+    /**
+     * 按用户、操作类型和时间范围查询审计事件（keyset 游标分页，按时间倒序）
+     *
+     * @param from   起始时间（含），可为空
+     * @param to     结束时间（不含），可为空
+     * @param cursor 上一页返回的游标，为空时返回第一页
+     */
+    public CursorPageResponse<AuditEventDto> getAuditEvents(Long userId, AuditAction action,
+                                                            Instant from, Instant to,
+                                                            String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "每页大小必须在1到" + MAX_PAGE_SIZE + "之间");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BusinessException("INVALID_TIME_RANGE", "起始时间必须早于结束时间");
+        }
+
+        AuditEventRepository.Criteria criteria = new AuditEventRepository.Criteria(
+                userId, action != null ? action.name() : null, from, to);
+        KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+
+        // 多取一条用于判断是否还有下一页
+        List<AuditRecord> rows = auditEventRepository.findPage(criteria,
+                position != null ? position.getTimestamp() : null,
+                position != null ? position.getId() : 0L,
+                size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<AuditRecord> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            AuditRecord last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<AuditEventDto>builder()
+                .content(pageRows.stream().map(AuditEventDto::fromEntity).collect(Collectors.toList()))
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+}
@@ -9,30 +9,37 @@ import com.volcano.blog.exception.ResourceNotFoundException;
 import com.volcano.blog.model.User;
 import com.volcano.blog.repository.UserRepository;
 import com.volcano.blog.security.JwtTokenProvider;
+import com.volcano.blog.security.PasswordHasher;
 import com.volcano.blog.util.LogUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * 认证服务
+ * login / register 包含 BCrypt 计算，由控制器提交到 CredentialExecutor 执行。
+ * 公开方法的耗时记录为 blog.service（tag class、method、exception）
+ */
 @Slf4j
 @Service
+@Timed(value = "blog.service", histogram = true)
 public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    public AuthService(UserRepository userRepository, JwtTokenProvider jwtTokenProvider, BCryptPasswordEncoder passwordEncoder) {
+    public AuthService(UserRepository userRepository, JwtTokenProvider jwtTokenProvider, PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
     }
 
     /**
@@ -47,7 +54,7 @@ public class AuthService {
                 return new UsernameNotFoundException("用户名或密码错误");
             });
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             log.warn("Login failed: Invalid password for email: {}", LogUtils.maskEmail(request.getEmail()));
             throw new BadCredentialsException("用户名或密码错误");
         }
@@ -84,7 +91,7 @@ public class AuthService {
         // 创建用户
         User user = User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .name(request.getName())
                 .role("USER")
                 .build();
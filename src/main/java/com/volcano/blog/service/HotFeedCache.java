@@ -0,0 +1,238 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.dto.PostSummaryDto;
+import com.volcano.blog.event.PostChangedEvent;
+import com.volcano.blog.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 首页热点文章摘要缓存
+ * 在内存中保存最新的 N 条已发布文章摘要及已发布总数，前几页列表请求无需访问数据库。
+ * 首次读取时从数据库构建，之后由本实例的文章变更事件（事务提交后）增量维护；
+ * 其他实例的写入收不到事件，由后台定时重建兜底（cache.hot-feed.refresh-interval），重建期间读取仍使用旧快照。
+ * 读取使用不可变快照，写入时复制后整体替换。
+ */
+@Slf4j
+@Component
+public class HotFeedCache {
+
+    /**
+     * 与列表查询一致的排序：createdAt 倒序，相同时按 id 倒序
+     */
+    private static final Comparator<PostSummaryDto> LATEST_FIRST = Comparator
+            .comparing(PostSummaryDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(PostSummaryDto::getId, Comparator.reverseOrder());
+
+    private final PostRepository postRepository;
+    private final boolean enabled;
+    private final int capacity;
+
+    /**
+     * 每处理一个变更事件加一，用于丢弃构建期间已过时的快照
+     */
+    private final AtomicLong changeVersion = new AtomicLong();
+
+    /**
+     * 构建锁，查询期间持有，使用 ReentrantLock 避免虚拟线程被固定在载体线程上
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * 当前快照，null 表示需要重新构建
+     */
+    private volatile Snapshot snapshot;
+
+    public HotFeedCache(PostRepository postRepository, AppProperties appProperties) {
+        AppProperties.HotFeed config = appProperties.getCache().getHotFeed();
+        this.postRepository = postRepository;
+        this.enabled = config.isEnabled();
+        this.capacity = config.getSize();
+
+        log.info("HotFeedCache initialized: enabled={}, size={}", enabled, capacity);
+    }
+
+    /**
+     * 获取当前快照，尚未构建时同步构建
+     * 未启用或构建期间发生了变更时返回空，调用方应回退到数据库查询
+     */
+    public Optional<Snapshot> getSnapshot() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = rebuild(false);
+        }
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * 后台从数据库重建已有快照，纳入其他实例的写入
+     * 尚未构建（无人读取）时跳过；失败时继续使用旧快照
+     */
+    @Scheduled(initialDelayString = "#{@appProperties.cache.hotFeed.refreshInterval.toMillis()}",
+            fixedDelayString = "#{@appProperties.cache.hotFeed.refreshInterval.toMillis()}")
+    public void refresh() {
+        if (!enabled || snapshot == null) {
+            return;
+        }
+        try {
+            rebuild(true);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh hot feed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 文章变更后增量更新快照
+     */
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        PostSummaryDto summary = event.isPublished() ? PostSummaryDto.fromEntity(event.post()) : null;
+
+        synchronized (this) {
+            changeVersion.incrementAndGet();
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            snapshot = current.apply(event.postId(), summary, event.wasPublished(), capacity);
+            if (snapshot == null) {
+                log.debug("Hot feed drained by removals, will rebuild on next read");
+            }
+        }
+    }
+
+    /**
+     * 清空快照（用于测试或维护），下次读取时重新构建
+     */
+    public synchronized void clear() {
+        changeVersion.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * 从数据库构建快照，只有一个线程执行查询
+     * 查询期间不持有事件锁；若有变更事件到达，则放弃本次结果，避免事件被重复计入或遗漏
+     *
+     * @param replace true 时替换已有快照（定时重建），false 时只在快照不存在时构建
+     */
+    private Snapshot rebuild(boolean replace) {
+        rebuildLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null && !replace) {
+                return current;
+            }
+            long version = changeVersion.get();
+            List<PostSummaryDto> items = postRepository.findPublishedSummariesFirstPage(PageRequest.of(0, capacity));
+            long publishedCount = postRepository.countByPublishedTrue();
+            Snapshot built = new Snapshot(List.copyOf(items), Math.max(publishedCount, items.size()));
+
+            synchronized (this) {
+                if (changeVersion.get() != version) {
+                    log.debug("Hot feed changed during rebuild, discarding");
+                    return snapshot;
+                }
+                snapshot = built;
+            }
+            log.debug("Hot feed rebuilt: items={}, publishedCount={}", items.size(), publishedCount);
+            return built;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 热点摘要的不可变快照
+     *
+     * @param items          按 createdAt、id 倒序排列的最新已发布文章摘要
+     * @param publishedCount 已发布文章总数
+     */
+    public record Snapshot(List<PostSummaryDto> items, long publishedCount) {
+
+        /**
+         * 是否已包含全部已发布文章
+         */
+        public boolean isComplete() {
+            return items.size() >= publishedCount;
+        }
+
+        /**
+         * 读取从 offset 开始的最多 limit 条摘要
+         * 只有请求范围完全落在快照内（或快照已包含全部文章）时才返回，否则返回空
+         */
+        public Optional<List<PostSummaryDto>> range(long offset, int limit) {
+            int size = items.size();
+            if (offset + limit > size && !isComplete()) {
+                return Optional.empty();
+            }
+            int from = (int) Math.min(offset, size);
+            int to = (int) Math.min(offset + limit, size);
+            return Optional.of(items.subList(from, to));
+        }
+
+        /**
+         * 应用一次变更，返回新快照
+         * 移除过多导致剩余条数不足容量一半且不完整时返回 null，交由下次读取重新构建
+         *
+         * @param summary 变更后的摘要，文章已删除或未发布时为 null
+         */
+        Snapshot apply(Long postId, PostSummaryDto summary, boolean wasPublished, int capacity) {
+            boolean wasComplete = isComplete();
+            List<PostSummaryDto> updated = new ArrayList<>(items.size() + 1);
+            for (PostSummaryDto item : items) {
+                if (!item.getId().equals(postId)) {
+                    updated.add(item);
+                }
+            }
+
+            if (summary != null) {
+                int position = insertionPoint(updated, summary);
+                // 快照不完整时，排在末尾之后的文章与末尾之间可能还有未缓存的文章，不能加入
+                if (position < updated.size() || wasComplete) {
+                    updated.add(position, summary);
+                }
+            }
+            if (updated.size() > capacity) {
+                updated.subList(capacity, updated.size()).clear();
+            }
+
+            long count = publishedCount + (summary != null ? 1 : 0) - (wasPublished ? 1 : 0);
+            Snapshot next = new Snapshot(List.copyOf(updated), Math.max(count, updated.size()));
+            if (!next.isComplete() && next.items().size() < capacity / 2) {
+                return null;
+            }
+            return next;
+        }
+
+        private static int insertionPoint(List<PostSummaryDto> sorted, PostSummaryDto summary) {
+            int low = 0;
+            int high = sorted.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (LATEST_FIRST.compare(sorted.get(mid), summary) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
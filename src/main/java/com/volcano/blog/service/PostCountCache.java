@@ -0,0 +1,78 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文章总数缓存
+ * 由后台定时任务刷新，为不需要精确总数的分页请求提供近似 totalElements，避免每页一次 COUNT(*)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCountCache {
+
+    private final PostRepository postRepository;
+
+    /**
+     * 首次加载锁，查询期间持有，使用 ReentrantLock 避免虚拟线程被固定在载体线程上
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile Counts counts;
+
+    /**
+     * 获取近似总数
+     *
+     * @param publishedOnly true 返回已发布文章数，false 返回全部文章数
+     */
+    public long getCount(boolean publishedOnly) {
+        Counts current = counts;
+        if (current == null) {
+            current = loadIfAbsent();
+        }
+        return publishedOnly ? current.published() : current.total();
+    }
+
+    /**
+     * 后台刷新总数
+     */
+    @Scheduled(fixedDelayString = "#{@appProperties.cache.postCount.refreshInterval.toMillis()}")
+    public void refresh() {
+        try {
+            counts = load();
+        } catch (RuntimeException e) {
+            // 刷新失败时继续使用旧值
+            log.warn("Failed to refresh post counts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 首次访问时同步加载（只有一个线程执行查询）
+     */
+    private Counts loadIfAbsent() {
+        loadLock.lock();
+        try {
+            if (counts == null) {
+                counts = load();
+            }
+            return counts;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Counts load() {
+        Counts loaded = new Counts(postRepository.countByPublishedTrue(), postRepository.count());
+        log.debug("Post counts refreshed: published={}, total={}", loaded.published(), loaded.total());
+        return loaded;
+    }
+
+    private record Counts(long published, long total) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.volcano.blog.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.dto.PostDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * 文章详情缓存（read-through）
+ * 同一 key 的并发未命中只会触发一次加载，其余请求等待同一结果，避免热点文章过期时的缓存击穿。
+ * 使用 AsyncCache，缓存内部的 compute 只放入一个未完成的 future，数据库查询在调用线程上、锁之外执行，
+ * 虚拟线程模式下不会因 synchronized 被固定在载体线程上
+ * 命中/未命中/淘汰统计通过 Actuator metrics 暴露（cache.gets、cache.evictions 等，tag cache=postDetail）
+ */
+@Slf4j
+@Component
+public class PostDetailCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "postDetail";
+
+    private final AsyncCache<Long, PostDto> cache;
+
+    public PostDetailCache(AppProperties appProperties) {
+        AppProperties.PostDetail config = appProperties.getCache().getPostDetail();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .recordStats()
+                .buildAsync();
+
+        log.info("PostDetailCache initialized: maxSize={}, expireAfterWrite={}",
+                config.getMaxSize(), config.getExpireAfterWrite());
+    }
+
+    /**
+     * 读取缓存，未命中时在当前线程调用 loader 加载，并发请求等待同一结果
+     * loader 抛出的异常直接传播，且不会缓存
+     */
+    public PostDto get(Long id, Function<Long, PostDto> loader) {
+        CompletableFuture<PostDto> loading = new CompletableFuture<>();
+        CompletableFuture<PostDto> result = cache.get(id, (key, executor) -> loading);
+        if (result != loading) {
+            return join(result);
+        }
+        try {
+            PostDto post = loader.apply(id);
+            loading.complete(post);
+            return post;
+        } catch (RuntimeException | Error e) {
+            // 异常完成的 future 会被缓存移除
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 只读缓存，不触发加载也不等待进行中的加载；未命中返回 null
+     */
+    public PostDto getIfPresent(Long id) {
+        CompletableFuture<PostDto> future = cache.getIfPresent(id);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    /**
+     * 使文章缓存失效
+     * 处于事务中时延迟到提交之后执行，避免并发读取在提交前把旧数据重新放回缓存
+     */
+    public void evict(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.synchronous().invalidate(id);
+                }
+            });
+        } else {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    /**
+     * 清空缓存（用于测试或维护）
+     */
+    public void clear() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 等待其他请求进行中的加载，加载失败时抛出原异常
+     */
+    private static PostDto join(CompletableFuture<PostDto> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
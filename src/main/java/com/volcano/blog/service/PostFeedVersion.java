@@ -0,0 +1,126 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.dto.PostFeedStats;
+import com.volcano.blog.event.PostChangedEvent;
+import com.volcano.blog.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 已发布文章列表的版本
+ * 版本由数据库中已发布文章的汇总状态（PostFeedStats）决定，各实例对同一状态生成相同的 ETag。
+ * 本实例的文章变更（事务提交后）只标记版本过期，下次读取时重新查询，批量写入只查询一次；
+ * 其他实例的写入由后台定时重新计算发现（http-cache.feed-version-refresh-interval），在此间隔内可能返回旧的 ETag。
+ */
+@Slf4j
+@Component
+public class PostFeedVersion {
+
+    private final PostRepository postRepository;
+
+    /**
+     * 加载锁，查询期间持有，使用 ReentrantLock 避免虚拟线程被固定在载体线程上
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile boolean stale = true;
+
+    private volatile State state;
+
+    public PostFeedVersion(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * 文章变更后标记版本过期
+     */
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        stale = true;
+        log.debug("Post feed version invalidated by post {}", event.postId());
+    }
+
+    /**
+     * 后台重新计算，发现其他实例的写入
+     */
+    @Scheduled(initialDelayString = "#{@appProperties.httpCache.feedVersionRefreshInterval.toMillis()}",
+            fixedDelayString = "#{@appProperties.httpCache.feedVersionRefreshInterval.toMillis()}")
+    public void refresh() {
+        loadLock.lock();
+        try {
+            load();
+        } catch (RuntimeException e) {
+            // 刷新失败时继续使用旧值
+            log.warn("Failed to refresh post feed version: {}", e.getMessage());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * 当前列表的强 ETag
+     */
+    public String getETag() {
+        return current().stats().eTag();
+    }
+
+    /**
+     * 列表最后修改时间（秒精度）：本实例发现状态变化的时间
+     * 删除和取消发布不会推进文章的最大修改时间，因此不直接使用 maxUpdatedAt
+     */
+    public Instant getLastModified() {
+        return current().lastModified();
+    }
+
+    private State current() {
+        State current = state;
+        if (current != null && !stale) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            if (state == null || stale) {
+                load();
+            }
+            return state;
+        } catch (RuntimeException e) {
+            if (state == null) {
+                throw e;
+            }
+            log.warn("Failed to reload post feed version, serving previous: {}", e.getMessage());
+            return state;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * 查询汇总状态，状态未变化时保留原来的最后修改时间
+     * 调用方持有 loadLock；查询前清除过期标记，查询期间到达的变更会使下次读取再次查询
+     */
+    private void load() {
+        stale = false;
+        PostFeedStats stats;
+        try {
+            stats = postRepository.findPublishedFeedStats();
+        } catch (RuntimeException e) {
+            stale = true;
+            throw e;
+        }
+        State previous = state;
+        if (previous != null && previous.stats().equals(stats)) {
+            return;
+        }
+        state = new State(stats, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        log.debug("Post feed version changed: {}", stats);
+    }
+
+    private record State(PostFeedStats stats, Instant lastModified) {
+    }
+}
@@ -0,0 +1,207 @@
+package com.volcano.blog.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.dto.ImportPostRequest;
+import com.volcano.blog.dto.PostImportResult;
+import com.volcano.blog.event.PostChangedEvent;
+import com.volcano.blog.exception.ResourceNotFoundException;
+import com.volcano.blog.model.Post;
+import com.volcano.blog.model.User;
+import com.volcano.blog.repository.PostBatchRepository;
+import com.volcano.blog.repository.UserRepository;
+import com.volcano.blog.util.ExcerptUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 文章批量导入服务
+ * 边解析边校验请求体（JSON 数组或 NDJSON，逐条读取，不整体加载），作者只查询一次；
+ * 校验通过的文章每 post-import.batch-size 篇用一条多行 INSERT 写入，每批一个事务，
+ * 某一批写入失败只影响该批。每篇文章在所在批次提交后发布 PostChangedEvent，缓存和搜索索引照常更新。
+ * 公开方法的耗时记录为 blog.service（tag class、method、exception）
+ */
+@Slf4j
+@Service
+@Timed(value = "blog.service", histogram = true)
+public class PostImportService {
+
+    private final UserRepository userRepository;
+    private final PostBatchRepository postBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectReader itemReader;
+    private final int batchSize;
+    private final int maxItems;
+
+    public PostImportService(UserRepository userRepository,
+                             PostBatchRepository postBatchRepository,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             AppProperties appProperties) {
+        this.userRepository = userRepository;
+        this.postBatchRepository = postBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.itemReader = objectMapper.readerFor(ImportPostRequest.class);
+        this.batchSize = appProperties.getPostImport().getBatchSize();
+        this.maxItems = appProperties.getPostImport().getMaxItems();
+    }
+
+    /**
+     * 导入文章
+     * 指定原创建时间（createdAt）用于迁移旧内容，只有管理员可以使用；普通用户指定时该条导入失败
+     *
+     * @param authorId 作者ID（当前用户）
+     * @param userRole 当前用户角色
+     * @param input    请求体：文章对象的 JSON 数组，或每行一个文章对象（NDJSON）
+     */
+    public PostImportResult importPosts(Long authorId, String userRole, InputStream input) throws IOException {
+        boolean mayBackdate = "ADMIN".equals(userRole);
+        User author = userRepository.findById(authorId)
+                .orElseThrow(() -> new ResourceNotFoundException("用户不存在"));
+
+        List<PostImportResult.Item> results = new ArrayList<>();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        String abortReason = null;
+        int index = 0;
+
+        // 根为数组时逐个读取数组元素，否则逐个读取根级对象
+        try (MappingIterator<ImportPostRequest> items = itemReader.readValues(input)) {
+            while (true) {
+                ImportPostRequest item;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    if (index >= maxItems) {
+                        abortReason = "单次最多导入 " + maxItems + " 篇文章";
+                        break;
+                    }
+                    item = items.nextValue();
+                } catch (JsonMappingException e) {
+                    // 字段类型错误等，跳过该条继续读取
+                    results.add(PostImportResult.Item.failed(index++, "格式错误: " + e.getOriginalMessage()));
+                    continue;
+                } catch (JsonParseException e) {
+                    // 语法错误后无法定位下一条，已写入的批次保留
+                    abortReason = "请求体格式错误"
+                            + (e.getLocation() != null ? "（第 " + e.getLocation().getLineNr() + " 行）" : "")
+                            + ": " + e.getOriginalMessage();
+                    break;
+                }
+
+                String error = validate(item);
+                if (error == null && item.getCreatedAt() != null && !mayBackdate) {
+                    error = "只有管理员可以指定创建时间";
+                }
+                if (error != null) {
+                    results.add(PostImportResult.Item.failed(index++, error));
+                    continue;
+                }
+                batch.add(new Pending(index++, toPost(item, author)));
+                if (batch.size() == batchSize) {
+                    flush(batch, results);
+                }
+            }
+        }
+        flush(batch, results);
+
+        results.sort(Comparator.comparingInt(PostImportResult.Item::getIndex));
+        int imported = (int) results.stream().filter(result -> result.getId() != null).count();
+        log.info("Posts imported: authorId={}, total={}, imported={}, failed={}, aborted={}",
+                authorId, results.size(), imported, results.size() - imported, abortReason);
+
+        return PostImportResult.builder()
+                .total(results.size())
+                .imported(imported)
+                .failed(results.size() - imported)
+                .abortReason(abortReason)
+                .items(results)
+                .build();
+    }
+
+    private String validate(ImportPostRequest item) {
+        if (item == null) {
+            return "文章不能为空";
+        }
+        Set<ConstraintViolation<ImportPostRequest>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * 构建待写入的文章，时间戳与摘要的计算与 Post 的 @PrePersist 一致
+     */
+    private static Post toPost(ImportPostRequest item, User author) {
+        Instant createdAt = (item.getCreatedAt() != null ? item.getCreatedAt() : Instant.now())
+                .truncatedTo(ChronoUnit.SECONDS);
+        return Post.builder()
+                .title(item.getTitle())
+                .content(item.getContent())
+                .excerpt(ExcerptUtils.fromContent(item.getContent()))
+                .published(item.isPublished())
+                .author(author)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    /**
+     * 在一个事务中写入一批文章，变更事件在提交后由监听方处理
+     */
+    private void flush(List<Pending> batch, List<PostImportResult.Item> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Post> posts = batch.stream().map(Pending::post).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                postBatchRepository.insertAll(posts);
+                posts.forEach(post -> eventPublisher.publishEvent(PostChangedEvent.created(post)));
+            });
+            for (Pending pending : batch) {
+                results.add(PostImportResult.Item.created(pending.index(), pending.post().getId()));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Post import batch failed: size={}, firstIndex={}, error={}",
+                    batch.size(), batch.get(0).index(), e.getMostSpecificCause().getMessage());
+            for (Pending pending : batch) {
+                results.add(PostImportResult.Item.failed(pending.index(), "写入失败"));
+            }
+        }
+        batch.clear();
+    }
+
+    private record Pending(int index, Post post) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.dto.CursorPageResponse;
+import com.volcano.blog.dto.PostSearchHitDto;
+import com.volcano.blog.exception.BusinessException;
+import com.volcano.blog.model.Post;
+import com.volcano.blog.repository.PostRepository;
+import com.volcano.blog.repository.PostSearchRepository;
+import com.volcano.blog.search.PostSearchIndex;
+import com.volcano.blog.util.SearchCursor;
+import com.volcano.blog.util.SearchTextUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 文章搜索服务
+ * 按相关度排序的 keyset 游标分页：先检索一页的 (id, 相关度)，再批量回表加载文章并生成高亮片段。
+ * 检索优先使用应用内倒排索引（PostSearchIndex），索引未就绪时使用数据库全文检索。
+ * 两种来源的相关度不可比较，游标记录来源：数据库检索的游标始终在数据库上翻页；
+ * 倒排索引的游标只能在同一代索引上使用，索引重建（或请求落到其他实例）后返回 CURSOR_EXPIRED，客户端从第一页重新搜索
+ */
+@Service
+@RequiredArgsConstructor
+public class PostSearchService {
+
+    static final int MAX_PAGE_SIZE = 50;
+    static final int MAX_QUERY_LENGTH = 100;
+    static final int SNIPPET_LENGTH = 160;
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostSearchRepository postSearchRepository;
+    private final PostRepository postRepository;
+
+    /**
+     * 搜索已发布文章
+     *
+     * @param query  关键词，多个关键词以空格分隔
+     * @param cursor 上一页返回的游标，为空时返回第一页
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostSearchHitDto> search(String query, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "每页大小必须在1到" + MAX_PAGE_SIZE + "之间");
+        }
+        String normalized = query == null ? "" : query.strip();
+        if (normalized.isEmpty()) {
+            throw new BusinessException("INVALID_QUERY", "搜索关键词不能为空");
+        }
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            throw new BusinessException("INVALID_QUERY", "搜索关键词不能超过" + MAX_QUERY_LENGTH + "个字符");
+        }
+        SearchCursor position = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+
+        // 多取一条用于判断是否还有下一页
+        Double afterScore = position != null ? position.getScore() : null;
+        long afterId = position != null ? position.getId() : 0L;
+        SearchCursor.Source source = position != null ? position.getSource()
+                : postSearchIndex.isReady() ? SearchCursor.Source.INDEX : SearchCursor.Source.DATABASE;
+        List<PostSearchRepository.Match> matches;
+        long generation = 0;
+        if (source == SearchCursor.Source.INDEX) {
+            PostSearchIndex.Hits result = postSearchIndex.search(normalized, afterScore, afterId, size + 1);
+            if (position != null && position.getGeneration() != result.generation()) {
+                throw new BusinessException("CURSOR_EXPIRED", "搜索结果已更新，请从第一页重新搜索");
+            }
+            matches = result.matches();
+            generation = result.generation();
+        } else {
+            matches = postSearchRepository.search(normalized, afterScore, afterId, size + 1);
+        }
+
+        boolean hasNext = matches.size() > size;
+        List<PostSearchRepository.Match> page = hasNext ? matches.subList(0, size) : matches;
+
+        Map<Long, Post> posts = page.isEmpty() ? Map.of() : postRepository
+                .findPublishedWithAuthorByIdIn(page.stream().map(PostSearchRepository.Match::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<String> terms = SearchTextUtils.terms(normalized);
+        List<PostSearchHitDto> hits = new ArrayList<>(page.size());
+        for (PostSearchRepository.Match match : page) {
+            Post post = posts.get(match.id());
+            // 检索与回表之间被删除或取消发布的文章直接跳过
+            if (post != null) {
+                hits.add(toHit(post, match.score(), terms));
+            }
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostSearchRepository.Match last = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(source, generation, last.score(), last.id()).encode();
+        }
+        return CursorPageResponse.<PostSearchHitDto>builder()
+                .content(hits)
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private static PostSearchHitDto toHit(Post post, double score, List<String> terms) {
+        return PostSearchHitDto.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .highlightedTitle(SearchTextUtils.highlight(post.getTitle(), terms))
+                .snippet(SearchTextUtils.snippet(post.getContent(), terms, SNIPPET_LENGTH))
+                .score(score)
+                .authorId(post.getAuthor().getId())
+                .authorName(post.getAuthor().getName())
+                .createdAt(post.getCreatedAt())
+                .build();
+    }
+}
@@ -1,34 +1,52 @@
 package com.volcano.blog.service;
 
 import com.volcano.blog.dto.*;
+import com.volcano.blog.event.PostChangedEvent;
 import com.volcano.blog.exception.BusinessException;
 import com.volcano.blog.exception.ResourceNotFoundException;
 import com.volcano.blog.model.Post;
 import com.volcano.blog.model.User;
 import com.volcano.blog.repository.PostRepository;
 import com.volcano.blog.repository.UserRepository;
+import com.volcano.blog.util.KeysetCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 文章服务
+ * 公开方法的耗时记录为 blog.service（tag class、method、exception）
  */
 @Slf4j
 @Service
+@Timed(value = "blog.service", histogram = true)
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    static final int MAX_PAGE_SIZE = 100;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final PostCountCache postCountCache;
+    private final PostDetailCache postDetailCache;
+    private final HotFeedCache hotFeedCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 创建文章
@@ -46,6 +64,7 @@ public class PostService {
                 .build();
 
         Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(PostChangedEvent.created(savedPost));
         log.info("Post created: id={}, title={}, authorId={}", savedPost.getId(), savedPost.getTitle(), authorId);
 
         return PostDto.fromEntity(savedPost);
@@ -53,10 +72,27 @@ public class PostService {
 
     /**
      * 获取文章详情
+     * 优先读取详情缓存；不开启外层事务，缓存命中时不占用数据库连接
      */
-    @Transactional(readOnly = true)
     public PostDto getPost(Long id) {
-        Post post = postRepository.findById(id)
+        return postDetailCache.get(id, this::loadPost);
+    }
+
+    /**
+     * 获取文章版本（用于 HTTP 条件请求）
+     * 详情已缓存时直接取缓存，否则只查询修改时间和发布状态，不加载正文
+     */
+    public PostVersion getPostVersion(Long id) {
+        PostDto cached = postDetailCache.getIfPresent(id);
+        if (cached != null) {
+            return PostVersion.of(cached);
+        }
+        return postRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("文章不存在: " + id));
+    }
+
+    private PostDto loadPost(Long id) {
+        Post post = postRepository.findWithAuthorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("文章不存在: " + id));
         return PostDto.fromEntity(post);
     }
@@ -66,28 +102,116 @@ public class PostService {
      */
     @Transactional(readOnly = true)
     public PageResponse<PostDto> getPosts(int page, int size, boolean publishedOnly) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        checkPageSize(size);
+        Pageable pageable = PageRequest.of(page, size, LATEST_FIRST);
         
         Page<Post> postPage;
         if (publishedOnly) {
-            postPage = postRepository.findByPublishedTrue(pageable);
+            postPage = postRepository.findPublishedWithAuthor(pageable);
         } else {
-            postPage = postRepository.findAll(pageable);
+            postPage = postRepository.findAllWithAuthor(pageable);
         }
 
-        List<PostDto> content = postPage.getContent().stream()
-                .map(PostDto::fromEntity)
-                .collect(Collectors.toList());
+        return PageResponse.from(postPage, PostDto::fromEntity);
+    }
 
-        return PageResponse.<PostDto>builder()
-                .content(content)
-                .page(postPage.getNumber())
-                .size(postPage.getSize())
-                .totalElements(postPage.getTotalElements())
-                .totalPages(postPage.getTotalPages())
-                .first(postPage.isFirst())
-                .last(postPage.isLast())
-                .build();
+    /**
+     * 获取文章摘要列表（分页，不加载正文）
+     * 已发布文章的前几页优先由热点缓存提供；不开启外层事务，缓存命中时不占用数据库连接
+     */
+    public PageResponse<PostSummaryDto> getPostSummaries(int page, int size, boolean publishedOnly) {
+        checkPageSize(size);
+        Pageable pageable = PageRequest.of(page, size, LATEST_FIRST);
+        if (publishedOnly) {
+            Optional<PageResponse<PostSummaryDto>> cached = getHotFeedPage(pageable, TotalCountMode.EXACT);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        Page<PostSummaryDto> summaryPage = publishedOnly
+                ? postRepository.findPublishedSummaries(pageable)
+                : postRepository.findAllSummaries(pageable);
+
+        return PageResponse.from(summaryPage, Function.identity());
+    }
+
+    /**
+     * 获取文章列表（不执行 COUNT 查询）
+     * 多取一条判断是否为最后一页；总数按 totalMode 取缓存近似值或不返回
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<PostDto> getPostSlice(int page, int size, boolean publishedOnly, TotalCountMode totalMode) {
+        checkPageSize(size);
+        Pageable pageable = PageRequest.of(page, size, LATEST_FIRST);
+
+        Slice<Post> slice = publishedOnly
+                ? postRepository.findPublishedSliceWithAuthor(pageable)
+                : postRepository.findAllSliceWithAuthor(pageable);
+
+        return PageResponse.fromSlice(slice, PostDto::fromEntity, sliceTotal(slice, publishedOnly, totalMode));
+    }
+
+    /**
+     * 获取文章摘要列表（不执行 COUNT 查询）
+     * 已发布文章的前几页优先由热点缓存提供
+     */
+    public PageResponse<PostSummaryDto> getPostSummarySlice(int page, int size, boolean publishedOnly,
+                                                            TotalCountMode totalMode) {
+        checkPageSize(size);
+        Pageable pageable = PageRequest.of(page, size, LATEST_FIRST);
+        if (publishedOnly) {
+            Optional<PageResponse<PostSummaryDto>> cached = getHotFeedPage(pageable, totalMode);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        Slice<PostSummaryDto> slice = publishedOnly
+                ? postRepository.findPublishedSummarySlice(pageable)
+                : postRepository.findAllSummarySlice(pageable);
+
+        return PageResponse.fromSlice(slice, Function.identity(), sliceTotal(slice, publishedOnly, totalMode));
+    }
+
+    /**
+     * 从热点缓存读取已发布文章摘要的一页
+     * 请求的范围超出缓存时返回空，由调用方回退到数据库查询
+     */
+    private Optional<PageResponse<PostSummaryDto>> getHotFeedPage(Pageable pageable, TotalCountMode totalMode) {
+        Optional<HotFeedCache.Snapshot> snapshot = hotFeedCache.getSnapshot();
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        int size = pageable.getPageSize();
+        Optional<List<PostSummaryDto>> rows = snapshot.get().range(pageable.getOffset(), size + 1);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        boolean hasNext = rows.get().size() > size;
+        Slice<PostSummaryDto> slice = new SliceImpl<>(
+                hasNext ? rows.get().subList(0, size) : rows.get(), pageable, hasNext);
+        long total = totalMode == TotalCountMode.NONE
+                ? sliceTotal(slice, true, totalMode)
+                : snapshot.get().publishedCount();
+        return Optional.of(PageResponse.fromSlice(slice, Function.identity(), total));
+    }
+
+    /**
+     * 计算 Slice 的总数
+     * 读到最后一页时总数可直接推算；否则 APPROX 模式使用缓存总数（不小于已知下限），NONE 模式返回未知
+     */
+    private long sliceTotal(Slice<?> slice, boolean publishedOnly, TotalCountMode totalMode) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || slice.isFirst())) {
+            return seen;
+        }
+        if (totalMode == TotalCountMode.APPROX) {
+            long lowerBound = slice.hasNext() ? seen + 1 : seen;
+            return Math.max(postCountCache.getCount(publishedOnly), lowerBound);
+        }
+        return PageResponse.UNKNOWN_TOTAL;
     }
 
     /**
@@ -95,21 +219,119 @@ public class PostService {
      */
     @Transactional(readOnly = true)
     public PageResponse<PostDto> getUserPosts(Long authorId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Post> postPage = postRepository.findByAuthorId(authorId, pageable);
+        checkPageSize(size);
+        Pageable pageable = PageRequest.of(page, size, LATEST_FIRST);
+        Page<Post> postPage = postRepository.findByAuthorIdWithAuthor(authorId, pageable);
 
-        List<PostDto> content = postPage.getContent().stream()
-                .map(PostDto::fromEntity)
+        return PageResponse.from(postPage, PostDto::fromEntity);
+    }
+
+    /**
+     * 获取文章列表（keyset 游标分页）
+     * 按 (createdAt, id) 倒序定位，深分页与第一页代价相同
+     *
+     * @param cursor 上一页返回的游标，为空时返回第一页
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostDto> getPostsByCursor(String cursor, int size, boolean publishedOnly) {
+        checkPageSize(size);
+        // 多取一条用于判断是否还有下一页
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Post> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = publishedOnly
+                    ? postRepository.findPublishedFirstPage(limit)
+                    : postRepository.findAllFirstPage(limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            posts = publishedOnly
+                    ? postRepository.findPublishedAfterCursor(position.getTimestamp(), position.getId(), limit)
+                    : postRepository.findAllAfterCursor(position.getTimestamp(), position.getId(), limit);
+        }
+        return toCursorPage(posts, size, post -> new KeysetCursor(post.getCreatedAt(), post.getId()),
+                PostDto::fromEntity);
+    }
+
+    /**
+     * 获取文章摘要列表（keyset 游标分页，不加载正文）
+     * 已发布文章的第一页优先由热点缓存提供
+     *
+     * @param cursor 上一页返回的游标，为空时返回第一页
+     */
+    public CursorPageResponse<PostSummaryDto> getPostSummariesByCursor(String cursor, int size, boolean publishedOnly) {
+        checkPageSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<PostSummaryDto> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            Optional<List<PostSummaryDto>> cached = publishedOnly
+                    ? hotFeedCache.getSnapshot().flatMap(snapshot -> snapshot.range(0, size + 1))
+                    : Optional.empty();
+            summaries = cached.orElseGet(() -> publishedOnly
+                    ? postRepository.findPublishedSummariesFirstPage(limit)
+                    : postRepository.findAllSummariesFirstPage(limit));
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            summaries = publishedOnly
+                    ? postRepository.findPublishedSummariesAfterCursor(position.getTimestamp(), position.getId(), limit)
+                    : postRepository.findAllSummariesAfterCursor(position.getTimestamp(), position.getId(), limit);
+        }
+        return toCursorPage(summaries, size, summary -> new KeysetCursor(summary.getCreatedAt(), summary.getId()),
+                Function.identity());
+    }
+
+    /**
+     * 获取用户的文章列表（keyset 游标分页）
+     *
+     * @param cursor 上一页返回的游标，为空时返回第一页
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostDto> getUserPostsByCursor(Long authorId, String cursor, int size) {
+        checkPageSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Post> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findByAuthorFirstPage(authorId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            posts = postRepository.findByAuthorAfterCursor(authorId, position.getTimestamp(), position.getId(), limit);
+        }
+        return toCursorPage(posts, size, post -> new KeysetCursor(post.getCreatedAt(), post.getId()),
+                PostDto::fromEntity);
+    }
+
+    private void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "每页大小必须在1到" + MAX_PAGE_SIZE + "之间");
+        }
+    }
+
+    /**
+     * 将多取一条的查询结果转换为游标分页响应
+     *
+     * @param rows   按 (createdAt, id) 倒序、最多 size + 1 条的查询结果
+     * @param keyOf  提取行的排序键，用于生成下一页游标
+     * @param mapper 行到响应元素的转换
+     */
+    private <E, T> CursorPageResponse<T> toCursorPage(List<E> rows, int size,
+                                                      Function<E, KeysetCursor> keyOf,
+                                                      Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            nextCursor = keyOf.apply(pageRows.get(pageRows.size() - 1)).encode();
+        }
+
+        List<T> content = pageRows.stream()
+                .map(mapper)
                 .collect(Collectors.toList());
 
-        return PageResponse.<PostDto>builder()
+        return CursorPageResponse.<T>builder()
                 .content(content)
-                .page(postPage.getNumber())
-                .size(postPage.getSize())
-                .totalElements(postPage.getTotalElements())
-                .totalPages(postPage.getTotalPages())
-                .first(postPage.isFirst())
-                .last(postPage.isLast())
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
                 .build();
     }
 
@@ -118,7 +340,7 @@ public class PostService {
      */
     @Transactional
     public PostDto updatePost(Long id, Long authorId, UpdatePostRequest request) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findWithAuthorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("文章不存在: " + id));
 
         // 检查是否是作者本人
@@ -126,6 +348,8 @@ public class PostService {
             throw new BusinessException("无权修改此文章");
         }
 
+        boolean wasPublished = post.isPublished();
+
         // 更新字段
         if (request.getTitle() != null) {
             post.setTitle(request.getTitle());
@@ -138,6 +362,8 @@ public class PostService {
         }
 
         Post updatedPost = postRepository.save(post);
+        postDetailCache.evict(id);
+        eventPublisher.publishEvent(PostChangedEvent.updated(updatedPost, wasPublished));
         log.info("Post updated: id={}, authorId={}", id, authorId);
 
         return PostDto.fromEntity(updatedPost);
@@ -157,6 +383,8 @@ public class PostService {
         }
 
         postRepository.delete(post);
+        postDetailCache.evict(id);
+        eventPublisher.publishEvent(PostChangedEvent.deleted(id, post.isPublished()));
         log.info("Post deleted: id={}, by userId={}", id, authorId);
     }
 
@@ -165,7 +393,7 @@ public class PostService {
      */
     @Transactional
     public PostDto togglePublish(Long id, Long authorId) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findWithAuthorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("文章不存在: " + id));
 
         if (!post.getAuthor().getId().equals(authorId)) {
@@ -174,6 +402,8 @@ public class PostService {
 
         post.setPublished(!post.isPublished());
         Post updatedPost = postRepository.save(post);
+        postDetailCache.evict(id);
+        eventPublisher.publishEvent(PostChangedEvent.updated(updatedPost, !updatedPost.isPublished()));
         log.info("Post publish toggled: id={}, published={}", id, updatedPost.isPublished());
 
         return PostDto.fromEntity(updatedPost);
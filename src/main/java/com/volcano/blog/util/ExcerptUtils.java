@@ -0,0 +1,56 @@
+package com.volcano.blog.util;
+
+/**
+ * 文章摘要工具类
+ * 摘要在写入文章时计算并落库，列表接口无需读取正文
+ */
+public final class ExcerptUtils {
+
+    /**
+     * 摘要最大长度（按 Unicode 码点计）
+     */
+    public static final int MAX_LENGTH = 200;
+
+    private static final String ELLIPSIS = "…";
+
+    private ExcerptUtils() {
+        // 工具类不允许实例化
+    }
+
+    /**
+     * 从正文生成摘要：合并连续空白，超出长度时截断并追加省略号
+     */
+    public static String fromContent(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder(Math.min(content.length(), MAX_LENGTH + 1));
+        int codePoints = 0;
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < content.length()) {
+            int cp = content.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (Character.isWhitespace(cp) || Character.isSpaceChar(cp)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                if (codePoints == MAX_LENGTH) {
+                    return sb.append(ELLIPSIS).toString();
+                }
+                sb.append(' ');
+                codePoints++;
+                pendingSpace = false;
+            }
+            if (codePoints == MAX_LENGTH) {
+                return sb.append(ELLIPSIS).toString();
+            }
+            sb.appendCodePoint(cp);
+            codePoints++;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.volcano.blog.util;
+
+import com.volcano.blog.exception.BusinessException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset（seek）分页游标
+ * 由排序键 (时间戳, id) 组成，编码为 URL 安全的 Base64 字符串，对客户端不透明
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final Instant timestamp;
+    private final long id;
+
+    public KeysetCursor(Instant timestamp, long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    /**
+     * 编码为不透明字符串
+     */
+    public String encode() {
+        String raw = timestamp.getEpochSecond() + ":" + timestamp.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 解析客户端传入的游标
+     *
+     * @throws BusinessException 游标格式不正确时
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first <= 0 || second <= first + 1 || second == raw.length() - 1) {
+                throw new IllegalArgumentException("Unexpected cursor layout");
+            }
+
+            long seconds = Long.parseLong(raw, 0, first, 10);
+            int nanos = Integer.parseInt(raw, first + 1, second, 10);
+            long id = Long.parseLong(raw, second + 1, raw.length(), 10);
+            return new KeysetCursor(Instant.ofEpochSecond(seconds, nanos), id);
+        } catch (RuntimeException e) {
+            throw new BusinessException("INVALID_CURSOR", "无效的分页游标");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.volcano.blog.util;
+
+import com.volcano.blog.exception.BusinessException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 搜索结果分页游标
+ * 由排序键 (相关度, id) 和产生相关度的检索来源组成，编码为 URL 安全的 Base64 字符串，对客户端不透明。
+ * 相关度以 double 的完整精度编码，解码后与数据库计算值可精确比较；
+ * 不同来源（以及倒排索引的不同代）计算的相关度不可比较，调用方据此选择检索来源或拒绝游标
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class SearchCursor {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * 相关度的来源
+     */
+    public enum Source {
+        /**
+         * 数据库全文检索
+         */
+        DATABASE('D'),
+        /**
+         * 应用内倒排索引（BM25）
+         */
+        INDEX('I');
+
+        private final char code;
+
+        Source(char code) {
+            this.code = code;
+        }
+
+        static Source of(char code) {
+            for (Source source : values()) {
+                if (source.code == code) {
+                    return source;
+                }
+            }
+            throw new IllegalArgumentException("Unknown source: " + code);
+        }
+    }
+
+    private final Source source;
+    private final long generation;
+    private final double score;
+    private final long id;
+
+    /**
+     * @param source     检索来源
+     * @param generation 倒排索引的代，数据库检索为 0
+     */
+    public SearchCursor(Source source, long generation, double score, long id) {
+        this.source = source;
+        this.generation = generation;
+        this.score = score;
+        this.id = id;
+    }
+
+    /**
+     * 编码为不透明字符串
+     */
+    public String encode() {
+        String raw = String.valueOf(source.code) + SEPARATOR + Long.toHexString(generation) + SEPARATOR
+                + Long.toHexString(Double.doubleToLongBits(score)) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 解析客户端传入的游标
+     *
+     * @throws BusinessException 游标格式不正确时
+     */
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != 4 || parts[0].length() != 1) {
+                throw new IllegalArgumentException("Unexpected cursor layout");
+            }
+
+            Source source = Source.of(parts[0].charAt(0));
+            long generation = Long.parseUnsignedLong(parts[1], 16);
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(parts[2], 16));
+            long id = Long.parseLong(parts[3]);
+            if (Double.isNaN(score)) {
+                throw new IllegalArgumentException("Invalid score");
+            }
+            return new SearchCursor(source, generation, score, id);
+        } catch (RuntimeException e) {
+            throw new BusinessException("INVALID_CURSOR", "无效的分页游标");
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.volcano.blog.util;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 搜索文本工具类
+ * 拆分查询关键词、生成命中片段并高亮（大小写不敏感）。
+ * 高亮结果已做 HTML 转义，命中部分包裹在 &lt;mark&gt; 中，前端可直接渲染
+ */
+public final class SearchTextUtils {
+
+    /**
+     * 最多使用的关键词数量
+     */
+    public static final int MAX_TERMS = 10;
+
+    private static final String ELLIPSIS = "…";
+    private static final String MARK_OPEN = "<mark>";
+    private static final String MARK_CLOSE = "</mark>";
+
+    private SearchTextUtils() {
+        // 工具类不允许实例化
+    }
+
+    /**
+     * 按空白拆分查询，转为小写并去重
+     */
+    public static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        int i = 0;
+        int length = query.length();
+        while (i < length && terms.size() < MAX_TERMS) {
+            while (i < length && Character.isWhitespace(query.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(query.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                String term = query.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!terms.contains(term)) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 统计关键词在文本中出现的次数
+     */
+    public static int count(String text, String term) {
+        if (text == null || term.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        int i = 0;
+        while (i <= text.length() - term.length()) {
+            if (text.regionMatches(true, i, term, 0, term.length())) {
+                count++;
+                i += term.length();
+            } else {
+                i++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 截取第一个命中位置附近最多 maxLength 个字符并高亮，没有命中时从开头截取
+     */
+    public static String snippet(String text, List<String> terms, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = collapseWhitespace(text);
+        int hit = firstHit(normalized, terms);
+        int start = hit < 0 ? 0 : Math.max(0, hit - maxLength / 4);
+        int end = Math.min(normalized.length(), start + maxLength);
+        if (end - start < maxLength) {
+            start = Math.max(0, end - maxLength);
+        }
+        // 不拆分代理对
+        if (start > 0 && Character.isLowSurrogate(normalized.charAt(start))) {
+            start++;
+        }
+        if (end < normalized.length() && Character.isHighSurrogate(normalized.charAt(end - 1))) {
+            end--;
+        }
+
+        StringBuilder sb = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            sb.append(ELLIPSIS);
+        }
+        appendHighlighted(sb, normalized.substring(start, end), terms);
+        if (end < normalized.length()) {
+            sb.append(ELLIPSIS);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 高亮全文中的所有命中
+     */
+    public static String highlight(String text, List<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(text.length() + 32);
+        appendHighlighted(sb, text, terms);
+        return sb.toString();
+    }
+
+    private static void appendHighlighted(StringBuilder sb, String text, List<String> terms) {
+        int plainStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            int matched = longestMatch(text, i, terms);
+            if (matched > 0) {
+                sb.append(HtmlUtils.htmlEscape(text.substring(plainStart, i)))
+                        .append(MARK_OPEN)
+                        .append(HtmlUtils.htmlEscape(text.substring(i, i + matched)))
+                        .append(MARK_CLOSE);
+                i += matched;
+                plainStart = i;
+            } else {
+                i++;
+            }
+        }
+        sb.append(HtmlUtils.htmlEscape(text.substring(plainStart)));
+    }
+
+    private static int longestMatch(String text, int offset, List<String> terms) {
+        int longest = 0;
+        for (String term : terms) {
+            if (term.length() > longest && text.regionMatches(true, offset, term, 0, term.length())) {
+                longest = term.length();
+            }
+        }
+        return longest;
+    }
+
+    private static int firstHit(String text, List<String> terms) {
+        for (int i = 0; i < text.length(); i++) {
+            if (longestMatch(text, i, terms) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String collapseWhitespace(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,12 @@
+-- V3__Add_post_keyset_indexes.sql
+-- 为文章列表的 keyset（游标）分页添加复合索引
+-- 排序键 (created_at, id) 紧跟过滤列，使 "WHERE ... AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC LIMIT n"
+-- 只需在索引上定位后顺序读取 n 行，与页码无关
+
+CREATE INDEX `idx_post_published_created_id` ON `post` (`published`, `created_at`, `id`);
+CREATE INDEX `idx_post_author_created_id` ON `post` (`author_id`, `created_at`, `id`);
+
+-- 以下单列索引已是新复合索引的最左前缀，删除以减少写入开销
+-- （外键 fk_post_author 可由 idx_post_author_created_id 支撑）
+DROP INDEX `idx_post_published` ON `post`;
+DROP INDEX `idx_post_author` ON `post`;
@@ -0,0 +1,13 @@
+-- V4__Add_post_excerpt.sql
+-- 文章摘要列：写入时由应用计算（ExcerptUtils），列表接口只读取摘要而不加载 content 大字段
+
+ALTER TABLE `post` ADD COLUMN `excerpt` VARCHAR(255) NULL AFTER `content`;
+
+-- 回填历史数据：合并空白并截取前 200 个字符
+UPDATE `post`
+SET `excerpt` = CASE
+    WHEN CHAR_LENGTH(TRIM(REGEXP_REPLACE(`content`, '[[:space:]]+', ' '))) > 200
+        THEN CONCAT(LEFT(TRIM(REGEXP_REPLACE(`content`, '[[:space:]]+', ' ')), 200), '…')
+    ELSE TRIM(REGEXP_REPLACE(`content`, '[[:space:]]+', ' '))
+END
+WHERE `content` IS NOT NULL;
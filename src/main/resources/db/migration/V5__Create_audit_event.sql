@@ -0,0 +1,31 @@
+-- V5__Create_audit_event.sql
+-- 审计事件表：由后台线程批量写入，按 created_at 月度 RANGE 分区，
+-- 过期分区由 AuditRetentionJob 直接 DROP（不产生大量 DELETE），新分区也由该任务提前创建。
+-- 分区键必须包含在每个唯一键中，因此主键为 (id, created_at)；分区边界使用 UTC 的 Unix 秒数。
+
+CREATE TABLE IF NOT EXISTS `audit_event` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `created_at` TIMESTAMP(3) NOT NULL,
+    `user_id` BIGINT NULL,
+    `action` VARCHAR(20) NOT NULL,
+    `description` VARCHAR(100),
+    `method` VARCHAR(200),
+    `ip` VARCHAR(64),
+    `uri` VARCHAR(255),
+    `http_method` VARCHAR(10),
+    `user_agent` VARCHAR(255),
+    `success` BOOLEAN NOT NULL,
+    `error` VARCHAR(500),
+    `params` TEXT,
+    `duration_ms` BIGINT NOT NULL,
+    PRIMARY KEY (`id`, `created_at`),
+    -- keyset 分页：过滤列 + 排序键 (created_at, id)
+    KEY `idx_audit_created_id` (`created_at`, `id`),
+    KEY `idx_audit_user_created_id` (`user_id`, `created_at`, `id`),
+    KEY `idx_audit_action_created_id` (`action`, `created_at`, `id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY RANGE (UNIX_TIMESTAMP(`created_at`)) (
+    -- 2026-11-01 00:00:00 UTC 之前
+    PARTITION `p202610` VALUES LESS THAN (1793491200),
+    PARTITION `p_future` VALUES LESS THAN MAXVALUE
+);
@@ -0,0 +1,12 @@
+-- V6__Create_rate_limit_bucket.sql
+-- 分布式限流令牌桶（ratelimit.backend=jdbc 时使用，Bucket4j MySQL proxy manager）
+-- id 为 "策略名 + 客户端" 的 64 位哈希，state 为 Bucket4j 序列化的桶状态；
+-- updated_at 由数据库维护，用于清理长期未使用的桶
+
+CREATE TABLE IF NOT EXISTS `rate_limit_bucket` (
+    `id` BIGINT NOT NULL,
+    `state` BLOB,
+    `updated_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    KEY `idx_rate_limit_bucket_updated` (`updated_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
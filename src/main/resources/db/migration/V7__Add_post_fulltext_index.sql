@@ -0,0 +1,7 @@
+-- V7__Add_post_fulltext_index.sql
+-- 文章全文检索（GET /api/posts/search）
+-- 使用 ngram 解析器（默认 ngram_token_size=2），中文无需分词即可检索；
+-- 标题单独建索引，用于相关度计算时提高标题命中的权重
+
+ALTER TABLE `post` ADD FULLTEXT INDEX `ft_post_title_content` (`title`, `content`) WITH PARSER ngram;
+ALTER TABLE `post` ADD FULLTEXT INDEX `ft_post_title` (`title`) WITH PARSER ngram;
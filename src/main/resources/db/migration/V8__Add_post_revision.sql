@@ -0,0 +1,5 @@
+-- V8__Add_post_revision.sql
+-- 文章修订号：每次修改加一，用于生成文章详情的 ETag
+-- updated_at 只有秒精度，同一秒内的两次修改无法据此区分
+
+ALTER TABLE `post` ADD COLUMN `revision` BIGINT NOT NULL DEFAULT 0 AFTER `published`;
@@ -0,0 +1,91 @@
+package com.volcano.blog.aspect;
+
+import com.volcano.blog.annotation.RateLimit;
+import com.volcano.blog.exception.GlobalExceptionHandler;
+import com.volcano.blog.exception.RateLimitExceededException;
+import com.volcano.blog.ratelimit.LocalBucketBackend;
+import com.volcano.blog.ratelimit.RateLimitFilter;
+import com.volcano.blog.ratelimit.RateLimitPolicy;
+import com.volcano.blog.ratelimit.RateLimitPolicyRegistry;
+import com.volcano.blog.security.ClientIpResolver;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.Mockito.*;
+
+/**
+ * RateLimitAspect 单元测试
+ */
+@DisplayName("限流切面测试")
+class RateLimitAspectTest {
+
+    private RateLimitAspect aspect;
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        Method method = RateLimitAspectTest.class.getDeclaredMethod("limited");
+        RateLimitPolicy policy = new RateLimitPolicy("limited", List.of(RateLimitPolicy.Limit.perWindow(1, Duration.ofMinutes(1))),
+                "too fast", Duration.ofMinutes(10), 1000, new LocalBucketBackend());
+        RateLimitPolicyRegistry registry = mock(RateLimitPolicyRegistry.class);
+        when(registry.getPolicy(method)).thenReturn(policy);
+        aspect = new RateLimitAspect(registry, new ClientIpResolver(List.of()));
+
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenReturn("ok");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/internal");
+        request.setRemoteAddr("1.1.1.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @RateLimit
+    void limited() {
+    }
+
+    @Test
+    @DisplayName("路由表之外的方法超限时应与过滤器一样返回 429 和 Retry-After")
+    void around_ExceedingLimit_ShouldRespond429WithRetryAfter() throws Throwable {
+        RateLimit rateLimit = RateLimitAspectTest.class.getDeclaredMethod("limited").getAnnotation(RateLimit.class);
+        assertThat(aspect.around(joinPoint, rateLimit)).isEqualTo("ok");
+
+        RateLimitExceededException ex = catchThrowableOfType(() -> aspect.around(joinPoint, rateLimit),
+                RateLimitExceededException.class);
+
+        assertThat(ex).hasMessage("too fast");
+        assertThat(ex.getRetryAfterSeconds()).isBetween(1L, 60L);
+        verify(joinPoint, times(1)).proceed();
+
+        ResponseEntity<Map<String, Object>> response = new GlobalExceptionHandler().handleRateLimitExceededException(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))
+                .isEqualTo(Long.toString(ex.getRetryAfterSeconds()));
+        assertThat(response.getHeaders().getFirst(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(response.getBody()).containsEntry("error", "RATE_LIMIT_EXCEEDED");
+    }
+}
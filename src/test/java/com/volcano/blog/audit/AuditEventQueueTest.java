@@ -0,0 +1,179 @@
+package com.volcano.blog.audit;
+
+import com.volcano.blog.annotation.AuditLog.AuditAction;
+import com.volcano.blog.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AuditEventQueue 单元测试
+ */
+@DisplayName("审计事件队列测试")
+class AuditEventQueueTest {
+
+    private AppProperties appProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private RecordingSink sink;
+    private AuditEventQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getAudit().setFlushInterval(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+        sink = new RecordingSink();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sink.release.countDown();
+        if (queue != null) {
+            queue.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("事件应按批次写出，每批不超过 batch-size")
+    void shouldWriteEventsInBatches() throws Exception {
+        appProperties.getAudit().setBatchSize(3);
+        sink.release.countDown();
+        queue = newQueue();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.offer(event("m" + i))).isTrue();
+        }
+        queue.destroy();
+
+        assertThat(sink.batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(3));
+        assertThat(sink.batches.stream().flatMap(List::stream).map(AuditEvent::method))
+                .containsExactly("m0", "m1", "m2", "m3", "m4", "m5", "m6", "m7", "m8", "m9");
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("DROP 策略下队列满时应丢弃并计数")
+    void drop_WhenQueueIsFull_ShouldDropEvent() throws Exception {
+        appProperties.getAudit().setQueueCapacity(2);
+        appProperties.getAudit().setBatchSize(1);
+        queue = newQueue();
+        occupyWriter();
+
+        assertThat(queue.offer(event("a"))).isTrue();
+        assertThat(queue.offer(event("b"))).isTrue();
+        assertThat(queue.offer(event("c"))).isFalse();
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("audit.queue.size").gauge().value()).isEqualTo(2.0);
+        assertThat(dropped("queue_full")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("BLOCK 策略下等待超过 max-block 后应丢弃")
+    void block_WhenQueueStaysFull_ShouldTimeOut() throws Exception {
+        appProperties.getAudit().setQueueCapacity(1);
+        appProperties.getAudit().setBatchSize(1);
+        appProperties.getAudit().setOverflow(AppProperties.Audit.Overflow.BLOCK);
+        appProperties.getAudit().setMaxBlock(Duration.ofMillis(20));
+        queue = newQueue();
+        occupyWriter();
+
+        assertThat(queue.offer(event("a"))).isTrue();
+        long start = System.nanoTime();
+        assertThat(queue.offer(event("b"))).isFalse();
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(dropped("block_timeout")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("SAMPLE 策略下超过阈值后应按比例保留")
+    void sample_AboveThreshold_ShouldKeepOneInN() throws Exception {
+        appProperties.getAudit().setOverflow(AppProperties.Audit.Overflow.SAMPLE);
+        appProperties.getAudit().setSampleThreshold(0.0);
+        appProperties.getAudit().setSampleRate(2);
+        sink.release.countDown();
+        queue = newQueue();
+
+        int accepted = 0;
+        for (int i = 0; i < 4; i++) {
+            if (queue.offer(event("m" + i))) {
+                accepted++;
+            }
+        }
+
+        assertThat(accepted).isEqualTo(2);
+        assertThat(dropped("sampled")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("sink 抛出异常时应计为写入失败并继续处理后续批次")
+    void sinkFailure_ShouldBeCountedAndNotStopWriter() throws Exception {
+        appProperties.getAudit().setBatchSize(1);
+        sink.release.countDown();
+        sink.failNext = true;
+        queue = newQueue();
+
+        queue.offer(event("a"));
+        queue.offer(event("b"));
+        queue.destroy();
+
+        assertThat(dropped("write_error")).isEqualTo(1.0);
+        assertThat(sink.batches.stream().flatMap(List::stream).map(AuditEvent::method)).containsExactly("b");
+    }
+
+    private AuditEventQueue newQueue() {
+        return new AuditEventQueue(List.of(sink), appProperties, meterRegistry);
+    }
+
+    /**
+     * 让写入线程阻塞在 sink 中，之后提交的事件都留在队列里
+     */
+    private void occupyWriter() throws InterruptedException {
+        queue.offer(event("blocker"));
+        assertThat(sink.entered.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("audit.events.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static AuditEvent event(String method) {
+        return AuditEvent.started(Instant.now(), AuditAction.OTHER, "test", method, null, null, null, null, null, null)
+                .completed(null, null, 1L);
+    }
+
+    private static class RecordingSink implements AuditSink {
+        final List<List<AuditEvent>> batches = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean failNext;
+
+        @Override
+        public void write(List<AuditEvent> batch) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("sink unavailable");
+            }
+            batches.add(new ArrayList<>(batch));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.volcano.blog.audit;
+
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.repository.AuditEventRepository;
+import com.volcano.blog.repository.AuditEventRepository.Partition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AuditRetentionJob 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("审计事件保留任务测试")
+class AuditRetentionJobTest {
+
+    // 2026-11-01 / 2026-12-01 / 2027-01-01 00:00:00 UTC
+    private static final long NOV_2026 = 1793491200L;
+    private static final long DEC_2026 = 1796083200L;
+    private static final long JAN_2027 = 1798761600L;
+
+    @Mock
+    private AuditEventRepository auditEventRepository;
+
+    private AuditRetentionJob job;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAudit().getStore().setRetention(Duration.ofDays(30));
+        job = new AuditRetentionJob(auditEventRepository, appProperties);
+    }
+
+    @Test
+    @DisplayName("应创建到下个月为止的分区并删除过期分区")
+    void maintain_WithPartitions_ShouldRollPartitions() {
+        when(auditEventRepository.findPartitions()).thenReturn(List.of(
+                new Partition("p202610", NOV_2026),
+                new Partition(AuditEventRepository.FUTURE_PARTITION, null)));
+
+        // 2026-12-15：10 月分区已超过 30 天保留期，需要 11 月和 12 月的分区
+        job.maintain(Instant.parse("2026-12-15T00:00:00Z"));
+
+        verify(auditEventRepository).addPartition("p202611", DEC_2026);
+        verify(auditEventRepository).addPartition("p202612", JAN_2027);
+        verify(auditEventRepository).addPartition("p202701", 1801440000L);
+        verify(auditEventRepository).dropPartition("p202610");
+        verify(auditEventRepository, never()).deleteCreatedBefore(any());
+    }
+
+    @Test
+    @DisplayName("未分区时应按时间删除")
+    void maintain_WithoutPartitions_ShouldDeleteRows() {
+        when(auditEventRepository.findPartitions()).thenReturn(List.of());
+        Instant now = Instant.parse("2026-12-15T00:00:00Z");
+
+        job.maintain(now);
+
+        verify(auditEventRepository).deleteCreatedBefore(now.minus(Duration.ofDays(30)));
+        verify(auditEventRepository, never()).addPartition(anyString(), anyLong());
+    }
+}
@@ -0,0 +1,105 @@
+package com.volcano.blog.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volcano.blog.dto.LoginRequest;
+import com.volcano.blog.dto.RegisterRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MaskingJsonWriter 单元测试
+ */
+@DisplayName("流式脱敏序列化测试")
+class MaskingJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MaskingJsonWriter writer = new MaskingJsonWriter(objectMapper, 200);
+
+    @Test
+    @DisplayName("不含敏感字段时输出应与 ObjectMapper 一致")
+    void write_WithoutSensitiveFields_ShouldMatchObjectMapper() throws Exception {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("title", "Hello \"world\"");
+        value.put("tags", List.of("a", "b"));
+        value.put("count", 3);
+        value.put("published", true);
+        value.put("missing", null);
+
+        assertThat(writer.write(value)).isEqualTo(objectMapper.writeValueAsString(value));
+    }
+
+    @Test
+    @DisplayName("应掩码 Bean 中的密码字段")
+    void write_WithBean_ShouldMaskPassword() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("user@example.com");
+        request.setPassword("Secret123");
+
+        String json = writer.write(List.of(request));
+
+        assertThat(json).contains("\"email\":\"user@example.com\"")
+                .contains("\"password\":\"***\"")
+                .doesNotContain("Secret123");
+    }
+
+    @Test
+    @DisplayName("应掩码注册请求中的确认密码")
+    void write_WithRegisterRequest_ShouldMaskConfirmPassword() throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("user@example.com");
+        request.setPassword("Secret123");
+        request.setConfirmPassword("Secret123");
+
+        String json = writer.write(request);
+
+        assertThat(json).contains("\"password\":\"***\"")
+                .contains("\"confirmPassword\":\"***\"")
+                .doesNotContain("Secret123");
+    }
+
+    @Test
+    @DisplayName("名称包含敏感词的字段在嵌套对象和数组中也应掩码")
+    void write_WithCompoundNamesInNestedValues_ShouldMask() throws Exception {
+        Map<String, Object> credentials = new LinkedHashMap<>();
+        credentials.put("accessToken", "a1");
+        credentials.put("refresh_token", "r1");
+        credentials.put("clientSecret", Map.of("value", "c1"));
+        credentials.put("apiCredential", List.of("k1"));
+        credentials.put("user", "kept");
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("items", List.of(credentials, Map.of("NEW_PASSWORD", "p1")));
+
+        assertThat(writer.write(value)).isEqualTo("{\"items\":[{\"accessToken\":\"***\",\"refresh_token\":\"***\","
+                + "\"clientSecret\":\"***\",\"apiCredential\":\"***\",\"user\":\"kept\"},{\"NEW_PASSWORD\":\"***\"}]}");
+    }
+
+    @Test
+    @DisplayName("敏感字段为对象或数组时应整体掩码，字段名不区分大小写")
+    void write_WithStructuredSensitiveValue_ShouldMaskWholeValue() throws Exception {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("Token", Map.of("access", "abc", "nested", List.of(1, 2)));
+        value.put("secret", List.of("x", Map.of("password", "y")));
+        value.put("after", "kept");
+
+        assertThat(writer.write(value))
+                .isEqualTo("{\"Token\":\"***\",\"secret\":\"***\",\"after\":\"kept\"}");
+    }
+
+    @Test
+    @DisplayName("超过字符预算时应停止写出并标记截断")
+    void write_OverBudget_ShouldTruncate() throws Exception {
+        List<String> value = List.of("x".repeat(150), "y".repeat(150), "z".repeat(150));
+
+        String json = writer.write(value);
+
+        assertThat(json).endsWith(MaskingJsonWriter.TRUNCATED_SUFFIX)
+                .hasSize(200 + MaskingJsonWriter.TRUNCATED_SUFFIX.length())
+                .startsWith("[\"" + "x".repeat(150));
+    }
+}
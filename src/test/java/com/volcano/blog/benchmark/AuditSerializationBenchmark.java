@@ -0,0 +1,125 @@
+package com.volcano.blog.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.volcano.blog.annotation.AuditLog.AuditAction;
+import com.volcano.blog.audit.AuditEvent;
+import com.volcano.blog.audit.AuditEventFormatter;
+import com.volcano.blog.audit.MaskingJsonWriter;
+import com.volcano.blog.dto.LoginRequest;
+import com.volcano.blog.dto.PostDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 审计序列化基准：先生成完整 JSON 再正则脱敏/截断（原实现） vs {@link MaskingJsonWriter} 流式脱敏，
+ * 以及 AuditLogAspect 采集的事件经 {@link AuditEventFormatter} 格式化为日志行的完整路径
+ * 运行：mvn test -Pbenchmark -Djmh.include=AuditSerializationBenchmark，或直接执行 main
+ * （使用 GC profiler 输出每次操作的分配字节数 gc.alloc.rate.norm）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditSerializationBenchmark {
+
+    private static final int MAX_RESULT_LENGTH = 1000;
+
+    private ObjectMapper objectMapper;
+    private MaskingJsonWriter paramsWriter;
+    private MaskingJsonWriter resultWriter;
+    private AuditEventFormatter formatter;
+
+    private List<Object> loginParams;
+    private Object largeResult;
+    private AuditEvent loginEvent;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        paramsWriter = new MaskingJsonWriter(objectMapper, 4000);
+        resultWriter = new MaskingJsonWriter(objectMapper, MAX_RESULT_LENGTH);
+
+        LoginRequest login = new LoginRequest();
+        login.setEmail("user@example.com");
+        login.setPassword("Password123");
+        loginParams = List.of(login);
+
+        // 约 20KB 的返回结果，只需要前 1000 个字符
+        largeResult = PostDto.builder()
+                .id(42L)
+                .title("Benchmark post")
+                .content("火山博客正文 lorem ipsum dolor sit amet ".repeat(500))
+                .published(true)
+                .authorId(1L)
+                .authorName("Author")
+                .createdAt(Instant.parse("2026-10-01T00:00:00Z"))
+                .updatedAt(Instant.parse("2026-10-01T00:00:00Z"))
+                .build();
+
+        formatter = new AuditEventFormatter(objectMapper);
+        loginEvent = AuditEvent.started(Instant.parse("2026-10-01T00:00:00Z"), AuditAction.LOGIN, "用户登录",
+                        "AuthController.login(..)", null, "203.0.113.77", "/api/auth/login", "POST",
+                        "Mozilla/5.0 (X11; Linux x86_64)", loginParams)
+                .completed(largeResult, null, 12L);
+    }
+
+    @Benchmark
+    public String paramsRegexMasking() throws Exception {
+        String params = objectMapper.writeValueAsString(loginParams.toArray());
+        params = params.replaceAll("\"password\"\\s*:\\s*\"[^\"]*\"", "\"password\":\"***\"");
+        params = params.replaceAll("\"token\"\\s*:\\s*\"[^\"]*\"", "\"token\":\"***\"");
+        params = params.replaceAll("\"secret\"\\s*:\\s*\"[^\"]*\"", "\"secret\":\"***\"");
+        return params;
+    }
+
+    @Benchmark
+    public String paramsStreamingMasking() throws Exception {
+        return paramsWriter.write(loginParams);
+    }
+
+    @Benchmark
+    public String resultSerializeThenTruncate() throws Exception {
+        String resultStr = objectMapper.writeValueAsString(largeResult);
+        if (resultStr.length() > MAX_RESULT_LENGTH) {
+            resultStr = resultStr.substring(0, MAX_RESULT_LENGTH) + "...[truncated]";
+        }
+        return resultStr;
+    }
+
+    @Benchmark
+    public String resultStreamingBudget() throws Exception {
+        return resultWriter.write(largeResult);
+    }
+
+    @Benchmark
+    public String auditEventToJson() throws Exception {
+        return formatter.toJson(loginEvent);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(AuditSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.volcano.blog.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 对比两次 JMH 运行结果（-rf json 输出）
+ * 按 (基准方法, 参数, 模式) 匹配，打印主指标的变化；吞吐量模式越大越好，其余模式越小越好。
+ * 任意一项变差超过阈值且超出两次结果误差之和时以状态码 1 退出。
+ * 基线文件不存在时以状态码 2 退出，避免没有基线的门禁静默通过（先用 -Djmh.resultFile=benchmarks/baseline.json
+ * 在基准机器上生成并提交）；基线与本次结果是同一文件时视为更新基线，不做对比
+ * <p>
+ * 用法：BenchmarkComparison &lt;baseline.json&gt; &lt;current.json&gt; [阈值，默认 0.10]
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold]");
+            System.exit(2);
+        }
+        Path baselineFile = Path.of(args[0]);
+        Path currentFile = Path.of(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+
+        if (!Files.isRegularFile(baselineFile)) {
+            System.err.println("No benchmark baseline at " + baselineFile + ". Record one on the benchmark machine "
+                    + "with -Djmh.resultFile=" + baselineFile + " and commit it");
+            System.exit(2);
+        }
+        if (!Files.isRegularFile(currentFile)) {
+            System.err.println("Benchmark results not found: " + currentFile);
+            System.exit(2);
+        }
+        if (Files.isSameFile(baselineFile, currentFile)) {
+            System.out.println("Benchmark baseline recorded at " + baselineFile);
+            return;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Result> baseline = read(objectMapper, baselineFile);
+        Map<String, Result> current = read(objectMapper, currentFile);
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.score(), "new", now.unit());
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score();
+            // 吞吐量下降或耗时上升为变差
+            double worse = now.higherIsBetter() ? -change : change;
+            boolean beyondError = Math.abs(now.score() - before.score()) > now.error() + before.error();
+            boolean regressed = worse > threshold && beyondError;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.score(), now.score(),
+                    change * 100, now.unit(), regressed ? "  REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-80s %14.3f %14s %9s%n", key, baseline.get(key).score(), "-", "missing");
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(ObjectMapper objectMapper, Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : objectMapper.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                key.append(' ');
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    key.append(field.getKey()).append('=').append(field.getValue().asText());
+                    if (fields.hasNext()) {
+                        key.append(',');
+                    }
+                }
+            }
+            String mode = run.path("mode").asText();
+            key.append(" [").append(mode).append(']');
+
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            results.put(key.toString(), new Result(metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText(), "thrpt".equals(mode)));
+        }
+        return results;
+    }
+
+    private record Result(double score, double error, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.volcano.blog.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 基准测试的日志设置
+ * 基准在 JMH 派生的 JVM 中运行，没有 Spring Boot 的日志配置，Logback 默认输出 DEBUG 日志，
+ * 被测代码中的 debug/warn 日志会淹没结果并影响测量，在 @Setup 中调用 quiet 只保留 ERROR
+ */
+final class BenchmarkLogging {
+
+    private BenchmarkLogging() {
+    }
+
+    static void quiet() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.ERROR);
+    }
+}
@@ -0,0 +1,68 @@
+package com.volcano.blog.benchmark;
+
+import com.volcano.blog.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 签发与校验基准（每个需要认证的请求都会解析一次令牌，登录时签发）
+ * 运行：mvn test -Pbenchmark -Djmh.include=JwtTokenProviderBenchmark，或直接执行 main
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdGVzdGluZy1taW5pbXVtLTMyLWNoYXJz";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        jwtTokenProvider = new JwtTokenProvider(604800000L, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret", SECRET);
+        jwtTokenProvider.init();
+        token = jwtTokenProvider.createToken(42L, "user@example.com", "USER");
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtTokenProvider.createToken(42L, "user@example.com", "USER");
+    }
+
+    @Benchmark
+    public Jws<Claims> parseToken() {
+        return jwtTokenProvider.parseToken(token);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
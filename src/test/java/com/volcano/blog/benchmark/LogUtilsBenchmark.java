@@ -0,0 +1,69 @@
+package com.volcano.blog.benchmark;
+
+import com.volcano.blog.util.LogUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志脱敏基准（登录、审计等日志在请求线程上调用）
+ * 输入放在 State 字段中，避免被当作常量折叠
+ * 运行：mvn test -Pbenchmark -Djmh.include=LogUtilsBenchmark，或直接执行 main
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogUtilsBenchmark {
+
+    private String email = "someone.long.name@example.com";
+    private String ipv4 = "203.0.113.77";
+    private String ipv6 = "2001:db8:85a3::8a2e:370:7334";
+    private String secret = "Bearer eyJhbGciOiJIUzI1NiJ9.payload.signature";
+    private Long userId = 1234567L;
+
+    @Benchmark
+    public String maskEmail() {
+        return LogUtils.maskEmail(email);
+    }
+
+    @Benchmark
+    public String maskIpv4() {
+        return LogUtils.maskIp(ipv4);
+    }
+
+    @Benchmark
+    public String maskIpv6() {
+        return LogUtils.maskIp(ipv6);
+    }
+
+    @Benchmark
+    public String maskString() {
+        return LogUtils.maskString(secret);
+    }
+
+    @Benchmark
+    public String maskUserId() {
+        return LogUtils.maskUserId(userId);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(LogUtilsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
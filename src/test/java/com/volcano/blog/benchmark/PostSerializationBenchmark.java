@@ -0,0 +1,103 @@
+package com.volcano.blog.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.volcano.blog.dto.PageResponse;
+import com.volcano.blog.dto.PostDto;
+import com.volcano.blog.model.Post;
+import com.volcano.blog.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章列表响应基准：实体转 PostDto（PageResponse.from）+ Jackson 序列化一页 20 篇文章
+ * ObjectMapper 的配置与 Spring Boot 自动配置一致（JavaTimeModule，日期输出为 ISO-8601 字符串）
+ * 运行：mvn test -Pbenchmark -Djmh.include=PostSerializationBenchmark，或直接执行 main
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private Page<Post> page;
+    private PageResponse<PostDto> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        User author = User.builder()
+                .id(1L)
+                .email("author@example.com")
+                .name("Author")
+                .role("USER")
+                .build();
+        Instant createdAt = Instant.parse("2026-10-01T00:00:00Z");
+        List<Post> posts = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            posts.add(Post.builder()
+                    .id((long) (1000 - i))
+                    .title("火山博客性能优化笔记 #" + i)
+                    .content("火山博客正文 lorem ipsum dolor sit amet ".repeat(50))
+                    .published(true)
+                    .author(author)
+                    .createdAt(createdAt.minusSeconds(i * 60L))
+                    .updatedAt(createdAt.minusSeconds(i * 60L))
+                    .build());
+        }
+        page = new PageImpl<>(posts, PageRequest.of(0, PAGE_SIZE), 137);
+        response = PageResponse.from(page, PostDto::fromEntity);
+    }
+
+    @Benchmark
+    public PageResponse<PostDto> fromEntity() {
+        return PageResponse.from(page, PostDto::fromEntity);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] fromEntityAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(PageResponse.from(page, PostDto::fromEntity));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(PostSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.volcano.blog.benchmark;
+
+import com.volcano.blog.ratelimit.LocalBucketBackend;
+import com.volcano.blog.security.ClientAddress;
+import com.volcano.blog.service.RateLimitService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 限流检查基准（本地后端），8 个线程并发：
+ * <ul>
+ *   <li>sharedClient：所有线程使用同一客户端，同一个令牌桶上的 CAS 竞争；</li>
+ *   <li>distinctClients：每个线程一个客户端，只在桶缓存上竞争；</li>
+ *   <li>exhaustedClient：令牌已耗尽，测量拒绝路径。</li>
+ * </ul>
+ * 容量足够大，前两项测量的都是放行路径
+ * 运行：mvn test -Pbenchmark -Djmh.include=RateLimitServiceBenchmark，或直接执行 main
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimitServiceBenchmark {
+
+    private static final int UNLIMITED = 1_000_000_000;
+
+    private RateLimitService rateLimitService;
+    private RateLimitService exhaustedService;
+    private ClientAddress sharedClient;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.quiet();
+        rateLimitService = new RateLimitService(new LocalBucketBackend(), new SimpleMeterRegistry(),
+                UNLIMITED, UNLIMITED, 1, 10, 10_000);
+        exhaustedService = new RateLimitService(new LocalBucketBackend(), new SimpleMeterRegistry(),
+                1, 1, 60, 10, 10_000);
+        sharedClient = ClientAddress.parse("203.0.113.7");
+        exhaustedService.allowRequest(sharedClient);
+    }
+
+    /**
+     * 每个线程各自的客户端地址
+     */
+    @State(Scope.Thread)
+    public static class ThreadClient {
+
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        private ClientAddress address;
+
+        @Setup
+        public void setUp() {
+            address = ClientAddress.ofIpv4(0xC6336400 | NEXT.incrementAndGet());
+        }
+    }
+
+    @Benchmark
+    public boolean sharedClient() {
+        return rateLimitService.allowRequest(sharedClient);
+    }
+
+    @Benchmark
+    public boolean distinctClients(ThreadClient client) {
+        return rateLimitService.allowRequest(client.address);
+    }
+
+    @Benchmark
+    public boolean exhaustedClient() {
+        return exhaustedService.allowRequest(sharedClient);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(RateLimitServiceBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
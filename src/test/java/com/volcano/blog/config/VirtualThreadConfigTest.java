@@ -0,0 +1,67 @@
+package com.volcano.blog.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * VirtualThreadConfig 执行器关闭测试
+ * 关闭逻辑与线程类型无关，使用平台线程池代替虚拟线程执行器，Java 17 上也能运行
+ */
+@DisplayName("虚拟线程任务执行器关闭测试")
+class VirtualThreadConfigTest {
+
+    @Test
+    @DisplayName("未配置等待时间时应中断进行中的任务")
+    void destroy_WithoutAwaitTermination_ShouldInterrupt() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        VirtualThreadConfig.ClosingTaskExecutor taskExecutor =
+                new VirtualThreadConfig.ClosingTaskExecutor(executor, null);
+        taskExecutor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        taskExecutor.destroy();
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.isShutdown()).isTrue();
+    }
+
+    @Test
+    @DisplayName("配置了等待时间时应等待进行中的任务完成")
+    void destroy_WithAwaitTermination_ShouldDrain() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AtomicBoolean completed = new AtomicBoolean();
+        VirtualThreadConfig.ClosingTaskExecutor taskExecutor =
+                new VirtualThreadConfig.ClosingTaskExecutor(executor, Duration.ofSeconds(5));
+        taskExecutor.execute(() -> {
+            try {
+                Thread.sleep(200);
+                completed.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        taskExecutor.destroy();
+
+        assertThat(completed).isTrue();
+        assertThat(executor.isTerminated()).isTrue();
+    }
+}
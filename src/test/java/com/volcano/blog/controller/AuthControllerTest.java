@@ -6,6 +6,11 @@ import com.volcano.blog.dto.LoginResponse;
 import com.volcano.blog.dto.RegisterRequest;
 import com.volcano.blog.dto.UserDto;
 import com.volcano.blog.exception.BusinessException;
+import com.volcano.blog.exception.ServiceBusyException;
+import com.volcano.blog.security.ClientAddress;
+import com.volcano.blog.security.ClientIpResolver;
+import com.volcano.blog.security.CredentialExecutor;
+import com.volcano.blog.security.JwtPrincipalCache;
 import com.volcano.blog.security.JwtTokenProvider;
 import com.volcano.blog.security.JwtUserPrincipal;
 import com.volcano.blog.service.AuthService;
@@ -23,9 +28,14 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -58,6 +68,15 @@ class AuthControllerTest {
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockBean
+    private JwtPrincipalCache jwtPrincipalCache;
+
+    @MockBean
+    private CredentialExecutor credentialExecutor;
+
+    @MockBean
+    private ClientIpResolver clientIpResolver;
+
     private LoginRequest validLoginRequest;
     private LoginResponse loginResponse;
 
@@ -65,6 +84,17 @@ class AuthControllerTest {
     void setUp() {
         // 默认允许所有请求通过限流检查
         when(rateLimitService.allowRequest(anyString())).thenReturn(true);
+        when(clientIpResolver.resolve(any())).thenReturn(ClientAddress.parse("127.0.0.1"));
+
+        // 凭证操作在调用线程中同步执行，异常转为失败的 future
+        when(credentialExecutor.submit(any())).thenAnswer(invocation -> {
+            Supplier<?> task = invocation.getArgument(0);
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
 
         validLoginRequest = new LoginRequest();
         validLoginRequest.setEmail("test@example.com");
@@ -86,6 +116,16 @@ class AuthControllerTest {
                 .build();
     }
 
+    /**
+     * 执行异步请求并等待异步分派完成
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     @Test
     @DisplayName("POST /api/auth/login - 登录成功")
     void login_WithValidCredentials_ShouldReturn200() throws Exception {
@@ -93,7 +133,7 @@ class AuthControllerTest {
         when(authService.login(any(LoginRequest.class))).thenReturn(loginResponse);
 
         // When & Then
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(validLoginRequest)))
                 .andExpect(status().isOk())
@@ -115,7 +155,7 @@ class AuthControllerTest {
                 .thenThrow(new UsernameNotFoundException("用户名或密码错误"));
 
         // When & Then
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(validLoginRequest)))
                 .andExpect(status().isUnauthorized())
@@ -134,7 +174,7 @@ class AuthControllerTest {
                 .thenThrow(new BadCredentialsException("用户名或密码错误"));
 
         // When & Then
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(validLoginRequest)))
                 .andExpect(status().isUnauthorized())
@@ -144,6 +184,25 @@ class AuthControllerTest {
         verify(authService, times(1)).login(any(LoginRequest.class));
     }
 
+    @Test
+    @DisplayName("POST /api/auth/login - 哈希线程池繁忙，返回 503")
+    void login_WhenCredentialExecutorBusy_ShouldReturn503() throws Exception {
+        // Given
+        when(credentialExecutor.submit(any()))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceBusyException("服务繁忙，请稍后再试")));
+
+        // When & Then
+        performAsync(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validLoginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.error").value("SERVICE_BUSY"));
+
+        verify(authService, never()).login(any(LoginRequest.class));
+        verify(rateLimitService, never()).resetLimit(any());
+    }
+
     @Test
     @DisplayName("POST /api/auth/login - 邮箱格式错误，返回 400")
     void login_WithInvalidEmailFormat_ShouldReturn400() throws Exception {
@@ -274,7 +333,7 @@ class AuthControllerTest {
         when(authService.register(any(RegisterRequest.class))).thenReturn(userDto);
 
         // When & Then
-        mockMvc.perform(post("/api/auth/register")
+        performAsync(post("/api/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isCreated())
@@ -301,7 +360,7 @@ class AuthControllerTest {
                 .thenThrow(new BusinessException("DUPLICATE_EMAIL", "该邮箱已被注册"));
 
         // When & Then
-        mockMvc.perform(post("/api/auth/register")
+        performAsync(post("/api/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isBadRequest())
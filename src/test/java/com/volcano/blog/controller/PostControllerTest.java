@@ -1,13 +1,25 @@
 package com.volcano.blog.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volcano.blog.config.AppProperties;
 import com.volcano.blog.dto.CreatePostRequest;
+import com.volcano.blog.dto.CursorPageResponse;
 import com.volcano.blog.dto.PageResponse;
 import com.volcano.blog.dto.PostDto;
+import com.volcano.blog.dto.PostImportResult;
+import com.volcano.blog.dto.PostSearchHitDto;
+import com.volcano.blog.dto.PostSummaryDto;
+import com.volcano.blog.dto.PostVersion;
+import com.volcano.blog.dto.TotalCountMode;
 import com.volcano.blog.dto.UpdatePostRequest;
+import com.volcano.blog.exception.BusinessException;
 import com.volcano.blog.exception.ResourceNotFoundException;
+import com.volcano.blog.security.JwtPrincipalCache;
 import com.volcano.blog.security.JwtTokenProvider;
 import com.volcano.blog.security.JwtUserPrincipal;
+import com.volcano.blog.service.PostFeedVersion;
+import com.volcano.blog.service.PostImportService;
+import com.volcano.blog.service.PostSearchService;
 import com.volcano.blog.service.PostService;
 import com.volcano.blog.service.RateLimitService;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,12 +66,28 @@ class PostControllerTest {
     @MockBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockBean
+    private JwtPrincipalCache jwtPrincipalCache;
+
+    @MockBean
+    private PostFeedVersion postFeedVersion;
+
+    @MockBean
+    private PostSearchService postSearchService;
+
+    @MockBean
+    private PostImportService postImportService;
+
+    @MockBean
+    private AppProperties appProperties;
+
     private JwtUserPrincipal principal;
     private PostDto postDto;
 
     @BeforeEach
     void setUp() {
         when(rateLimitService.allowRequest(anyString())).thenReturn(true);
+        when(appProperties.getHttpCache()).thenReturn(new AppProperties.HttpCache());
 
         principal = new JwtUserPrincipal(1L, "test@example.com", "USER");
 
@@ -114,6 +142,149 @@ class PostControllerTest {
         verify(postService, times(1)).getPosts(0, 10, true);
     }
 
+    @Test
+    @DisplayName("GET /api/posts?cursor= - 游标分页获取第一页")
+    void getPosts_WithEmptyCursor_ShouldUseKeysetPagination() throws Exception {
+        // Given
+        CursorPageResponse<PostDto> cursorPage = CursorPageResponse.<PostDto>builder()
+                .content(List.of(postDto))
+                .size(10)
+                .nextCursor("next-cursor")
+                .hasNext(true)
+                .build();
+        when(postService.getPostsByCursor("", 10, true)).thenReturn(cursorPage);
+
+        // When & Then
+        mockMvc.perform(get("/api/posts")
+                        .param("cursor", "")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+
+        verify(postService, times(1)).getPostsByCursor("", 10, true);
+        verify(postService, never()).getPosts(anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("GET /api/posts?cursor=xxx - 游标无效返回400")
+    void getPosts_WithInvalidCursor_ShouldReturn400() throws Exception {
+        // Given
+        when(postService.getPostsByCursor("bad", 10, true))
+                .thenThrow(new BusinessException("INVALID_CURSOR", "无效的分页游标"));
+
+        // When & Then
+        mockMvc.perform(get("/api/posts")
+                        .param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("INVALID_CURSOR"));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/search - 搜索文章")
+    void searchPosts_ShouldReturnRankedHits() throws Exception {
+        // Given
+        PostSearchHitDto hit = PostSearchHitDto.builder()
+                .id(1L)
+                .title("Test Post")
+                .highlightedTitle("<mark>Test</mark> Post")
+                .snippet("<mark>Test</mark> content")
+                .score(3.0)
+                .authorId(1L)
+                .authorName("Test User")
+                .createdAt(Instant.now())
+                .build();
+        CursorPageResponse<PostSearchHitDto> hits = CursorPageResponse.<PostSearchHitDto>builder()
+                .content(List.of(hit))
+                .size(10)
+                .nextCursor("next-cursor")
+                .hasNext(true)
+                .build();
+        when(postSearchService.search("test", null, 10)).thenReturn(hits);
+
+        // When & Then
+        mockMvc.perform(get("/api/posts/search")
+                        .param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.content[0].highlightedTitle").value("<mark>Test</mark> Post"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"));
+
+        verify(postService, never()).getPosts(anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("GET /api/posts?view=summary - 获取文章摘要列表")
+    void getPosts_WithSummaryView_ShouldReturnSummaries() throws Exception {
+        // Given
+        PostSummaryDto summary = PostSummaryDto.builder()
+                .id(1L)
+                .title("Test Post")
+                .excerpt("Test content")
+                .published(true)
+                .authorId(1L)
+                .authorName("Test User")
+                .build();
+        PageResponse<PostSummaryDto> pageResponse = PageResponse.<PostSummaryDto>builder()
+                .content(List.of(summary))
+                .page(0)
+                .size(10)
+                .totalElements(1)
+                .totalPages(1)
+                .first(true)
+                .last(true)
+                .build();
+        when(postService.getPostSummaries(0, 10, true)).thenReturn(pageResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/posts")
+                        .param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].excerpt").value("Test content"))
+                .andExpect(jsonPath("$.data.content[0].content").doesNotExist());
+
+        verify(postService, never()).getPosts(anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("GET /api/posts?view=xxx - 不支持的视图返回400")
+    void getPosts_WithUnknownView_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/posts")
+                        .param("view", "compact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_VIEW"));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts?total=none - 不统计总数")
+    void getPosts_WithoutTotal_ShouldUseSliceQuery() throws Exception {
+        // Given
+        PageResponse<PostDto> pageResponse = PageResponse.<PostDto>builder()
+                .content(List.of(postDto))
+                .page(0)
+                .size(10)
+                .totalElements(PageResponse.UNKNOWN_TOTAL)
+                .totalPages(PageResponse.UNKNOWN_TOTAL)
+                .first(true)
+                .last(false)
+                .build();
+        when(postService.getPostSlice(0, 10, true, TotalCountMode.NONE)).thenReturn(pageResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/posts")
+                        .param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.last").value(false))
+                .andExpect(jsonPath("$.data.totalElements").value(-1));
+
+        verify(postService, never()).getPosts(anyInt(), anyInt(), anyBoolean());
+    }
+
     @Test
     @DisplayName("GET /api/posts/{id} - 获取单篇文章")
     void getPostById_ShouldReturnPost() throws Exception {
@@ -131,6 +302,70 @@ class PostControllerTest {
         verify(postService, times(1)).getPost(1L);
     }
 
+    @Test
+    @DisplayName("GET /api/posts/{id} - 已发布文章返回 ETag、Last-Modified 和公共缓存策略")
+    void getPostById_Published_ShouldReturnCacheValidators() throws Exception {
+        // Given
+        Instant updatedAt = Instant.parse("2024-01-01T00:00:00Z");
+        postDto.setUpdatedAt(updatedAt);
+        postDto.setRevision(3);
+        when(postService.getPost(1L)).thenReturn(postDto);
+
+        // When & Then
+        mockMvc.perform(get("/api/posts/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", PostVersion.of(postDto).eTag()))
+                .andExpect(jsonPath("$.data.revision").doesNotExist())
+                .andExpect(header().dateValue("Last-Modified", updatedAt.toEpochMilli()))
+                .andExpect(header().string("Cache-Control", "max-age=60, must-revalidate, public"));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/{id} - If-None-Match 命中时返回304且不加载正文")
+    void getPostById_WithMatchingETag_ShouldReturn304() throws Exception {
+        // Given
+        PostVersion version = new PostVersion(1L, 3, Instant.parse("2024-01-01T00:00:00Z"), true,
+                "Test User", "test@example.com");
+        when(postService.getPostVersion(1L)).thenReturn(version);
+
+        // When & Then
+        mockMvc.perform(get("/api/posts/1").header("If-None-Match", version.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", version.eTag()))
+                .andExpect(content().string(""));
+
+        verify(postService, never()).getPost(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/{id} - ETag 不匹配时返回完整内容")
+    void getPostById_WithStaleETag_ShouldReturnBody() throws Exception {
+        // Given
+        when(postService.getPostVersion(1L))
+                .thenReturn(new PostVersion(1L, 3, Instant.parse("2024-01-01T00:00:00Z"), true,
+                        "Test User", "test@example.com"));
+        when(postService.getPost(1L)).thenReturn(postDto);
+
+        // When & Then
+        mockMvc.perform(get("/api/posts/1").header("If-None-Match", "\"post-1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/posts - 列表版本未变化时返回304且不查询")
+    void getPosts_WithMatchingFeedETag_ShouldReturn304() throws Exception {
+        // Given
+        when(postFeedVersion.getETag()).thenReturn("\"feed-abc-3\"");
+        when(postFeedVersion.getLastModified()).thenReturn(Instant.parse("2024-01-01T00:00:00Z"));
+
+        // When & Then
+        mockMvc.perform(get("/api/posts").header("If-None-Match", "\"feed-abc-3\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(postService);
+    }
+
     @Test
     @DisplayName("GET /api/posts/{id} - 文章不存在返回404")
     void getPostById_NotFound_ShouldReturn404() throws Exception {
@@ -204,6 +439,40 @@ class PostControllerTest {
         }
     }
 
+    @Test
+    @DisplayName("POST /api/posts/import - 批量导入返回逐条结果")
+    void importPosts_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        setupAuthentication();
+
+        try {
+            PostImportResult result = PostImportResult.builder()
+                    .total(2)
+                    .imported(1)
+                    .failed(1)
+                    .items(List.of(
+                            PostImportResult.Item.created(0, 10L),
+                            PostImportResult.Item.failed(1, "文章标题不能为空")))
+                    .build();
+            when(postImportService.importPosts(eq(1L), eq("USER"), any())).thenReturn(result);
+
+            // When & Then
+            mockMvc.perform(post("/api/posts/import")
+                            .principal(principal)
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content("{\"title\":\"A\",\"content\":\"a\"}\n{\"title\":\"\"}\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.message").value("导入完成：成功 1 篇，失败 1 篇"))
+                    .andExpect(jsonPath("$.data.items[0].id").value(10))
+                    .andExpect(jsonPath("$.data.items[1].error").value("文章标题不能为空"));
+
+            verify(postImportService, times(1)).importPosts(eq(1L), eq("USER"), any());
+        } finally {
+            clearAuthentication();
+        }
+    }
+
     @Test
     @DisplayName("PUT /api/posts/{id} - 更新文章成功")
     void updatePost_ShouldReturnUpdatedPost() throws Exception {
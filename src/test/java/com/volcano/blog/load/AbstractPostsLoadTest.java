@@ -0,0 +1,138 @@
+package com.volcano.blog.load;
+
+import com.volcano.blog.model.Post;
+import com.volcano.blog.model.User;
+import com.volcano.blog.repository.PostRepository;
+import com.volcano.blog.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /api/posts 吞吐量压测基类
+ * 2000 个并发客户端持续请求文章列表，子类分别以平台线程和虚拟线程启动应用，输出吞吐量用于对比。
+ * 关闭热点缓存，使每个请求都经过 JPA 查询（阻塞 I/O），体现线程模型的差异。
+ * 默认不运行，使用 mvn test -Pload-test 执行
+ */
+@Tag("load")
+@ActiveProfiles("test")
+abstract class AbstractPostsLoadTest {
+
+    /**
+     * 通用的 @SpringBootTest 属性，子类在此基础上设置 threads.virtual
+     */
+    static final String HOT_FEED_DISABLED = "cache.hot-feed.enabled=false";
+    static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size=20";
+    /**
+     * 所有客户端来自同一 IP，关闭按路径限流
+     */
+    static final String ROUTE_LIMITS_DISABLED = "ratelimit.routes=";
+
+    private static final int CONCURRENT_CLIENTS = 2000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int POST_COUNT = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private HttpClient httpClient;
+
+    /**
+     * 压测名称，用于输出
+     */
+    abstract String mode();
+
+    @BeforeEach
+    void setUp() {
+        if (postRepository.count() < POST_COUNT) {
+            User author = userRepository.save(User.builder()
+                    .email("load-" + mode() + "@example.com")
+                    .password("encoded")
+                    .name("Load Author")
+                    .build());
+            for (int i = 0; i < POST_COUNT; i++) {
+                postRepository.save(Post.builder()
+                        .title("Load Post " + i)
+                        .content("Content " + i)
+                        .published(true)
+                        .author(author)
+                        .build());
+            }
+        }
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @Test
+    void getPosts_Under2000ConcurrentClients() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/posts?page=0&size=10"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        run(request, WARMUP_REQUESTS, 100);
+
+        long start = System.nanoTime();
+        Result result = run(request, CONCURRENT_CLIENTS * REQUESTS_PER_CLIENT, CONCURRENT_CLIENTS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("[load] mode=%s clients=%d requests=%d ok=%d failed=%d time=%.2fs throughput=%.0f req/s%n",
+                mode(), CONCURRENT_CLIENTS, result.total(), result.ok(), result.failed(),
+                seconds, result.total() / seconds);
+
+        assertThat(result.failed()).isZero();
+    }
+
+    /**
+     * 以最多 concurrency 个并发请求发送 total 次请求
+     */
+    private Result run(HttpRequest request, int total, int concurrency) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        for (int i = 0; i < total; i++) {
+            inFlight.acquire();
+            CompletableFuture<HttpResponse<Void>> future =
+                    httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+            future.whenComplete((response, error) -> {
+                if (error == null && response.statusCode() == 200) {
+                    ok.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+                inFlight.release();
+            });
+        }
+        // 等待所有请求完成
+        assertThat(inFlight.tryAcquire(concurrency, 5, TimeUnit.MINUTES)).isTrue();
+        return new Result(total, ok.get(), failed.get());
+    }
+
+    private record Result(int total, int ok, int failed) {
+    }
+}
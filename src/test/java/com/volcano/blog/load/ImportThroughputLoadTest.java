@@ -0,0 +1,213 @@
+package com.volcano.blog.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volcano.blog.util.VirtualThreads;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 批量导入与逐篇发文的吞吐量对比
+ * 同一批客户端先逐篇调用 POST /api/posts，再以 POST /api/posts/import 每次提交 load.import.batch 篇，
+ * 各写入 load.import.posts 篇文章，输出两种方式的文章/秒、请求延迟和吞吐量倍数。参数通过系统属性覆盖，例如：
+ * <pre>
+ * mvn test -Pload-test -Dtest=ImportThroughputLoadTest -Dload.import.posts=20000 -Dload.import.batch=500
+ * </pre>
+ */
+@Tag("load")
+@ActiveProfiles("test")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                AbstractPostsLoadTest.POOL_SIZE,
+                AbstractPostsLoadTest.ROUTE_LIMITS_DISABLED
+        })
+@DisplayName("批量导入吞吐量对比")
+class ImportThroughputLoadTest {
+
+    private static final String EMAIL = "load-import@example.com";
+    private static final String PASSWORD = "LoadTest123!";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final int POSTS = Integer.getInteger("load.import.posts", 5000);
+    private static final int BATCH = Integer.getInteger("load.import.batch", 500);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 16);
+    private static final int WARMUP_POSTS = Math.max(POSTS / 10, BATCH);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpClient httpClient;
+    private String baseUrl;
+    private String token;
+
+    @Test
+    void importVersusSinglePost() throws Exception {
+        baseUrl = "http://localhost:" + port;
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO user (email, password, name, role, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", EMAIL, passwordEncoder.encode(PASSWORD), "Load Importer", "USER", now, now);
+        token = login();
+
+        run("single", WARMUP_POSTS, 1, new LatencyReport());
+        run("import", WARMUP_POSTS, BATCH, new LatencyReport());
+
+        long before = countPosts();
+        LatencyReport report = new LatencyReport();
+        double singleSeconds = run("single", POSTS, 1, report);
+        double importSeconds = run("import", POSTS, BATCH, report);
+
+        report.print(System.out, "import vs single POST (latency per request)", singleSeconds + importSeconds);
+        double singleRate = POSTS / singleSeconds;
+        double importRate = POSTS / importSeconds;
+        System.out.printf("[load] posts=%d clients=%d batch=%d single=%.0f posts/s (%.1fs) "
+                        + "import=%.0f posts/s (%.1fs) ratio=%.1fx%n",
+                POSTS, CLIENTS, BATCH, singleRate, singleSeconds, importRate, importSeconds, importRate / singleRate);
+
+        assertThat(report.errors()).isZero();
+        assertThat(countPosts() - before).isEqualTo(2L * POSTS);
+    }
+
+    /**
+     * CLIENTS 个客户端并发写入共 posts 篇文章，每个请求 batch 篇（batch 为 1 时逐篇调用 POST /api/posts）
+     *
+     * @return 实际运行的秒数
+     */
+    private double run(String operation, int posts, int batch, LatencyReport report) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(posts);
+        long start = System.nanoTime();
+        ExecutorService executor = VirtualThreads.isSupported()
+                ? VirtualThreads.newPerTaskExecutor("load-client-")
+                : Executors.newFixedThreadPool(CLIENTS);
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                executor.submit(() -> {
+                    int count;
+                    while ((count = claim(remaining, batch)) > 0) {
+                        long requestStart = System.nanoTime();
+                        int status;
+                        try {
+                            status = batch == 1 ? createPost() : importPosts(count);
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        report.record(operation, System.nanoTime() - requestStart, status);
+                    }
+                    return null;
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(30, TimeUnit.MINUTES)).isTrue();
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    /**
+     * 领取最多 batch 篇待写入的文章
+     *
+     * @return 领取的篇数，没有剩余时为 0
+     */
+    private static int claim(AtomicInteger remaining, int batch) {
+        while (true) {
+            int current = remaining.get();
+            int count = Math.min(current, batch);
+            if (count == 0 || remaining.compareAndSet(current, current - count)) {
+                return count;
+            }
+        }
+    }
+
+    private int createPost() throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(post());
+        return send(request("/api/posts")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build()).statusCode();
+    }
+
+    private int importPosts(int count) throws IOException, InterruptedException {
+        List<Map<String, Object>> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(post());
+        }
+        HttpResponse<String> response = send(request("/api/posts/import")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(posts)))
+                .build());
+        // 部分失败时也返回 200，按 data.failed 判断
+        if (response.statusCode() == 200
+                && objectMapper.readTree(response.body()).path("data").path("failed").asInt() != 0) {
+            return 500;
+        }
+        return response.statusCode();
+    }
+
+    private static Map<String, Object> post() {
+        return Map.of(
+                "title", "导入吞吐量测试",
+                "content", "本文用于对比批量导入与逐篇发文的吞吐量，lorem ipsum dolor sit amet。".repeat(20),
+                "published", true);
+    }
+
+    private String login() throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("email", EMAIL, "password", PASSWORD));
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body()).path("data").path("token").asText();
+    }
+
+    private long countPosts() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post", Long.class);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,123 @@
+package com.volcano.blog.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按操作统计的延迟（HdrHistogram，微秒精度）和状态码分布
+ * 客户端在收到响应后才发送下一个请求（闭环），服务端变慢时发送速率随之下降，
+ * 百分位反映的是已发出请求的服务时间，没有对协调遗漏（coordinated omission）做修正
+ */
+final class LatencyReport {
+
+    /**
+     * 可记录的最大延迟，超过时按最大值记录
+     */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次请求
+     *
+     * @param status HTTP 状态码，请求失败（连接错误、超时）时为 -1
+     */
+    void record(String operation, long latencyNanos, int status) {
+        Endpoint endpoint = endpoints.computeIfAbsent(operation, key -> new Endpoint());
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(latencyNanos), 1), MAX_LATENCY_MICROS);
+        endpoint.histogram.recordValue(micros);
+        if (status >= 200 && status < 300) {
+            endpoint.ok.increment();
+        } else if (status == 429 || status == 503) {
+            endpoint.rejected.increment();
+        } else if (status >= 400 && status < 500) {
+            endpoint.clientErrors.increment();
+        } else {
+            endpoint.errors.increment();
+        }
+    }
+
+    /**
+     * 服务端错误（5xx，不含 503）和请求失败的总数
+     */
+    long errors() {
+        return endpoints.values().stream().mapToLong(endpoint -> endpoint.errors.sum()).sum();
+    }
+
+    long total() {
+        return endpoints.values().stream().mapToLong(endpoint -> endpoint.histogram.getTotalCount()).sum();
+    }
+
+    /**
+     * 输出每个操作及合计的吞吐量和延迟百分位（毫秒）
+     */
+    void print(PrintStream out, String title, double seconds) {
+        out.printf("%n[load] %s (%.1fs)%n", title, seconds);
+        out.printf("%-10s %9s %8s %6s %6s %6s %10s %8s %8s %8s %8s %8s%n",
+                "operation", "requests", "ok", "4xx", "rej", "err", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+        long ok = 0;
+        long clientErrors = 0;
+        long rejected = 0;
+        long errors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            Histogram histogram = endpoint.histogram.copy();
+            all.add(histogram);
+            ok += endpoint.ok.sum();
+            clientErrors += endpoint.clientErrors.sum();
+            rejected += endpoint.rejected.sum();
+            errors += endpoint.errors.sum();
+            printRow(out, entry.getKey(), histogram, endpoint.ok.sum(), endpoint.clientErrors.sum(),
+                    endpoint.rejected.sum(), endpoint.errors.sum(), seconds);
+        }
+        printRow(out, "TOTAL", all, ok, clientErrors, rejected, errors, seconds);
+    }
+
+    /**
+     * 每个操作写出一个 HdrHistogram 百分位分布文件（单位毫秒），可用 HdrHistogram 的 plotFiles.html 绘图对比
+     */
+    void writeDistributions(Path directory, String prefix) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Path file = directory.resolve(prefix + "-" + entry.getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                entry.getValue().histogram.copy().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long ok, long clientErrors,
+                                 long rejected, long errors, double seconds) {
+        out.printf("%-10s %9d %8d %6d %6d %6d %10.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                name, histogram.getTotalCount(), ok, clientErrors, rejected, errors,
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
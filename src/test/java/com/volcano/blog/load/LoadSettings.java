@@ -0,0 +1,57 @@
+package com.volcano.blog.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 混合负载压测参数，通过系统属性覆盖（如 mvn test -Pload-test -Dtest=MixedWorkloadLoadTest -Dload.clients=200）
+ *
+ * @param users     预置用户数（客户端轮流使用这些账号登录）
+ * @param posts     预置已发布文章数
+ * @param clients   并发客户端数，每个客户端串行发送请求（闭环模型）
+ * @param warmup    预热时长，期间的请求不计入结果
+ * @param duration  测量时长
+ * @param mix       各操作的权重
+ * @param reportDir 报告输出目录（每个操作一个 .hgrm 百分位分布文件）
+ */
+record LoadSettings(int users, int posts, int clients, Duration warmup, Duration duration,
+                    Map<String, Integer> mix, Path reportDir) {
+
+    static final String DEFAULT_MIX = "list=35,cursor=15,detail=25,search=5,create=4,update=6,login=10";
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("load.users", 50),
+                Integer.getInteger("load.posts", 2000),
+                Integer.getInteger("load.clients", 64),
+                DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s")),
+                DurationStyle.detectAndParse(System.getProperty("load.duration", "30s")),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+                Path.of(System.getProperty("load.report-dir", "target/load-reports")));
+    }
+
+    /**
+     * 解析 name=weight,name=weight 形式的负载配比
+     */
+    static Map<String, Integer> parseMix(String text) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : text.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(pair[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix must contain at least one positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,342 @@
+package com.volcano.blog.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volcano.blog.search.PostSearchIndex;
+import com.volcano.blog.util.ExcerptUtils;
+import com.volcano.blog.util.VirtualThreads;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 端到端混合负载压测
+ * 以测试配置（H2 MySQL 模式）启动完整应用，通过 JDBC 批量预置用户和文章，
+ * 多个客户端按配比混合发送列表、游标分页、详情、搜索、发文、改文和登录请求，
+ * 输出每个操作的吞吐量和延迟百分位，并在 load.report-dir 下写出 HdrHistogram 百分位分布文件。
+ * 客户端在 Java 21+ 上使用虚拟线程。参数见 {@link LoadSettings}，例如：
+ * <pre>
+ * mvn test -Pload-test -Dtest=MixedWorkloadLoadTest -Dload.clients=200 -Dload.posts=20000 -Dload.duration=60s
+ * </pre>
+ */
+@Tag("load")
+@ActiveProfiles("test")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                AbstractPostsLoadTest.POOL_SIZE,
+                AbstractPostsLoadTest.ROUTE_LIMITS_DISABLED,
+                // 搜索走倒排索引，与生产配置一致（预置数据后手动重建）
+                "search.index.enabled=true"
+        })
+@DisplayName("混合负载压测")
+class MixedWorkloadLoadTest {
+
+    private static final String PASSWORD = "LoadTest123!";
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final String[] WORDS = {
+            "性能", "缓存", "索引", "并发", "虚拟线程", "限流", "搜索", "部署", "Spring", "MySQL", "JVM", "延迟"
+    };
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long minPostId;
+    private long maxPostId;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        baseUrl = "http://localhost:" + port;
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        long seedStart = System.nanoTime();
+        seed(settings);
+        postSearchIndex.rebuild();
+        System.out.printf("[load] seeded users=%d posts=%d in %.1fs, clients=%d, mix=%s, virtualThreads=%s%n",
+                settings.users(), settings.posts(), (System.nanoTime() - seedStart) / 1e9, settings.clients(),
+                settings.mix(), VirtualThreads.isSupported());
+
+        run(settings, settings.warmup(), new LatencyReport());
+
+        LatencyReport report = new LatencyReport();
+        double seconds = run(settings, settings.duration(), report);
+        report.print(System.out, "mixed workload", seconds);
+        report.writeDistributions(settings.reportDir(), "mixed");
+
+        assertThat(report.total()).isPositive();
+        assertThat(report.errors()).isZero();
+    }
+
+    /**
+     * 批量写入用户和文章，所有用户使用同一个密码哈希（只计算一次 BCrypt）
+     */
+    private void seed(LoadSettings settings) {
+        String hash = passwordEncoder.encode(PASSWORD);
+        Timestamp now = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        List<Object[]> users = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            users.add(new Object[]{email(i), hash, "Load User " + i, "USER", now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user (email, password, name, role, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM user WHERE email LIKE 'load-user-%' ORDER BY id",
+                Long.class);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(Duration.ofDays(365));
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < settings.posts(); i++) {
+            String content = content(random);
+            Timestamp createdAt = Timestamp.from(base.plusSeconds(i * 60L));
+            batch.add(new Object[]{title(random, i), content, ExcerptUtils.fromContent(content), true,
+                    userIds.get(i % userIds.size()), createdAt, createdAt});
+            if (batch.size() == SEED_BATCH_SIZE || i == settings.posts() - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO post (title, content, excerpt, published, author_id, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM post");
+        minPostId = ((Number) range.get("min_id")).longValue();
+        maxPostId = ((Number) range.get("max_id")).longValue();
+    }
+
+    /**
+     * 启动 clients 个客户端，持续发送请求直到 duration 结束
+     *
+     * @return 实际运行的秒数
+     */
+    private double run(LoadSettings settings, Duration duration, LatencyReport report) throws Exception {
+        Workload workload = new Workload(settings.mix());
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService executor = VirtualThreads.isSupported()
+                ? VirtualThreads.newPerTaskExecutor("load-client-")
+                : Executors.newFixedThreadPool(settings.clients());
+        try {
+            for (int i = 0; i < settings.clients(); i++) {
+                Client client = new Client(email(i % settings.users()));
+                executor.submit(() -> {
+                    client.loop(workload, deadline, report);
+                    return null;
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS)).isTrue();
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private static String email(int index) {
+        return "load-user-" + index + "@example.com";
+    }
+
+    private static String title(ThreadLocalRandom random, int index) {
+        return WORDS[random.nextInt(WORDS.length)] + "与" + WORDS[random.nextInt(WORDS.length)] + "实践 #" + index;
+    }
+
+    private static String content(ThreadLocalRandom random) {
+        StringBuilder sb = new StringBuilder(2048);
+        while (sb.length() < 1500) {
+            sb.append("本文讨论").append(WORDS[random.nextInt(WORDS.length)])
+                    .append("在博客系统中的应用，lorem ipsum dolor sit amet。");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 按权重随机选择操作
+     */
+    private static final class Workload {
+
+        private final String[] operations;
+        private final int[] cumulativeWeights;
+
+        Workload(Map<String, Integer> mix) {
+            operations = mix.keySet().toArray(String[]::new);
+            cumulativeWeights = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += mix.get(operations[i]);
+                cumulativeWeights[i] = sum;
+            }
+        }
+
+        String next(ThreadLocalRandom random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+    }
+
+    /**
+     * 一个串行发送请求的客户端，持有自己的登录令牌、游标和已创建的文章
+     */
+    private final class Client {
+
+        private final String email;
+        private final List<Long> ownPosts = new ArrayList<>();
+        private String token;
+        private String nextCursor;
+        private int cursorPages;
+
+        Client(String email) {
+            this.email = email;
+        }
+
+        void loop(Workload workload, long deadline, LatencyReport report) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                String operation = workload.next(random);
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = execute(operation, random);
+                } catch (IOException e) {
+                    status = -1;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                report.record(operation, System.nanoTime() - start, status);
+            }
+        }
+
+        private int execute(String operation, ThreadLocalRandom random) throws IOException, InterruptedException {
+            return switch (operation) {
+                case "list" -> get("/api/posts?page=" + random.nextInt(20) + "&size=10").statusCode();
+                case "cursor" -> cursorPage();
+                case "detail" -> get("/api/posts/" + random.nextLong(minPostId, maxPostId + 1)).statusCode();
+                case "search" -> get("/api/posts/search?q="
+                        + URLEncoder.encode(WORDS[random.nextInt(WORDS.length)], StandardCharsets.UTF_8)).statusCode();
+                case "create" -> createPost(random);
+                case "update" -> updatePost(random);
+                case "login" -> login();
+                default -> throw new IllegalArgumentException("Unknown operation in load.mix: " + operation);
+            };
+        }
+
+        /**
+         * 从第一页开始沿 nextCursor 向后翻，最多 5 页后重新开始
+         */
+        private int cursorPage() throws IOException, InterruptedException {
+            String cursor = nextCursor != null && cursorPages < 5 ? nextCursor : "";
+            HttpResponse<String> response = get("/api/posts?size=10&cursor="
+                    + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            if (response.statusCode() == 200) {
+                JsonNode next = objectMapper.readTree(response.body()).path("data").path("nextCursor");
+                nextCursor = next.isTextual() ? next.asText() : null;
+                cursorPages = cursor.isEmpty() ? 1 : cursorPages + 1;
+            }
+            return response.statusCode();
+        }
+
+        private int createPost(ThreadLocalRandom random) throws IOException, InterruptedException {
+            if (token == null && login() != 200) {
+                return 401;
+            }
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "title", title(random, ownPosts.size()),
+                    "content", content(random),
+                    "published", true));
+            HttpResponse<String> response = send(authorized(request("/api/posts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+            if (response.statusCode() == 201 || response.statusCode() == 200) {
+                ownPosts.add(objectMapper.readTree(response.body()).path("data").path("id").asLong());
+            }
+            return response.statusCode();
+        }
+
+        private int updatePost(ThreadLocalRandom random) throws IOException, InterruptedException {
+            if (ownPosts.isEmpty()) {
+                return createPost(random);
+            }
+            long id = ownPosts.get(random.nextInt(ownPosts.size()));
+            String body = objectMapper.writeValueAsString(Map.of("content", content(random)));
+            return send(authorized(request("/api/posts/" + id))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build()).statusCode();
+        }
+
+        private int login() throws IOException, InterruptedException {
+            String body = objectMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD));
+            HttpResponse<String> response = send(request("/api/auth/login")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+            if (response.statusCode() == 200) {
+                token = objectMapper.readTree(response.body()).path("data").path("token").asText();
+            }
+            return response.statusCode();
+        }
+
+        private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+            return send(request(path).GET().build());
+        }
+
+        private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+            return builder.header("Authorization", "Bearer " + token);
+        }
+
+        private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.volcano.blog.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 平台线程（默认 Tomcat 线程池）下的 GET /api/posts 吞吐量
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "threads.virtual=false",
+                AbstractPostsLoadTest.HOT_FEED_DISABLED,
+                AbstractPostsLoadTest.POOL_SIZE,
+                AbstractPostsLoadTest.ROUTE_LIMITS_DISABLED
+        })
+@DisplayName("文章列表压测 - 平台线程")
+class PlatformThreadPostsLoadTest extends AbstractPostsLoadTest {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,33 @@
+package com.volcano.blog.load;
+
+import com.volcano.blog.util.VirtualThreads;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 虚拟线程模式下的 GET /api/posts 吞吐量（需要 Java 21+，低版本跳过）
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "threads.virtual=true",
+                AbstractPostsLoadTest.HOT_FEED_DISABLED,
+                AbstractPostsLoadTest.POOL_SIZE,
+                AbstractPostsLoadTest.ROUTE_LIMITS_DISABLED
+        })
+@DisplayName("文章列表压测 - 虚拟线程")
+class VirtualThreadPostsLoadTest extends AbstractPostsLoadTest {
+
+    @BeforeAll
+    static void requireVirtualThreads() {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads require Java 21+");
+    }
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,177 @@
+package com.volcano.blog.metrics;
+
+import com.volcano.blog.config.AppProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SqlRequestTrackingFilter 单元测试
+ */
+@DisplayName("请求 SQL 统计过滤器测试")
+class SqlRequestTrackingFilterTest {
+
+    private AppProperties appProperties;
+    private SqlStatementTracker tracker;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        appProperties.getSql().setStatementBudget(3);
+        tracker = new SqlStatementTracker(appProperties);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("应按路由模板记录请求内执行的语句数")
+    void shouldRecordStatementsPerRoute() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/42");
+
+        filter().doFilter(request, new MockHttpServletResponse(), statements("/api/posts/{id}", 2));
+
+        DistributionSummary summary = meterRegistry.get(SqlRequestTrackingFilter.STATEMENTS_METRIC)
+                .tags("method", "GET", "uri", "/api/posts/{id}")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2.0);
+        assertThat(meterRegistry.get(SqlRequestTrackingFilter.TIME_METRIC)
+                .tags("method", "GET", "uri", "/api/posts/{id}")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("未匹配到处理器的请求不记录，请求之外的语句不计数")
+    void shouldSkipUnmatchedRequests() throws Exception {
+        execute();
+
+        filter().doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                (req, res) -> execute());
+
+        assertThat(meterRegistry.find(SqlRequestTrackingFilter.STATEMENTS_METRIC).summary()).isNull();
+        assertThat(SqlStatementTracker.stop().getStatements()).isZero();
+    }
+
+    @Test
+    @DisplayName("开启 fail-on-budget-exceeded 时超出语句预算的请求应失败")
+    void shouldFailRequestOverBudget() {
+        appProperties.getSql().setFailOnBudgetExceeded(true);
+        SqlRequestTrackingFilter filter = filter();
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"),
+                new MockHttpServletResponse(), statements("/api/posts", 4)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("executed 4 statements (budget 3)");
+    }
+
+    @Test
+    @DisplayName("设置了豁免属性的请求不检查语句预算，仍记录指标")
+    void shouldSkipBudgetForExemptRequest() throws Exception {
+        appProperties.getSql().setFailOnBudgetExceeded(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/posts/import");
+        request.setAttribute(SqlRequestTrackingFilter.BUDGET_EXEMPT_ATTRIBUTE, Boolean.TRUE);
+
+        filter().doFilter(request, new MockHttpServletResponse(), statements("/api/posts/import", 4));
+
+        assertThat(meterRegistry.get(SqlRequestTrackingFilter.STATEMENTS_METRIC).summary().totalAmount())
+                .isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("未开启 fail-on-budget-exceeded 时超出预算只记录警告")
+    void shouldOnlyWarnOverBudgetByDefault() throws Exception {
+        filter().doFilter(new MockHttpServletRequest("GET", "/api/posts"), new MockHttpServletResponse(),
+                statements("/api/posts", 4));
+
+        assertThat(meterRegistry.get(SqlRequestTrackingFilter.STATEMENTS_METRIC).summary().totalAmount())
+                .isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("异步请求应累计各次 dispatch 和提交到其他线程的语句，只记录一次")
+    void shouldAccumulateAcrossAsyncDispatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setAsyncSupported(true);
+        SqlRequestTrackingFilter filter = filter();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/auth/login");
+            execute();
+            req.startAsync();
+            Thread worker = new Thread(SqlStatementTracker.propagate(() -> {
+                execute();
+                execute();
+            }));
+            worker.start();
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(meterRegistry.find(SqlRequestTrackingFilter.STATEMENTS_METRIC).summary()).isNull();
+
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> execute());
+
+        DistributionSummary summary = meterRegistry.get(SqlRequestTrackingFilter.STATEMENTS_METRIC).summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("开启 response-headers 时应在响应提交前写出统计")
+    void shouldWriteHeadersBeforeCommit() throws Exception {
+        appProperties.getSql().setResponseHeaders(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter().doFilter(new MockHttpServletRequest("GET", "/api/posts"), response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/posts");
+            execute();
+            execute();
+            res.getWriter().write("{}");
+            res.flushBuffer();
+            // 提交后执行的语句不影响已写出的响应头
+            execute();
+        });
+
+        assertThat(response.getHeader(SqlRequestTrackingFilter.STATEMENTS_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(SqlRequestTrackingFilter.TIME_HEADER)).isNotNull();
+    }
+
+    private SqlRequestTrackingFilter filter() {
+        return new SqlRequestTrackingFilter(meterRegistry, appProperties);
+    }
+
+    private FilterChain statements(String pattern, int count) {
+        return (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            for (int i = 0; i < count; i++) {
+                execute();
+            }
+        };
+    }
+
+    /**
+     * 模拟 datasource-proxy 回调一次语句执行
+     */
+    private void execute() {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        tracker.beforeQuery(executionInfo, List.of());
+        tracker.afterQuery(executionInfo, List.of());
+    }
+}
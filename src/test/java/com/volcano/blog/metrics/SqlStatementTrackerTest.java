@@ -0,0 +1,66 @@
+package com.volcano.blog.metrics;
+
+import com.volcano.blog.config.AppProperties;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SqlStatementTracker 单元测试（H2 内存库 + datasource-proxy）
+ */
+@DisplayName("SQL 语句跟踪测试")
+class SqlStatementTrackerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-tracker;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(new SqlStatementTracker(new AppProperties()))
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS item (id INT PRIMARY KEY, name VARCHAR(32))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementTracker.stop();
+        jdbcTemplate.execute("DROP TABLE item");
+    }
+
+    @Test
+    @DisplayName("应统计 start 与 stop 之间执行的语句，批量执行算一条")
+    void shouldCountStatementsBetweenStartAndStop() {
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+
+        SqlStatementTracker.start();
+        jdbcTemplate.batchUpdate("INSERT INTO item (id, name) VALUES (?, ?)",
+                List.of(new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}));
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+        jdbcTemplate.queryForObject("SELECT name FROM item WHERE id = ?", String.class, 2);
+        SqlStatementTracker.Stats stats = SqlStatementTracker.stop();
+
+        assertThat(stats.getStatements()).isEqualTo(3);
+        assertThat(stats.getJdbcNanos()).isPositive();
+    }
+
+    @Test
+    @DisplayName("未开始统计时 stop 返回空统计")
+    void stopWithoutStart_ShouldReturnEmptyStats() {
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+
+        assertThat(SqlStatementTracker.current()).isNull();
+        assertThat(SqlStatementTracker.stop().getStatements()).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package com.volcano.blog.ratelimit;
+
+import com.volcano.blog.VolcanoBlogApplication;
+import com.volcano.blog.service.RateLimitService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 分布式限流集成测试
+ * 两个应用上下文模拟两个实例，共享同一个 H2（MySQL 模式）数据库中的令牌桶
+ */
+@DisplayName("JDBC 分布式限流集成测试")
+class JdbcBucketBackendIntegrationTest {
+
+    /**
+     * 以命令行参数传入，优先级高于 application-test.yml（SpringApplicationBuilder.properties 只是默认值）
+     */
+    private static final String[] ARGS = {
+            "--spring.datasource.url=jdbc:h2:mem:ratelimit-shared;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--server.port=0",
+            "--ratelimit.backend=jdbc",
+            "--ratelimit.login.capacity=5",
+            "--ratelimit.login.refill-tokens=5",
+            "--ratelimit.login.refill-minutes=1"
+    };
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startInstances() {
+        first = start();
+        second = start();
+        // 测试环境关闭了 Flyway，表结构与 V6 迁移一致
+        first.getBean(JdbcTemplate.class).execute("""
+                CREATE TABLE IF NOT EXISTS rate_limit_bucket (
+                    id BIGINT NOT NULL PRIMARY KEY,
+                    state BLOB,
+                    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )""");
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    @DisplayName("两个实例应共享同一客户端的登录限额")
+    void allowRequest_AcrossInstances_ShouldShareLimit() {
+        RateLimitService instanceA = first.getBean(RateLimitService.class);
+        RateLimitService instanceB = second.getBean(RateLimitService.class);
+        String clientId = "10.0.0.1";
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(instanceA.allowRequest(clientId)).as("instance A request %d", i + 1).isTrue();
+        }
+        for (int i = 0; i < 2; i++) {
+            assertThat(instanceB.allowRequest(clientId)).as("instance B request %d", i + 1).isTrue();
+        }
+
+        assertThat(instanceB.allowRequest(clientId)).isFalse();
+        assertThat(instanceA.allowRequest(clientId)).isFalse();
+        // 其他客户端不受影响
+        assertThat(instanceA.allowRequest("10.0.0.2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("一个实例重置后，其他实例也应看到新的限额")
+    void resetLimit_OnOneInstance_ShouldApplyToAll() {
+        RateLimitService instanceA = first.getBean(RateLimitService.class);
+        RateLimitService instanceB = second.getBean(RateLimitService.class);
+        String clientId = "10.0.0.3";
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(instanceA.allowRequest(clientId)).isTrue();
+        }
+        assertThat(instanceB.allowRequest(clientId)).isFalse();
+
+        instanceA.resetLimit(clientId);
+
+        assertThat(instanceB.allowRequest(clientId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("应使用 JDBC 后端，桶主键按策略和客户端稳定生成")
+    void keyOf_ShouldBeStablePerPolicyAndClient() {
+        assertThat(first.getBean(BucketBackend.class)).isInstanceOf(JdbcBucketBackend.class);
+        assertThat(JdbcBucketBackend.keyOf("login", "10.0.0.1"))
+                .isEqualTo(JdbcBucketBackend.keyOf("login", "10.0.0.1"))
+                .isNotEqualTo(JdbcBucketBackend.keyOf("login", "10.0.0.2"))
+                .isNotEqualTo(JdbcBucketBackend.keyOf("register", "10.0.0.1"));
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(VolcanoBlogApplication.class)
+                .profiles("test")
+                .run(ARGS);
+    }
+}
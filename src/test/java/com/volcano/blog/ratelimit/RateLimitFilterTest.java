@@ -0,0 +1,130 @@
+package com.volcano.blog.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volcano.blog.security.ClientIpResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RateLimitFilter 单元测试
+ */
+@DisplayName("限流过滤器测试")
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+    private RateLimitPolicy createPolicy;
+    private RateLimitPolicy myPostsPolicy;
+
+    @BeforeEach
+    void setUp() {
+        createPolicy = policy("create", 2);
+        myPostsPolicy = policy("my", 1);
+        RateLimitPolicy detailPolicy = policy("detail", 100);
+
+        filter = new RateLimitFilter(new ObjectMapper(), new ClientIpResolver(List.of()));
+        filter.setRoutes(new RateLimitRouteTable(List.of(
+                new RateLimitRouteTable.Route(Set.of("POST"), PathPatternParser.defaultInstance.parse("/api/posts"), createPolicy),
+                new RateLimitRouteTable.Route(Set.of(), PathPatternParser.defaultInstance.parse("/api/posts/{id}"), detailPolicy),
+                new RateLimitRouteTable.Route(Set.of("GET"), PathPatternParser.defaultInstance.parse("/api/posts/my"), myPostsPolicy))));
+    }
+
+    @Test
+    @DisplayName("通过的请求应带剩余令牌数并继续执行过滤器链")
+    void doFilter_WithinLimit_ShouldSetRemainingHeader() throws Exception {
+        MockHttpServletRequest request = request("POST", "/api/posts");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+        assertThat(request.getAttribute(RateLimitFilter.POLICY_ATTRIBUTE)).isSameAs(createPolicy);
+    }
+
+    @Test
+    @DisplayName("超限时应直接返回 429 和 Retry-After，不执行后续过滤器")
+    void doFilter_ExceedingLimit_ShouldReturn429() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(request("POST", "/api/posts"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("POST", "/api/posts"), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(response.getHeader(HttpHeaders.RETRY_AFTER))).isBetween(1L, 60L);
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(response.getContentAsString()).contains("\"error\":\"RATE_LIMIT_EXCEEDED\"");
+    }
+
+    @Test
+    @DisplayName("拒绝次数应记录在 ratelimit.requests 指标中")
+    void doFilter_ExceedingLimit_ShouldCountRejection() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        createPolicy.bindTo(registry);
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("POST", "/api/posts"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertThat(registry.get("ratelimit.requests").tags("policy", "create", "outcome", "accepted")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(registry.get("ratelimit.requests").tags("policy", "create", "outcome", "rejected")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("未匹配路由或 HTTP 方法不同时不应限流")
+    void doFilter_WithoutMatchingRoute_ShouldPassThrough() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("GET", "/api/posts"), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("更具体的路径模式应优先匹配")
+    void doFilter_WithOverlappingPatterns_ShouldPreferMostSpecific() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/posts/my");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(request.getAttribute(RateLimitFilter.POLICY_ATTRIBUTE)).isSameAs(myPostsPolicy);
+    }
+
+    @Test
+    @DisplayName("Retry-After 应向上取整到秒且至少为 1")
+    void retryAfterSeconds_ShouldRoundUp() {
+        assertThat(RateLimitFilter.retryAfterSeconds(0)).isEqualTo(1);
+        assertThat(RateLimitFilter.retryAfterSeconds(1_000_000_000L)).isEqualTo(1);
+        assertThat(RateLimitFilter.retryAfterSeconds(1_000_000_001L)).isEqualTo(2);
+    }
+
+    private static RateLimitPolicy policy(String name, int limit) {
+        return new RateLimitPolicy(name, List.of(RateLimitPolicy.Limit.perWindow(limit, Duration.ofMinutes(1))),
+                "too fast", Duration.ofMinutes(10), 1000, new LocalBucketBackend());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("1.1.1.1");
+        return request;
+    }
+}
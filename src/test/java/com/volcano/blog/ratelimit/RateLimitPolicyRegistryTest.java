@@ -0,0 +1,117 @@
+package com.volcano.blog.ratelimit;
+
+import com.volcano.blog.annotation.RateLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RateLimitPolicyRegistry 单元测试
+ */
+@DisplayName("限流策略注册表测试")
+class RateLimitPolicyRegistryTest {
+
+    @Test
+    @DisplayName("应按注解的 limit/window 限流，且各方法的桶相互独立")
+    void getPolicy_ShouldHonorLimitPerMethod() throws Exception {
+        RateLimitPolicyRegistry registry = registryFor(Endpoints.class);
+        RateLimitPolicy strict = registry.getPolicy(method(Endpoints.class, "strict"));
+        RateLimitPolicy relaxed = registry.getPolicy(method(Endpoints.class, "relaxed"));
+
+        assertThat(strict.tryConsume("1.1.1.1")).isTrue();
+        assertThat(strict.tryConsume("1.1.1.1")).isTrue();
+        assertThat(strict.tryConsume("1.1.1.1")).isFalse();
+        assertThat(strict.tryConsume("2.2.2.2")).isTrue();
+
+        assertThat(relaxed).isNotSameAs(strict);
+        assertThat(relaxed.tryConsume("1.1.1.1")).isTrue();
+        assertThat(strict.getMessage()).isEqualTo("too fast");
+    }
+
+    @Test
+    @DisplayName("附加带宽应与持续速率同时生效")
+    void getPolicy_WithBurstBandwidth_ShouldEnforceBoth() throws Exception {
+        RateLimitPolicyRegistry registry = registryFor(Endpoints.class);
+        RateLimitPolicy burst = registry.getPolicy(method(Endpoints.class, "burst"));
+
+        assertThat(burst.getLimits()).hasSize(2);
+        assertThat(burst.tryConsume("1.1.1.1")).isTrue();
+        assertThat(burst.tryConsume("1.1.1.1")).isTrue();
+        // 持续速率还有余量，但突发限制已用完
+        assertThat(burst.tryConsume("1.1.1.1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("相同 key 的方法应共享同一策略")
+    void getPolicy_WithSharedKey_ShouldReuseBuckets() throws Exception {
+        RateLimitPolicyRegistry registry = registryFor(Endpoints.class);
+        RateLimitPolicy first = registry.getPolicy(method(Endpoints.class, "sharedA"));
+        RateLimitPolicy second = registry.getPolicy(method(Endpoints.class, "sharedB"));
+
+        assertThat(first).isSameAs(second);
+        assertThat(registry.getPolicies()).extracting(RateLimitPolicy::getName)
+                .containsExactlyInAnyOrder("Endpoints.strict", "Endpoints.relaxed", "Endpoints.burst", "shared");
+    }
+
+    @Test
+    @DisplayName("相同 key 声明不同限流参数时应启动失败")
+    void afterSingletonsInstantiated_WithConflictingKey_ShouldFail() {
+        assertThatThrownBy(() -> registryFor(ConflictingEndpoints.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("conflict");
+    }
+
+    private static RateLimitPolicyRegistry registryFor(Class<?> beanClass) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("endpoints", new RootBeanDefinition(beanClass));
+        RateLimitPolicyRegistry registry = new RateLimitPolicyRegistry(beanFactory, new LocalBucketBackend(),
+                new SimpleMeterRegistry(), 10, 1000);
+        registry.afterSingletonsInstantiated();
+        return registry;
+    }
+
+    private static Method method(Class<?> type, String name) throws NoSuchMethodException {
+        return type.getDeclaredMethod(name);
+    }
+
+    static class Endpoints {
+
+        @RateLimit(limit = 2, window = 60, message = "too fast")
+        public void strict() {
+        }
+
+        @RateLimit(limit = 100, window = 60)
+        public void relaxed() {
+        }
+
+        @RateLimit(limit = 100, window = 3600, bandwidths = @RateLimit.Limit(limit = 2, window = 10))
+        public void burst() {
+        }
+
+        @RateLimit(key = "shared", limit = 5, window = 60)
+        public void sharedA() {
+        }
+
+        @RateLimit(key = "shared", limit = 5, window = 60)
+        public void sharedB() {
+        }
+    }
+
+    static class ConflictingEndpoints {
+
+        @RateLimit(key = "conflict", limit = 5, window = 60)
+        public void first() {
+        }
+
+        @RateLimit(key = "conflict", limit = 10, window = 60)
+        public void second() {
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.volcano.blog.ratelimit;
+
+import com.volcano.blog.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RateLimitRouteTable 单元测试
+ */
+@DisplayName("限流路由表测试")
+class RateLimitRouteTableTest {
+
+    private final RateLimitPolicyRegistry registry =
+            new RateLimitPolicyRegistry(new DefaultListableBeanFactory(), new LocalBucketBackend(),
+                    new SimpleMeterRegistry(), 10, 1000);
+    private final RateLimitPolicy loginPolicy = new RateLimitPolicy("login",
+            List.of(RateLimitPolicy.Limit.perWindow(5, Duration.ofMinutes(1))),
+            "too fast", Duration.ofMinutes(10), 1000, new LocalBucketBackend());
+
+    @Test
+    @DisplayName("配置的路由应按方法和路径匹配，未配置 limit 时引用已有策略")
+    void configuredRoutes_ShouldMatchByMethodAndPath() {
+        RateLimitRouteTable table = new RateLimitRouteTable(RateLimitRouteTable.configuredRoutes(List.of(
+                route("login", List.of("post"), List.of("/api/auth/login"), 0),
+                route("post-write", List.of("POST", "PUT", "DELETE"), List.of("/api/posts", "/api/posts/{id}"), 30)),
+                registry, Map.of("login", loginPolicy)));
+
+        assertThat(table.match(new MockHttpServletRequest("POST", "/api/auth/login"))).isSameAs(loginPolicy);
+        assertThat(table.match(new MockHttpServletRequest("PUT", "/api/posts/42")).getName()).isEqualTo("post-write");
+        assertThat(table.match(new MockHttpServletRequest("GET", "/api/posts/42"))).isNull();
+        assertThat(table.match(new MockHttpServletRequest("GET", "/api/auth/login"))).isNull();
+    }
+
+    @Test
+    @DisplayName("应忽略上下文路径")
+    void match_WithContextPath_ShouldStripIt() {
+        RateLimitRouteTable table = new RateLimitRouteTable(RateLimitRouteTable.configuredRoutes(List.of(
+                route("login", List.of("POST"), List.of("/api/auth/login"), 0)),
+                registry, Map.of("login", loginPolicy)));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/blog/api/auth/login");
+        request.setContextPath("/blog");
+
+        assertThat(table.match(request)).isSameAs(loginPolicy);
+    }
+
+    @Test
+    @DisplayName("未配置 limit 且引用未知策略时应启动失败")
+    void configuredRoutes_WithUnknownReference_ShouldFail() {
+        List<AppProperties.Ratelimit.Route> routes = List.of(route("unknown", List.of(), List.of("/x"), 0));
+
+        assertThatThrownBy(() -> RateLimitRouteTable.configuredRoutes(routes, registry, Map.of("login", loginPolicy)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("unknown");
+    }
+
+    private static AppProperties.Ratelimit.Route route(String name, List<String> methods, List<String> paths, int limit) {
+        AppProperties.Ratelimit.Route route = new AppProperties.Ratelimit.Route();
+        route.setName(name);
+        route.setMethods(methods);
+        route.setPaths(paths);
+        route.setLimit(limit);
+        return route;
+    }
+}
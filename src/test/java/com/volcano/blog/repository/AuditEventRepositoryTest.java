@@ -0,0 +1,111 @@
+package com.volcano.blog.repository;
+
+import com.volcano.blog.model.AuditRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AuditEventRepository 测试（H2，表由 AuditRecord 实体创建）
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(AuditEventRepository.class)
+@DisplayName("审计事件仓库测试")
+class AuditEventRepositoryTest {
+
+    private static final Instant BASE = Instant.parse("2026-10-01T00:00:00Z");
+    private static final AuditEventRepository.Criteria ALL =
+            new AuditEventRepository.Criteria(null, null, null, null);
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 超过单条语句行数上限，覆盖分块写入；每两条共享同一时间戳，覆盖 id 作为次排序键
+        List<AuditRecord> records = new ArrayList<>();
+        for (int i = 0; i < AuditEventRepository.MAX_ROWS_PER_STATEMENT + 50; i++) {
+            records.add(AuditRecord.builder()
+                    .createdAt(BASE.plusSeconds(i / 2))
+                    .userId(i % 2 == 0 ? 1L : 2L)
+                    .action(i % 3 == 0 ? "DELETE" : "UPDATE")
+                    .description("op " + i)
+                    .method("PostController.op(..)")
+                    .success(true)
+                    .durationMs(i)
+                    .build());
+        }
+        auditEventRepository.insertAll(records);
+    }
+
+    @Test
+    @DisplayName("多行批量写入后应能全部读出")
+    void insertAll_ShouldPersistAllChunks() {
+        List<AuditRecord> all = auditEventRepository.findPage(ALL, null, 0L, 1000);
+
+        assertThat(all).hasSize(AuditEventRepository.MAX_ROWS_PER_STATEMENT + 50);
+    }
+
+    @Test
+    @DisplayName("keyset 分页应按时间和 id 倒序且不重复、不遗漏")
+    void findPage_WithCursor_ShouldWalkAllRowsInOrder() {
+        List<AuditRecord> walked = new ArrayList<>();
+        List<AuditRecord> page = auditEventRepository.findPage(ALL, null, 0L, 40);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            AuditRecord last = page.get(page.size() - 1);
+            page = auditEventRepository.findPage(ALL, last.getCreatedAt(), last.getId(), 40);
+        }
+
+        assertThat(walked).hasSize(AuditEventRepository.MAX_ROWS_PER_STATEMENT + 50);
+        assertThat(walked).extracting(AuditRecord::getId).doesNotHaveDuplicates();
+        for (int i = 1; i < walked.size(); i++) {
+            AuditRecord previous = walked.get(i - 1);
+            AuditRecord current = walked.get(i);
+            assertThat(current.getCreatedAt().isBefore(previous.getCreatedAt())
+                    || (current.getCreatedAt().equals(previous.getCreatedAt()) && current.getId() < previous.getId()))
+                    .isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("应按用户、操作类型和时间范围过滤")
+    void findPage_WithCriteria_ShouldFilter() {
+        Instant from = BASE.plusSeconds(10);
+        Instant to = BASE.plusSeconds(20);
+        AuditEventRepository.Criteria criteria = new AuditEventRepository.Criteria(1L, "DELETE", from, to);
+
+        List<AuditRecord> rows = auditEventRepository.findPage(criteria, null, 0L, 100);
+
+        assertThat(rows).isNotEmpty().allSatisfy(row -> {
+            assertThat(row.getUserId()).isEqualTo(1L);
+            assertThat(row.getAction()).isEqualTo("DELETE");
+            assertThat(row.getCreatedAt()).isAfterOrEqualTo(from).isBefore(to);
+        });
+    }
+
+    @Test
+    @DisplayName("未分区时应按时间删除过期事件")
+    void deleteCreatedBefore_ShouldRemoveOlderRows() {
+        assertThat(auditEventRepository.findPartitions()).isEmpty();
+
+        int deleted = auditEventRepository.deleteCreatedBefore(BASE.plusSeconds(10));
+
+        assertThat(deleted).isEqualTo(20);
+        assertThat(auditEventRepository.findPage(ALL, null, 0L, 1000))
+                .allSatisfy(row -> assertThat(row.getCreatedAt()).isAfterOrEqualTo(BASE.plusSeconds(10)));
+    }
+}
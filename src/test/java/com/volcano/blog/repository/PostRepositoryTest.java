@@ -0,0 +1,164 @@
+package com.volcano.blog.repository;
+
+import com.volcano.blog.dto.PostDto;
+import com.volcano.blog.dto.PostFeedStats;
+import com.volcano.blog.dto.PostSummaryDto;
+import com.volcano.blog.dto.PostVersion;
+import com.volcano.blog.model.Post;
+import com.volcano.blog.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PostRepository 查询语句数量回归测试
+ * 通过 Hibernate Statistics 统计实际执行的 SQL 语句数，防止作者懒加载导致的 N+1 问题回归
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("文章仓库查询测试")
+class PostRepositoryTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // 每篇文章使用不同的作者，最大化 N+1 的影响
+        for (int i = 0; i < PAGE_SIZE + 10; i++) {
+            User author = userRepository.save(User.builder()
+                    .email("author" + i + "@example.com")
+                    .password("encoded")
+                    .name("Author " + i)
+                    .build());
+            postRepository.save(Post.builder()
+                    .title("Post " + i)
+                    .content("Content " + i)
+                    .published(true)
+                    .author(author)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("分页查询 50 篇已发布文章并转换 DTO 最多执行 2 条语句")
+    void findPublishedWithAuthor_ShouldNotTriggerNPlusOne() {
+        // When
+        Page<Post> page = postRepository.findPublishedWithAuthor(
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+        List<PostDto> dtos = page.getContent().stream()
+                .map(PostDto::fromEntity)
+                .collect(Collectors.toList());
+
+        // Then: 一条分页查询 + 一条总数查询
+        assertThat(dtos).hasSize(PAGE_SIZE);
+        assertThat(dtos).allSatisfy(dto -> assertThat(dto.getAuthorName()).startsWith("Author "));
+        assertThat(page.getTotalElements()).isEqualTo(PAGE_SIZE + 10);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("分页查询全部文章并转换 DTO 最多执行 2 条语句")
+    void findAllWithAuthor_ShouldNotTriggerNPlusOne() {
+        Page<Post> page = postRepository.findAllWithAuthor(
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+        page.getContent().forEach(PostDto::fromEntity);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("游标分页查询并转换 DTO 只执行 1 条语句")
+    void findPublishedFirstPage_ShouldUseSingleStatement() {
+        List<Post> posts = postRepository.findPublishedFirstPage(PageRequest.of(0, PAGE_SIZE + 1));
+        posts.forEach(PostDto::fromEntity);
+
+        assertThat(posts).hasSize(PAGE_SIZE + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("摘要投影查询返回摘要与作者名且不触发额外查询")
+    void findPublishedSummaries_ShouldProjectWithoutContent() {
+        Page<PostSummaryDto> page = postRepository.findPublishedSummaries(
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(summary -> {
+            assertThat(summary.getExcerpt()).startsWith("Content ");
+            assertThat(summary.getAuthorName()).startsWith("Author ");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        // 投影结果不是托管实体
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("已发布文章汇总状态随修改变化")
+    void findPublishedFeedStats_ShouldChangeOnUpdate() {
+        PostFeedStats before = postRepository.findPublishedFeedStats();
+        assertThat(before.count()).isEqualTo(PAGE_SIZE + 10);
+        assertThat(before.revisionSum()).isZero();
+
+        Post post = postRepository.findPublishedFirstPage(PageRequest.of(0, 1)).get(0);
+        post.setContent("Changed");
+        entityManager.flush();
+
+        PostFeedStats after = postRepository.findPublishedFeedStats();
+        assertThat(after.revisionSum()).isEqualTo(1);
+        assertThat(after.eTag()).isNotEqualTo(before.eTag());
+    }
+
+    @Test
+    @DisplayName("每次修改修订号加一，版本查询返回修订号和作者信息")
+    void update_ShouldIncrementRevision() {
+        Post post = postRepository.findPublishedFirstPage(PageRequest.of(0, 1)).get(0);
+        Long id = post.getId();
+        assertThat(post.getRevision()).isZero();
+
+        post.setTitle("Changed once");
+        entityManager.flush();
+        post.setTitle("Changed twice");
+        entityManager.flush();
+        entityManager.clear();
+
+        PostVersion version = postRepository.findVersionById(id).orElseThrow();
+        assertThat(version.revision()).isEqualTo(2);
+        assertThat(version.authorName()).startsWith("Author ");
+        assertThat(version.authorEmail()).endsWith("@example.com");
+        Post reloaded = postRepository.findWithAuthorById(id).orElseThrow();
+        assertThat(version).isEqualTo(PostVersion.of(PostDto.fromEntity(reloaded)));
+    }
+}
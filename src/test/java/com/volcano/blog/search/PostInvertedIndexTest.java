@@ -0,0 +1,128 @@
+package com.volcano.blog.search;
+
+import com.volcano.blog.repository.PostSearchRepository.Match;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PostInvertedIndex 测试
+ */
+@DisplayName("文章倒排索引测试")
+class PostInvertedIndexTest {
+
+    private static List<Long> search(PostInvertedIndex index, String query) {
+        return index.search(SearchTokenizer.queryClauses(query), null, 0, 10_000).stream()
+                .map(Match::id)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("标题命中权重更高，关键词内的二元词需全部命中")
+    void search_ShouldRankTitleHitsFirst() {
+        PostInvertedIndex index = new PostInvertedIndex();
+        index.upsert(1, "部署笔记", "使用 Docker 部署博客系统");
+        index.upsert(2, "博客系统设计", "介绍整体架构");
+        index.upsert(3, "系统博客", "“系统”与“博客”相邻但顺序不同");
+
+        assertThat(search(index, "博客系统")).containsExactly(2L, 1L);
+        assertThat(search(index, "docker")).containsExactly(1L);
+        assertThat(search(index, "kubernetes")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("多个关键词之间取并集，同时命中的排在前面")
+    void search_MultipleTerms_ShouldUnion() {
+        PostInvertedIndex index = new PostInvertedIndex();
+        index.upsert(1, "Redis 缓存", "缓存穿透");
+        index.upsert(2, "MySQL 索引", "覆盖索引");
+        index.upsert(3, "缓存与索引", "两者都有");
+
+        assertThat(search(index, "缓存 索引")).hasSize(3).first().isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("更新和删除后不再返回旧内容")
+    void upsertAndRemove_ShouldReplaceDocument() {
+        PostInvertedIndex index = new PostInvertedIndex();
+        index.upsert(1, "Java 并发", "线程池");
+        index.upsert(1, "Go 并发", "协程");
+
+        assertThat(search(index, "java")).isEmpty();
+        assertThat(search(index, "go")).containsExactly(1L);
+
+        index.remove(1);
+        assertThat(search(index, "并发")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("游标分页应按 (相关度, id) 连续且不重复")
+    void search_WithCursor_ShouldPageThroughAllHits() {
+        PostInvertedIndex index = new PostInvertedIndex();
+        for (long id = 1; id <= 25; id++) {
+            index.upsert(id, "文章 " + id, "性能 ".repeat(1 + (int) (id % 4)));
+        }
+
+        List<List<String>> clauses = SearchTokenizer.queryClauses("性能");
+        List<Match> all = index.search(clauses, null, 0, 100);
+        List<Match> paged = new ArrayList<>();
+        Match last = null;
+        do {
+            List<Match> page = index.search(clauses, last != null ? last.score() : null,
+                    last != null ? last.id() : 0, 7);
+            paged.addAll(page);
+            last = page.size() == 7 ? page.get(6) : null;
+        } while (last != null);
+
+        assertThat(all).hasSize(25);
+        assertThat(paged).containsExactlyElementsOf(all);
+    }
+
+    @Test
+    @DisplayName("大量删除后压缩，检索结果不变")
+    void remove_ManyDocuments_ShouldCompact() {
+        PostInvertedIndex index = new PostInvertedIndex();
+        int count = PostInvertedIndex.MIN_COMPACT_DELETIONS * 2;
+        for (long id = 1; id <= count; id++) {
+            index.upsert(id, id % 2 == 0 ? "偶数文章" : "奇数文章", "内容");
+        }
+        index.retainAll(id -> id % 2 == 0);
+
+        assertThat(index.size()).isEqualTo(count / 2);
+        assertThat(search(index, "偶数")).hasSize(count / 2).allMatch(id -> id % 2 == 0);
+        assertThat(search(index, "奇数")).isEmpty();
+
+        index.upsert(count + 1L, "奇数文章", "压缩后新增");
+        assertThat(search(index, "奇数")).containsExactly(count + 1L);
+    }
+
+    @Test
+    @DisplayName("快照写出后读取，检索结果和相关度一致")
+    void writeToAndReadFrom_ShouldRoundTrip() throws IOException {
+        PostInvertedIndex index = new PostInvertedIndex();
+        index.upsert(1, "全文检索", "倒排索引与 BM25");
+        index.upsert(2, "索引压缩", "varint 编码");
+        index.upsert(3, "已删除", "不应写出");
+        index.remove(3);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        PostInvertedIndex restored = PostInvertedIndex.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        List<List<String>> clauses = SearchTokenizer.queryClauses("索引 已删除");
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.contains(3)).isFalse();
+        assertThat(restored.search(clauses, null, 0, 10)).isEqualTo(index.search(clauses, null, 0, 10));
+    }
+}
@@ -0,0 +1,163 @@
+package com.volcano.blog.search;
+
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.dto.PostSearchDocument;
+import com.volcano.blog.event.PostChangedEvent;
+import com.volcano.blog.model.Post;
+import com.volcano.blog.repository.PostRepository;
+import com.volcano.blog.repository.PostSearchRepository.Match;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * PostSearchIndex 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("文章搜索索引测试")
+class PostSearchIndexTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private PostSearchIndex newIndex(Path snapshot) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSearch().getIndex().setSnapshotPath(snapshot != null ? snapshot.toString() : "");
+        appProperties.getSearch().getIndex().setBatchSize(2);
+        return new PostSearchIndex(postRepository, appProperties);
+    }
+
+    private static List<Long> ids(PostSearchIndex index, String query) {
+        return index.search(query, null, 0, 10).matches().stream().map(Match::id).toList();
+    }
+
+    private static Post post(long id, String title, boolean published) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle(title);
+        post.setContent("");
+        post.setPublished(published);
+        return post;
+    }
+
+    @Test
+    @DisplayName("全量构建应按 id 分批读取全部已发布文章")
+    void initialize_WithoutSnapshot_ShouldLoadInBatches() {
+        when(postRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new PostSearchDocument(1L, "缓存设计", ""), new PostSearchDocument(2L, "缓存穿透", "")));
+        when(postRepository.findSearchDocumentsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(
+                new PostSearchDocument(5L, "索引设计", "")));
+        PostSearchIndex index = newIndex(null);
+
+        assertThat(index.isReady()).isFalse();
+        index.initialize();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(index, "缓存")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index, "设计")).containsExactlyInAnyOrder(1L, 5L);
+        verify(postRepository, times(2)).findSearchDocumentsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("文章变更事件应增量更新索引")
+    void onPostChanged_ShouldUpdateIndex() {
+        when(postRepository.findSearchDocumentsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        PostSearchIndex index = newIndex(null);
+        index.initialize();
+
+        index.onPostChanged(PostChangedEvent.created(post(1L, "并发编程", true)));
+        index.onPostChanged(PostChangedEvent.created(post(2L, "并发草稿", false)));
+        assertThat(ids(index, "并发")).containsExactly(1L);
+
+        index.onPostChanged(PostChangedEvent.updated(post(1L, "并发编程", false), true));
+        assertThat(ids(index, "并发")).isEmpty();
+
+        index.onPostChanged(PostChangedEvent.updated(post(2L, "并发实战", true), false));
+        index.onPostChanged(PostChangedEvent.deleted(3L, true));
+        assertThat(ids(index, "并发")).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("从快照恢复后只追赶增量，并移除已删除的文章")
+    void initialize_WithSnapshot_ShouldCatchUp() throws Exception {
+        Path snapshot = tempDir.resolve("index").resolve("posts.bin");
+        when(postRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new PostSearchDocument(1L, "旧标题", ""), new PostSearchDocument(2L, "将被删除", "")));
+        when(postRepository.findSearchDocumentsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        PostSearchIndex first = newIndex(snapshot);
+        Instant beforeBuild = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        first.initialize();
+        Instant afterBuild = Instant.now();
+        first.destroy();
+        assertThat(Files.isRegularFile(snapshot)).isTrue();
+
+        reset(postRepository);
+        when(postRepository.findSearchDocumentsUpdatedSince(any(Instant.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new PostSearchDocument(1L, "新标题", ""), new PostSearchDocument(3L, "新文章", "")));
+        when(postRepository.findSearchDocumentsUpdatedSince(any(Instant.class), eq(3L), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(postRepository.findPublishedIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 3L));
+        when(postRepository.findPublishedIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        PostSearchIndex restarted = newIndex(snapshot);
+        restarted.initialize();
+
+        assertThat(ids(restarted, "标题")).containsExactly(1L);
+        assertThat(ids(restarted, "旧标")).isEmpty();
+        assertThat(ids(restarted, "删除")).isEmpty();
+        assertThat(ids(restarted, "文章")).containsExactly(3L);
+        verify(postRepository, never()).findSearchDocumentsAfter(anyLong(), any(Pageable.class));
+        verify(postRepository).findSearchDocumentsUpdatedSince(
+                argThat(since -> !since.isBefore(beforeBuild.minus(PostSearchIndex.CATCH_UP_MARGIN))
+                        && !since.isAfter(afterBuild.minus(PostSearchIndex.CATCH_UP_MARGIN))),
+                eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("重建后应产生新的代，增量更新不改变代")
+    void rebuild_ShouldAdvanceGeneration() {
+        when(postRepository.findSearchDocumentsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        PostSearchIndex index = newIndex(null);
+        assertThat(index.search("并发", null, 0, 10).generation()).isZero();
+
+        index.initialize();
+        long first = index.search("并发", null, 0, 10).generation();
+        index.onPostChanged(PostChangedEvent.created(post(1L, "并发编程", true)));
+        assertThat(index.search("并发", null, 0, 10).generation()).isEqualTo(first);
+
+        index.rebuild();
+        assertThat(index.search("并发", null, 0, 10).generation()).isGreaterThan(first);
+    }
+
+    @Test
+    @DisplayName("未启用时不构建索引")
+    void initialize_WhenDisabled_ShouldStayNotReady() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSearch().getIndex().setEnabled(false);
+        PostSearchIndex index = new PostSearchIndex(postRepository, appProperties);
+
+        index.onApplicationReady();
+        index.rebuild();
+
+        assertThat(index.isReady()).isFalse();
+        verifyNoInteractions(postRepository);
+    }
+}
@@ -0,0 +1,60 @@
+package com.volcano.blog.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SearchTokenizer 测试
+ */
+@DisplayName("搜索分词器测试")
+class SearchTokenizerTest {
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        SearchTokenizer.tokenize(text, tokens::add);
+        return tokens;
+    }
+
+    @Test
+    @DisplayName("中文按相邻两字切分为二元词")
+    void tokenize_Chinese_ShouldEmitBigrams() {
+        assertThat(tokens("全文检索")).containsExactly("全文", "文检", "检索");
+    }
+
+    @Test
+    @DisplayName("单个汉字保留为单字")
+    void tokenize_SingleHan_ShouldEmitUnigram() {
+        assertThat(tokens("我，爱")).containsExactly("我", "爱");
+    }
+
+    @Test
+    @DisplayName("中英混排时英文整词切分并转为小写")
+    void tokenize_Mixed_ShouldSplitScripts() {
+        assertThat(tokens("Spring Boot入门指南 v3.1"))
+                .containsExactly("spring", "boot", "入门", "门指", "指南", "v3", "1");
+    }
+
+    @Test
+    @DisplayName("全角字母数字归一化为半角")
+    void tokenize_FullWidth_ShouldNormalize() {
+        assertThat(tokens("ＪＡＶＡ１７")).containsExactly("java17");
+    }
+
+    @Test
+    @DisplayName("过长的词只保留前缀")
+    void tokenize_LongWord_ShouldTruncate() {
+        assertThat(tokens("a".repeat(100))).containsExactly("a".repeat(SearchTokenizer.MAX_TOKEN_LENGTH));
+    }
+
+    @Test
+    @DisplayName("查询按空白拆分为子句，子句内的词去重")
+    void queryClauses_ShouldGroupTokensByTerm() {
+        assertThat(SearchTokenizer.queryClauses("缓存缓存 spring-boot  缓存缓存 !!"))
+                .containsExactly(List.of("缓存", "存缓"), List.of("spring", "boot"));
+    }
+}
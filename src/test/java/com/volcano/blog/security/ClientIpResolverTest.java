@@ -0,0 +1,106 @@
+package com.volcano.blog.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ClientIpResolver / ClientAddress 单元测试
+ */
+@DisplayName("客户端 IP 解析测试")
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver(List.of("10.0.0.0/8", "::1"));
+
+    @Test
+    @DisplayName("直接连接方不是受信任代理时应忽略转发头")
+    void resolve_FromUntrustedPeer_ShouldIgnoreForwardedFor() {
+        MockHttpServletRequest request = request("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "1.2.3.4");
+        request.addHeader("X-Real-IP", "5.6.7.8");
+
+        assertThat(resolver.resolve(request)).hasToString("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("应从右向左跳过受信任代理，取第一个不受信任的地址")
+    void resolve_ThroughTrustedProxies_ShouldTakeRightmostUntrusted() {
+        MockHttpServletRequest request = request("10.0.0.2");
+        request.addHeader("X-Forwarded-For", "6.6.6.6, 198.51.100.1 , 10.0.0.1");
+
+        assertThat(resolver.resolve(request)).hasToString("198.51.100.1");
+    }
+
+    @Test
+    @DisplayName("转发链全部受信任时取最左侧地址，无法解析的条目不再向左信任")
+    void resolve_WithAllTrustedOrInvalidHops_ShouldStop() {
+        MockHttpServletRequest allTrusted = request("10.0.0.2");
+        allTrusted.addHeader("X-Forwarded-For", "10.1.1.1, 10.0.0.1");
+        assertThat(resolver.resolve(allTrusted)).hasToString("10.1.1.1");
+
+        MockHttpServletRequest invalid = request("10.0.0.2");
+        invalid.addHeader("X-Forwarded-For", "6.6.6.6, unknown, 10.0.0.1");
+        assertThat(resolver.resolve(invalid)).hasToString("10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("没有 X-Forwarded-For 时使用受信任代理提供的 X-Real-IP")
+    void resolve_WithRealIp_ShouldUseIt() {
+        MockHttpServletRequest request = request("0:0:0:0:0:0:0:1");
+        request.addHeader("X-Real-IP", "2001:db8::1");
+
+        assertThat(resolver.resolve(request)).isEqualTo(ClientAddress.parse("2001:db8:0:0:0:0:0:1"));
+    }
+
+    @Test
+    @DisplayName("每个请求只解析一次，结果缓存在请求属性中")
+    void resolve_ShouldCacheInRequestAttribute() {
+        MockHttpServletRequest request = request("203.0.113.7");
+        ClientAddress first = resolver.resolve(request);
+        request.setRemoteAddr("203.0.113.8");
+
+        assertThat(resolver.resolve(request)).isSameAs(first);
+        assertThat(request.getAttribute(ClientIpResolver.ATTRIBUTE)).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("应解析 IPv4、IPv6 压缩、嵌入 IPv4、端口和方括号形式")
+    void parse_ShouldHandleCommonForms() {
+        assertThat(ClientAddress.parse("192.168.1.10:8080")).hasToString("192.168.1.10");
+        assertThat(ClientAddress.parse("[::1]:443")).isEqualTo(ClientAddress.ofIpv6(0, 1));
+        assertThat(ClientAddress.parse("::ffff:192.168.1.10")).isEqualTo(ClientAddress.parse("192.168.1.10"));
+        assertThat(ClientAddress.parse("fe80::1%eth0")).isEqualTo(ClientAddress.ofIpv6(0xfe80_0000_0000_0000L, 1));
+        assertThat(ClientAddress.parse("1::")).isEqualTo(ClientAddress.ofIpv6(0x0001_0000_0000_0000L, 0));
+        assertThat(ClientAddress.parse("192.168.1.10").isIpv4()).isTrue();
+    }
+
+    @Test
+    @DisplayName("无效地址应返回 null")
+    void parse_WithInvalidText_ShouldReturnNull() {
+        assertThat(ClientAddress.parse("unknown")).isNull();
+        assertThat(ClientAddress.parse("256.1.1.1")).isNull();
+        assertThat(ClientAddress.parse("1.2.3")).isNull();
+        assertThat(ClientAddress.parse("1:2:3:4:5:6:7:8:9")).isNull();
+        assertThat(ClientAddress.parse("1::2::3")).isNull();
+        assertThat(ClientAddress.parse("example.com")).isNull();
+        assertThat(ClientAddress.parse("")).isNull();
+    }
+
+    @Test
+    @DisplayName("无效的受信任代理配置应启动失败")
+    void constructor_WithInvalidCidr_ShouldFail() {
+        assertThatThrownBy(() -> new ClientIpResolver(List.of("10.0.0.0/33")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
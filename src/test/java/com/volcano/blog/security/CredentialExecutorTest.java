@@ -0,0 +1,88 @@
+package com.volcano.blog.security;
+
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CredentialExecutor 单元测试
+ */
+@DisplayName("凭证操作执行器测试")
+class CredentialExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CredentialExecutor credentialExecutor;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getPasswordHashing().setThreads(1);
+        appProperties.getPasswordHashing().setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        credentialExecutor = new CredentialExecutor(appProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        credentialExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("任务结果和异常应传递给 future")
+    void shouldCompleteWithTaskResultOrError() {
+        assertThat(credentialExecutor.submit(() -> "ok").join()).isEqualTo("ok");
+
+        CompletableFuture<Object> failed = credentialExecutor.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        assertThatThrownBy(failed::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("队列已满时应立即拒绝")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        try {
+            // 占满唯一的线程和唯一的队列位置
+            credentialExecutor.submit(() -> {
+                running.countDown();
+                await(release);
+                return null;
+            });
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            credentialExecutor.submit(() -> null);
+
+            CompletableFuture<Object> rejected = credentialExecutor.submit(() -> null);
+
+            assertThat(rejected).isCompletedExceptionally();
+            assertThatThrownBy(rejected::get).hasCauseInstanceOf(ServiceBusyException.class);
+            assertThat(meterRegistry.get("auth.credential.rejected").tag("reason", "queue_full").counter().count())
+                    .isEqualTo(1.0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.volcano.blog.security;
+
+import com.volcano.blog.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JwtAuthenticationFilter 单元测试
+ */
+@DisplayName("JWT 认证过滤器测试")
+class JwtAuthenticationFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenProvider = new JwtTokenProvider(3600000L, meterRegistry);
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret", Base64.getEncoder().encodeToString(
+                "test-secret-key-for-jwt-testing-minimum-32-chars".getBytes()));
+        jwtTokenProvider.init();
+        filter = new JwtAuthenticationFilter(new JwtPrincipalCache(jwtTokenProvider, new AppProperties()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication authenticate(String path, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                authentication.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        });
+        SecurityContextHolder.clearContext();
+        return authentication.get();
+    }
+
+    private double malformedFailures() {
+        return meterRegistry.get("auth.jwt.parse.failures").tag("reason", "malformed").counter().count();
+    }
+
+    @Test
+    @DisplayName("Prometheus 抓取令牌不应按 JWT 解析，失败计数不变")
+    void scrapeToken_ShouldNotCountAsJwtFailure() throws Exception {
+        assertThat(authenticate("/actuator/prometheus", "s3cret-scrape-token")).isNull();
+
+        assertThat(malformedFailures()).isZero();
+    }
+
+    @Test
+    @DisplayName("管理员用 JWT 访问抓取端点时仍应认证")
+    void jwtOnPrometheus_ShouldAuthenticate() throws Exception {
+        String token = jwtTokenProvider.createToken(1L, "admin@example.com", "ADMIN");
+
+        Authentication authentication = authenticate("/actuator/prometheus", token);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("其他路径上的畸形令牌仍计入失败指标")
+    void malformedTokenElsewhere_ShouldCountFailure() throws Exception {
+        assertThat(authenticate("/api/posts", "not-a-jwt")).isNull();
+
+        assertThat(malformedFailures()).isEqualTo(1);
+    }
+}
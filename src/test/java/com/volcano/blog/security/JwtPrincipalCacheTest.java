@@ -0,0 +1,81 @@
+package com.volcano.blog.security;
+
+import com.volcano.blog.config.AppProperties;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * JwtPrincipalCache 单元测试
+ */
+@DisplayName("JWT 主体缓存测试")
+class JwtPrincipalCacheTest {
+
+    private final String base64Secret = Base64.getEncoder().encodeToString(
+            "test-secret-key-for-jwt-testing-minimum-32-chars".getBytes()
+    );
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtPrincipalCache jwtPrincipalCache;
+
+    private JwtTokenProvider provider(long validityInMs) {
+        JwtTokenProvider provider = new JwtTokenProvider(validityInMs, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "secret", base64Secret);
+        provider.init();
+        return spy(provider);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = provider(3600000L);
+        jwtPrincipalCache = new JwtPrincipalCache(jwtTokenProvider, new AppProperties());
+    }
+
+    @Test
+    @DisplayName("同一令牌只应验证一次")
+    void shouldVerifyTokenOnlyOnce() {
+        String token = jwtTokenProvider.createToken(1L, "test@example.com", "ADMIN");
+
+        JwtPrincipalCache.VerifiedToken first = jwtPrincipalCache.get(token);
+        JwtPrincipalCache.VerifiedToken second = jwtPrincipalCache.get(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.principal().getUserId()).isEqualTo(1L);
+        assertThat(first.principal().getEmail()).isEqualTo("test@example.com");
+        assertThat(first.authorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        assertThat(first.expiresAtMs()).isGreaterThan(System.currentTimeMillis());
+        verify(jwtTokenProvider, times(1)).parseToken(token);
+    }
+
+    @Test
+    @DisplayName("无效令牌不应缓存")
+    void invalidTokenShouldNotBeCached() {
+        assertThatThrownBy(() -> jwtPrincipalCache.get("invalid.token"))
+                .isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> jwtPrincipalCache.get("invalid.token"))
+                .isInstanceOf(MalformedJwtException.class);
+
+        verify(jwtTokenProvider, times(2)).parseToken(anyString());
+    }
+
+    @Test
+    @DisplayName("过期令牌应被拒绝")
+    void expiredTokenShouldBeRejected() {
+        JwtTokenProvider expiredProvider = provider(-1000L);
+        JwtPrincipalCache cache = new JwtPrincipalCache(expiredProvider, new AppProperties());
+        String token = expiredProvider.createToken(1L, "test@example.com", "USER");
+
+        assertThatThrownBy(() -> cache.get(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
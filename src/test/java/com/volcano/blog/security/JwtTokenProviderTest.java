@@ -4,6 +4,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +21,7 @@ import static org.assertj.core.api.Assertions.*;
 class JwtTokenProviderTest {
 
     private JwtTokenProvider jwtTokenProvider;
+    private SimpleMeterRegistry meterRegistry;
     private final long validityInMs = 3600000L; // 1小时
     private final String base64Secret = Base64.getEncoder().encodeToString(
             "test-secret-key-for-jwt-testing-minimum-32-chars".getBytes()
@@ -27,7 +29,8 @@ class JwtTokenProviderTest {
 
     @BeforeEach
     void setUp() {
-        jwtTokenProvider = new JwtTokenProvider(validityInMs);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenProvider = new JwtTokenProvider(validityInMs, meterRegistry);
         ReflectionTestUtils.setField(jwtTokenProvider, "secret", base64Secret);
         jwtTokenProvider.init();
     }
@@ -93,11 +96,38 @@ class JwtTokenProviderTest {
                 .isInstanceOf(MalformedJwtException.class);
     }
 
+    @Test
+    @DisplayName("解析失败 - 应该按原因计数")
+    void parseToken_WithInvalidToken_ShouldCountFailureByReason() {
+        // Given
+        String token = jwtTokenProvider.createToken(1L, "test@example.com", "USER");
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A')
+                + token.substring(signatureStart + 1);
+
+        // When
+        jwtTokenProvider.parseToken(token);
+        assertThatThrownBy(() -> jwtTokenProvider.parseToken("not-a-jwt-at-all"));
+        assertThatThrownBy(() -> jwtTokenProvider.parseToken(tampered));
+
+        // Then
+        assertThat(failures("malformed")).isEqualTo(1.0);
+        assertThat(failures("signature")).isEqualTo(1.0);
+        assertThat(failures("expired")).isZero();
+        assertThat(meterRegistry.get("auth.jwt").tag("operation", "parse").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("auth.jwt").tag("operation", "create").timer().count()).isEqualTo(1);
+    }
+
+    private double failures(String reason) {
+        return meterRegistry.get("auth.jwt.parse.failures").tag("reason", reason).counter().count();
+    }
+
     @Test
     @DisplayName("初始化 - 密钥太短应该抛出异常")
     void init_WithShortSecret_ShouldThrowException() {
         // Given
-        JwtTokenProvider shortSecretProvider = new JwtTokenProvider(validityInMs);
+        JwtTokenProvider shortSecretProvider = new JwtTokenProvider(validityInMs, meterRegistry);
         ReflectionTestUtils.setField(shortSecretProvider, "secret", "short");
 
         // When & Then
@@ -110,7 +140,7 @@ class JwtTokenProviderTest {
     @DisplayName("初始化 - null 密钥应该抛出异常")
     void init_WithNullSecret_ShouldThrowException() {
         // Given
-        JwtTokenProvider nullSecretProvider = new JwtTokenProvider(validityInMs);
+        JwtTokenProvider nullSecretProvider = new JwtTokenProvider(validityInMs, meterRegistry);
         ReflectionTestUtils.setField(nullSecretProvider, "secret", null);
 
         // When & Then
@@ -122,7 +152,7 @@ class JwtTokenProviderTest {
     @DisplayName("创建 JWT - 应该在指定时间后过期")
     void createToken_ShouldExpireAfterSpecifiedTime() throws InterruptedException {
         // Given: 创建一个只有 1 秒有效期的提供者
-        JwtTokenProvider shortLivedProvider = new JwtTokenProvider(1000L); // 1秒
+        JwtTokenProvider shortLivedProvider = new JwtTokenProvider(1000L, meterRegistry); // 1秒
         ReflectionTestUtils.setField(shortLivedProvider, "secret", base64Secret);
         shortLivedProvider.init();
 
@@ -140,7 +170,7 @@ class JwtTokenProviderTest {
     @DisplayName("创建 JWT - 使用非 Base64 密钥应该也能工作")
     void createToken_WithNonBase64Secret_ShouldWork() {
         // Given: 使用一个足够长但不是 Base64 编码的密钥
-        JwtTokenProvider nonBase64Provider = new JwtTokenProvider(validityInMs);
+        JwtTokenProvider nonBase64Provider = new JwtTokenProvider(validityInMs, meterRegistry);
         String plainSecret = "this-is-a-plain-secret-key-not-base64-encoded-but-long-enough";
         ReflectionTestUtils.setField(nonBase64Provider, "secret", plainSecret);
         nonBase64Provider.init();
@@ -0,0 +1,60 @@
+package com.volcano.blog.security;
+
+import com.volcano.blog.config.AppProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MetricsScrapeAuthorizationManager 单元测试
+ */
+@DisplayName("指标抓取授权测试")
+class MetricsScrapeAuthorizationManagerTest {
+
+    private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken(
+            "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+    private static MetricsScrapeAuthorizationManager manager(String scrapeToken) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getMetrics().setScrapeToken(scrapeToken);
+        return new MetricsScrapeAuthorizationManager(appProperties);
+    }
+
+    private static boolean granted(MetricsScrapeAuthorizationManager manager, Authentication authentication,
+                                   String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return manager.check(() -> authentication, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    @Test
+    @DisplayName("携带正确抓取令牌的匿名请求应被允许，错误令牌应被拒绝")
+    void check_WithScrapeToken_ShouldCompareToken() {
+        MetricsScrapeAuthorizationManager manager = manager("s3cret");
+
+        assertThat(granted(manager, ANONYMOUS, "Bearer s3cret")).isTrue();
+        assertThat(granted(manager, ANONYMOUS, "Bearer wrong")).isFalse();
+        assertThat(granted(manager, ANONYMOUS, "s3cret")).isFalse();
+        assertThat(granted(manager, ANONYMOUS, null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("未配置抓取令牌时只允许 ADMIN")
+    void check_WithoutScrapeToken_ShouldRequireAdmin() {
+        MetricsScrapeAuthorizationManager manager = manager("");
+
+        assertThat(granted(manager, ANONYMOUS, "Bearer ")).isFalse();
+        assertThat(granted(manager, new TestingAuthenticationToken("user", null, "ROLE_USER"), null)).isFalse();
+        assertThat(granted(manager, new TestingAuthenticationToken("admin", null, "ROLE_ADMIN"), null)).isTrue();
+    }
+}
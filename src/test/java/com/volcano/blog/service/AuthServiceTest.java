@@ -6,6 +6,7 @@ import com.volcano.blog.dto.UserDto;
 import com.volcano.blog.model.User;
 import com.volcano.blog.repository.UserRepository;
 import com.volcano.blog.security.JwtTokenProvider;
+import com.volcano.blog.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,7 +16,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
@@ -41,7 +41,7 @@ class AuthServiceTest {
     private JwtTokenProvider jwtTokenProvider;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @InjectMocks
     private AuthService authService;
@@ -79,7 +79,7 @@ class AuthServiceTest {
     void login_WithValidCredentials_ShouldReturnLoginResponse() {
         // Given: 模拟用户存在且密码匹配
         when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(passwordHasher.matches(testPassword, encodedPassword)).thenReturn(true);
         when(jwtTokenProvider.createToken(anyLong(), anyString(), anyString())).thenReturn(testToken);
 
         // When: 执行登录
@@ -96,7 +96,7 @@ class AuthServiceTest {
 
         // 验证方法调用次数
         verify(userRepository, times(1)).findByEmail(testEmail);
-        verify(passwordEncoder, times(1)).matches(testPassword, encodedPassword);
+        verify(passwordHasher, times(1)).matches(testPassword, encodedPassword);
         verify(jwtTokenProvider, times(1)).createToken(
                 testUser.getId(),
                 testUser.getEmail(),
@@ -117,7 +117,7 @@ class AuthServiceTest {
 
         // 验证只调用了 findByEmail，没有继续执行
         verify(userRepository, times(1)).findByEmail(testEmail);
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(passwordHasher, never()).matches(anyString(), anyString());
         verify(jwtTokenProvider, never()).createToken(anyLong(), anyString(), anyString());
     }
 
@@ -126,7 +126,7 @@ class AuthServiceTest {
     void login_WithInvalidPassword_ShouldThrowException() {
         // Given: 模拟用户存在但密码不匹配
         when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(false);
+        when(passwordHasher.matches(testPassword, encodedPassword)).thenReturn(false);
 
         // When & Then: 执行登录应该抛出异常
         assertThatThrownBy(() -> authService.login(validLoginRequest))
@@ -135,7 +135,7 @@ class AuthServiceTest {
 
         // 验证调用链
         verify(userRepository, times(1)).findByEmail(testEmail);
-        verify(passwordEncoder, times(1)).matches(testPassword, encodedPassword);
+        verify(passwordHasher, times(1)).matches(testPassword, encodedPassword);
         verify(jwtTokenProvider, never()).createToken(anyLong(), anyString(), anyString());
     }
 
@@ -144,7 +144,7 @@ class AuthServiceTest {
     void login_ShouldReturnUserDtoWithoutPassword() {
         // Given
         when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(passwordHasher.matches(testPassword, encodedPassword)).thenReturn(true);
         when(jwtTokenProvider.createToken(anyLong(), anyString(), anyString())).thenReturn(testToken);
 
         // When
@@ -0,0 +1,215 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.dto.PostSummaryDto;
+import com.volcano.blog.event.PostChangedEvent;
+import com.volcano.blog.model.Post;
+import com.volcano.blog.model.User;
+import com.volcano.blog.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * HotFeedCache 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("首页热点缓存测试")
+class HotFeedCacheTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private PostRepository postRepository;
+
+    private HotFeedCache hotFeedCache;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getCache().getHotFeed().setSize(10);
+        hotFeedCache = new HotFeedCache(postRepository, appProperties);
+    }
+
+    /**
+     * 构造 id 从 to 递减到 from 的摘要（id 越大越新）
+     */
+    private List<PostSummaryDto> summaries(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .map(i -> to - (i - from))
+                .mapToObj(this::summary)
+                .toList();
+    }
+
+    private PostSummaryDto summary(long id) {
+        return PostSummaryDto.builder()
+                .id(id)
+                .title("Post " + id)
+                .published(true)
+                .createdAt(BASE.plusSeconds(id))
+                .build();
+    }
+
+    private Post post(long id, boolean published) {
+        User author = new User();
+        author.setId(1L);
+        author.setName("Author");
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Post " + id);
+        post.setPublished(published);
+        post.setAuthor(author);
+        post.setCreatedAt(BASE.plusSeconds(id));
+        return post;
+    }
+
+    private void givenDatabase(List<PostSummaryDto> newest, long publishedCount) {
+        when(postRepository.findPublishedSummariesFirstPage(any(Pageable.class))).thenReturn(newest);
+        when(postRepository.countByPublishedTrue()).thenReturn(publishedCount);
+    }
+
+    private List<Long> ids() {
+        return hotFeedCache.getSnapshot().orElseThrow().items().stream()
+                .map(PostSummaryDto::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("首次读取构建快照，之后不再访问数据库")
+    void shouldBuildOnceAndServeFromMemory() {
+        givenDatabase(summaries(91, 100), 100L);
+
+        hotFeedCache.getSnapshot();
+        HotFeedCache.Snapshot snapshot = hotFeedCache.getSnapshot().orElseThrow();
+
+        assertThat(snapshot.items()).hasSize(10);
+        assertThat(snapshot.publishedCount()).isEqualTo(100L);
+        verify(postRepository, times(1)).findPublishedSummariesFirstPage(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("超出快照范围的读取应返回空")
+    void rangeBeyondIncompleteSnapshotShouldBeEmpty() {
+        HotFeedCache.Snapshot snapshot = new HotFeedCache.Snapshot(summaries(91, 100), 100L);
+
+        assertThat(snapshot.range(0, 10)).hasValueSatisfying(rows -> assertThat(rows).hasSize(10));
+        assertThat(snapshot.range(5, 6)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("快照包含全部文章时，越界读取返回剩余部分")
+    void rangeOnCompleteSnapshotShouldReturnTail() {
+        HotFeedCache.Snapshot snapshot = new HotFeedCache.Snapshot(summaries(1, 3), 3L);
+
+        assertThat(snapshot.range(2, 5)).hasValueSatisfying(rows -> assertThat(rows).hasSize(1));
+        assertThat(snapshot.range(10, 5)).hasValueSatisfying(rows -> assertThat(rows).isEmpty());
+    }
+
+    @Test
+    @DisplayName("新发布文章插入队首并挤出最旧的一条")
+    void createdPostShouldBeInsertedAtHead() {
+        givenDatabase(summaries(91, 100), 100L);
+        hotFeedCache.getSnapshot();
+
+        hotFeedCache.onPostChanged(PostChangedEvent.created(post(101, true)));
+
+        assertThat(ids()).hasSize(10).startsWith(101L).doesNotContain(91L);
+        assertThat(hotFeedCache.getSnapshot().orElseThrow().publishedCount()).isEqualTo(101L);
+    }
+
+    @Test
+    @DisplayName("创建草稿不影响快照")
+    void createdDraftShouldBeIgnored() {
+        givenDatabase(summaries(91, 100), 100L);
+        hotFeedCache.getSnapshot();
+
+        hotFeedCache.onPostChanged(PostChangedEvent.created(post(101, false)));
+
+        assertThat(ids()).startsWith(100L);
+        assertThat(hotFeedCache.getSnapshot().orElseThrow().publishedCount()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("取消发布或删除应移除条目并减少总数")
+    void unpublishedAndDeletedPostsShouldBeRemoved() {
+        givenDatabase(summaries(91, 100), 100L);
+        hotFeedCache.getSnapshot();
+
+        hotFeedCache.onPostChanged(PostChangedEvent.updated(post(100, false), true));
+        hotFeedCache.onPostChanged(PostChangedEvent.deleted(99L, true));
+
+        assertThat(ids()).hasSize(8).startsWith(98L);
+        assertThat(hotFeedCache.getSnapshot().orElseThrow().publishedCount()).isEqualTo(98L);
+    }
+
+    @Test
+    @DisplayName("不完整快照末尾之后的文章不应加入")
+    void olderPostShouldNotBeAddedToIncompleteSnapshot() {
+        givenDatabase(summaries(91, 100), 100L);
+        hotFeedCache.getSnapshot();
+
+        hotFeedCache.onPostChanged(PostChangedEvent.updated(post(50, true), false));
+
+        assertThat(ids()).doesNotContain(50L);
+        assertThat(hotFeedCache.getSnapshot().orElseThrow().publishedCount()).isEqualTo(101L);
+    }
+
+    @Test
+    @DisplayName("移除过多时应在下次读取时重建")
+    void drainedSnapshotShouldBeRebuilt() {
+        givenDatabase(summaries(91, 100), 100L);
+        hotFeedCache.getSnapshot();
+
+        for (long id = 100; id > 94; id--) {
+            hotFeedCache.onPostChanged(PostChangedEvent.deleted(id, true));
+        }
+        hotFeedCache.getSnapshot();
+
+        verify(postRepository, times(2)).findPublishedSummariesFirstPage(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("定时重建应纳入其他实例的写入")
+    void refreshShouldPickUpExternalWrites() {
+        givenDatabase(summaries(91, 100), 100L);
+        assertThat(ids()).startsWith(100L);
+
+        // 其他实例发布了 101、102，本实例收不到事件
+        givenDatabase(summaries(93, 102), 102L);
+        hotFeedCache.refresh();
+
+        assertThat(ids()).startsWith(102L, 101L, 100L).hasSize(10);
+        assertThat(hotFeedCache.getSnapshot().orElseThrow().publishedCount()).isEqualTo(102L);
+    }
+
+    @Test
+    @DisplayName("尚未构建时定时重建不访问数据库")
+    void refreshBeforeFirstReadShouldBeNoop() {
+        hotFeedCache.refresh();
+
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("未启用时不构建快照")
+    void disabledCacheShouldNotTouchDatabase() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getCache().getHotFeed().setEnabled(false);
+        HotFeedCache disabled = new HotFeedCache(postRepository, appProperties);
+
+        assertThat(disabled.getSnapshot()).isEmpty();
+        verifyNoInteractions(postRepository);
+    }
+}
@@ -0,0 +1,137 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.dto.PostDto;
+import com.volcano.blog.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PostDetailCache 单元测试
+ */
+@DisplayName("文章详情缓存测试")
+class PostDetailCacheTest {
+
+    private PostDetailCache postDetailCache;
+
+    @BeforeEach
+    void setUp() {
+        postDetailCache = new PostDetailCache(new AppProperties());
+    }
+
+    @Test
+    @DisplayName("命中缓存时不应再次加载")
+    void shouldLoadOnlyOnceForRepeatedReads() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            postDetailCache.get(1L, id -> {
+                loads.incrementAndGet();
+                return post(id);
+            });
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("并发未命中只应触发一次加载")
+    void shouldCoalesceConcurrentLoads() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<PostDto>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return postDetailCache.get(1L, id -> {
+                        loads.incrementAndGet();
+                        sleep(100);
+                        return post(id);
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (Future<PostDto> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("失效后应重新加载")
+    void shouldReloadAfterEvict() {
+        AtomicInteger loads = new AtomicInteger();
+
+        postDetailCache.get(1L, id -> post(id, loads.incrementAndGet()));
+        postDetailCache.evict(1L);
+        PostDto reloaded = postDetailCache.get(1L, id -> post(id, loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded.getTitle()).isEqualTo("title-2");
+    }
+
+    @Test
+    @DisplayName("加载失败不应被缓存")
+    void shouldNotCacheLoaderFailures() {
+        assertThatThrownBy(() -> postDetailCache.get(1L, id -> {
+            throw new ResourceNotFoundException("文章不存在: " + id);
+        })).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(postDetailCache.get(1L, this::post).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("应该导出命中/未命中指标")
+    void shouldExportHitAndMissMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        postDetailCache.bindTo(registry);
+
+        postDetailCache.get(1L, this::post);
+        postDetailCache.get(1L, this::post);
+
+        assertThat(registry.get("cache.gets").tag("cache", "postDetail").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", "postDetail").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private PostDto post(Long id) {
+        return post(id, 1);
+    }
+
+    private PostDto post(Long id, int version) {
+        PostDto dto = new PostDto();
+        dto.setId(id);
+        dto.setTitle("title-" + version);
+        return dto;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.dto.PostFeedStats;
+import com.volcano.blog.event.PostChangedEvent;
+import com.volcano.blog.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * PostFeedVersion 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("文章列表版本测试")
+class PostFeedVersionTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private PostRepository postRepository;
+
+    private PostFeedVersion feedVersion;
+
+    @BeforeEach
+    void setUp() {
+        feedVersion = new PostFeedVersion(postRepository);
+    }
+
+    private void givenStats(long count, long maxId, long revisionSum) {
+        when(postRepository.findPublishedFeedStats())
+                .thenReturn(new PostFeedStats(count, maxId, revisionSum, UPDATED_AT));
+    }
+
+    @Test
+    @DisplayName("状态未变化时只查询一次，各实例的 ETag 相同")
+    void sameStateShouldYieldSameETag() {
+        givenStats(10, 10, 3);
+
+        String eTag = feedVersion.getETag();
+        feedVersion.getETag();
+        feedVersion.getLastModified();
+
+        assertThat(new PostFeedVersion(postRepository).getETag()).isEqualTo(eTag);
+        verify(postRepository, times(2)).findPublishedFeedStats();
+    }
+
+    @Test
+    @DisplayName("本实例的变更使版本过期，下次读取重新查询")
+    void localChangeShouldReload() {
+        givenStats(10, 10, 3);
+        String before = feedVersion.getETag();
+
+        givenStats(9, 10, 3);
+        feedVersion.onPostChanged(PostChangedEvent.deleted(5L, true));
+
+        assertThat(feedVersion.getETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("定时刷新应发现其他实例的写入")
+    void refreshShouldPickUpExternalWrites() {
+        givenStats(10, 10, 3);
+        String before = feedVersion.getETag();
+
+        givenStats(10, 10, 4);
+        feedVersion.refresh();
+
+        assertThat(feedVersion.getETag()).isNotEqualTo(before);
+        verify(postRepository, times(2)).findPublishedFeedStats();
+    }
+
+    @Test
+    @DisplayName("重新查询失败时继续使用旧版本")
+    void failedReloadShouldServePrevious() {
+        givenStats(10, 10, 3);
+        String before = feedVersion.getETag();
+
+        when(postRepository.findPublishedFeedStats()).thenThrow(new IllegalStateException("db down"));
+        feedVersion.onPostChanged(PostChangedEvent.deleted(5L, true));
+
+        assertThat(feedVersion.getETag()).isEqualTo(before);
+    }
+}
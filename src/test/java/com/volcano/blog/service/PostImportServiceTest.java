@@ -0,0 +1,200 @@
+package com.volcano.blog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.volcano.blog.config.AppProperties;
+import com.volcano.blog.dto.PostImportResult;
+import com.volcano.blog.event.PostChangedEvent;
+import com.volcano.blog.exception.ResourceNotFoundException;
+import com.volcano.blog.model.Post;
+import com.volcano.blog.model.User;
+import com.volcano.blog.repository.PostBatchRepository;
+import com.volcano.blog.repository.PostRepository;
+import com.volcano.blog.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * PostImportService 测试（H2）
+ * 批大小设为 2，覆盖多批写入和最后一批不满的情况
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(PostBatchRepository.class)
+@DisplayName("文章批量导入服务测试")
+class PostImportServiceTest {
+
+    @Autowired
+    private PostBatchRepository postBatchRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationEventPublisher eventPublisher;
+    private PostImportService postImportService;
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .email("author@example.com")
+                .password("encoded")
+                .name("Author")
+                .build());
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        postImportService = newService(2, 100);
+    }
+
+    private PostImportService newService(int batchSize, int maxItems) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getPostImport().setBatchSize(batchSize);
+        appProperties.getPostImport().setMaxItems(maxItems);
+        return new PostImportService(userRepository, postBatchRepository,
+                new TransactionTemplate(transactionManager), eventPublisher,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(), appProperties);
+    }
+
+    private PostImportResult importPosts(String body) throws IOException {
+        return importPosts("USER", body);
+    }
+
+    private PostImportResult importPosts(String role, String body) throws IOException {
+        return postImportService.importPosts(author.getId(), role,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("JSON 数组：校验失败的条目跳过，其余按批写入并返回ID")
+    void importPosts_JsonArray_ShouldInsertValidItems() throws IOException {
+        PostImportResult result = importPosts("ADMIN", """
+                [
+                  {"title": "第一篇", "content": "内容一", "published": true, "createdAt": "2020-01-01T08:00:00Z"},
+                  {"title": "", "content": "标题为空"},
+                  {"title": "第三篇", "published": "maybe"},
+                  {"title": "第四篇", "content": "内容四"},
+                  {"title": "第五篇", "content": "内容五"}
+                ]
+                """);
+
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getAbortReason()).isNull();
+        assertThat(result.getItems()).extracting(PostImportResult.Item::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(result.getItems().get(1).getError()).isEqualTo("文章标题不能为空; 文章标题长度必须在1-200个字符之间");
+        assertThat(result.getItems().get(2).getError()).startsWith("格式错误");
+
+        List<Long> ids = result.getItems().stream()
+                .map(PostImportResult.Item::getId)
+                .filter(id -> id != null)
+                .toList();
+        assertThat(ids).hasSize(3).doesNotHaveDuplicates();
+
+        Post first = postRepository.findById(ids.get(0)).orElseThrow();
+        assertThat(first.getTitle()).isEqualTo("第一篇");
+        assertThat(first.isPublished()).isTrue();
+        assertThat(first.getCreatedAt()).isEqualTo(Instant.parse("2020-01-01T08:00:00Z"));
+        assertThat(first.getExcerpt()).isEqualTo("内容一");
+        assertThat(first.getAuthor().getId()).isEqualTo(author.getId());
+        assertThat(postRepository.count()).isEqualTo(3);
+
+        verify(eventPublisher, times(3)).publishEvent(any(PostChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("普通用户指定创建时间：该条失败，其余正常导入")
+    void importPosts_CreatedAtAsUser_ShouldRejectItem() throws IOException {
+        PostImportResult result = importPosts("""
+                {"title": "回填", "content": "a", "createdAt": "2020-01-01T08:00:00Z"}
+                {"title": "正常", "content": "b"}
+                """);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getItems().get(0).getError()).isEqualTo("只有管理员可以指定创建时间");
+        assertThat(postRepository.findAll()).extracting(Post::getTitle).containsExactly("正常");
+    }
+
+    @Test
+    @DisplayName("NDJSON：每行一篇文章")
+    void importPosts_Ndjson_ShouldInsertEachLine() throws IOException {
+        PostImportResult result = importPosts("""
+                {"title": "A", "content": "a"}
+                {"title": "B", "content": "b"}
+                {"title": "C", "content": "c"}
+                """);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isZero();
+        assertThat(postRepository.findAll()).extracting(Post::getTitle).containsExactlyInAnyOrder("A", "B", "C");
+    }
+
+    @Test
+    @DisplayName("语法错误：终止读取，之前的文章保留")
+    void importPosts_MalformedJson_ShouldAbort() throws IOException {
+        PostImportResult result = importPosts("""
+                {"title": "A", "content": "a"}
+                {"title" "B"}
+                {"title": "C", "content": "c"}
+                """);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getAbortReason()).startsWith("请求体格式错误（第 2 行）");
+        assertThat(postRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("超过数量上限：只处理前 max-items 篇")
+    void importPosts_OverMaxItems_ShouldStop() throws IOException {
+        postImportService = newService(2, 2);
+
+        PostImportResult result = importPosts("""
+                [{"title": "A"}, {"title": "B"}, {"title": "C"}]
+                """);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getAbortReason()).isEqualTo("单次最多导入 2 篇文章");
+        assertThat(postRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("作者不存在时抛出 ResourceNotFoundException")
+    void importPosts_UnknownAuthor_ShouldThrow() {
+        assertThatThrownBy(() -> postImportService.importPosts(-1L, "USER",
+                new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
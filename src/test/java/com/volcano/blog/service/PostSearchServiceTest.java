@@ -0,0 +1,209 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.dto.CursorPageResponse;
+import com.volcano.blog.dto.PostSearchHitDto;
+import com.volcano.blog.exception.BusinessException;
+import com.volcano.blog.model.Post;
+import com.volcano.blog.model.User;
+import com.volcano.blog.repository.PostRepository;
+import com.volcano.blog.repository.PostSearchRepository;
+import com.volcano.blog.repository.UserRepository;
+import com.volcano.blog.search.PostSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * PostSearchService 测试（H2）
+ * 倒排索引默认未就绪，检索走 PostSearchRepository 的应用内回退实现
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({PostSearchService.class, PostSearchRepository.class})
+@DisplayName("文章搜索服务测试")
+class PostSearchServiceTest {
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private PostSearchIndex postSearchIndex;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(User.builder()
+                .email("author@example.com")
+                .password("encoded")
+                .name("Author")
+                .build());
+    }
+
+    @Test
+    @DisplayName("应按相关度排序，标题命中权重更高，且不返回未发布文章")
+    void search_ShouldRankByRelevance() {
+        Post inContent = save("部署笔记", "使用 Docker 部署博客", true);
+        Post inTitle = save("Docker 入门", "容器基础知识", true);
+        save("Docker 草稿", "Docker Docker Docker", false);
+        save("无关文章", "今天天气不错", true);
+
+        CursorPageResponse<PostSearchHitDto> page = postSearchService.search("docker", null, 10);
+
+        assertThat(page.getContent()).extracting(PostSearchHitDto::getId)
+                .containsExactly(inTitle.getId(), inContent.getId());
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("应返回转义后的高亮标题和命中片段")
+    void search_ShouldHighlightMatches() {
+        save("Spring <Boot> 指南", "前言。" + "铺垫".repeat(100) + "这里介绍 spring 的自动配置", true);
+
+        PostSearchHitDto hit = postSearchService.search("Spring", null, 10).getContent().get(0);
+
+        assertThat(hit.getHighlightedTitle()).isEqualTo("<mark>Spring</mark> &lt;Boot&gt; 指南");
+        assertThat(hit.getSnippet()).startsWith("…").contains("<mark>spring</mark>");
+    }
+
+    @Test
+    @DisplayName("游标分页应按 (相关度, id) 连续且不重复")
+    void search_WithCursor_ShouldPageThroughAllHits() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // 相关度两两相同，覆盖 id 作为次排序键
+            expected.add(save("文章 " + i, "缓存 ".repeat(1 + i / 2), true).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<PostSearchHitDto> page = postSearchService.search("缓存", cursor, 3);
+            page.getContent().forEach(hit -> seen.add(hit.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(expected).doesNotHaveDuplicates();
+        assertThat(seen.get(0)).isEqualTo(expected.get(6));
+    }
+
+    @Test
+    @DisplayName("倒排索引就绪时应使用索引的检索结果和相关度")
+    void search_WhenIndexReady_ShouldUseIndex() {
+        Post first = save("索引命中", "内容", true);
+        Post second = save("另一篇", "内容", true);
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search(eq("命中"), any(), anyLong(), anyInt())).thenReturn(new PostSearchIndex.Hits(1L, List.of(
+                new PostSearchRepository.Match(second.getId(), 7.5),
+                new PostSearchRepository.Match(first.getId(), 3.0))));
+
+        CursorPageResponse<PostSearchHitDto> page = postSearchService.search("命中", null, 10);
+
+        assertThat(page.getContent()).extracting(PostSearchHitDto::getId)
+                .containsExactly(second.getId(), first.getId());
+        assertThat(page.getContent()).extracting(PostSearchHitDto::getScore)
+                .containsExactly(7.5, 3.0);
+    }
+
+    @Test
+    @DisplayName("索引中残留的已取消发布文章回表时应被过滤")
+    void search_WithStaleIndexEntry_ShouldDropUnpublished() {
+        Post published = save("索引命中", "内容", true);
+        Post unpublished = save("已取消发布", "内容", false);
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search(eq("命中"), any(), anyLong(), anyInt())).thenReturn(new PostSearchIndex.Hits(1L, List.of(
+                new PostSearchRepository.Match(unpublished.getId(), 9.0),
+                new PostSearchRepository.Match(published.getId(), 3.0))));
+
+        CursorPageResponse<PostSearchHitDto> page = postSearchService.search("命中", null, 10);
+
+        assertThat(page.getContent()).extracting(PostSearchHitDto::getId).containsExactly(published.getId());
+    }
+
+    @Test
+    @DisplayName("数据库检索的游标在索引就绪后仍在数据库上翻页")
+    void search_WithDatabaseCursor_ShouldStayOnDatabase() {
+        for (int i = 0; i < 3; i++) {
+            save("文章 " + i, "缓存", true);
+        }
+        CursorPageResponse<PostSearchHitDto> first = postSearchService.search("缓存", null, 2);
+        when(postSearchIndex.isReady()).thenReturn(true);
+
+        CursorPageResponse<PostSearchHitDto> second = postSearchService.search("缓存", first.getNextCursor(), 2);
+
+        assertThat(second.getContent()).hasSize(1);
+        verify(postSearchIndex, never()).search(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("索引重建后旧代的游标应被拒绝")
+    void search_WithCursorFromOldGeneration_ShouldThrow() {
+        Post first = save("索引命中", "内容", true);
+        Post second = save("另一篇", "内容", true);
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search(eq("命中"), any(), anyLong(), anyInt())).thenReturn(new PostSearchIndex.Hits(1L, List.of(
+                new PostSearchRepository.Match(second.getId(), 7.5),
+                new PostSearchRepository.Match(first.getId(), 3.0))));
+        String cursor = postSearchService.search("命中", null, 1).getNextCursor();
+
+        when(postSearchIndex.search(eq("命中"), any(), anyLong(), anyInt())).thenReturn(new PostSearchIndex.Hits(2L, List.of(
+                new PostSearchRepository.Match(first.getId(), 3.1))));
+
+        assertThatThrownBy(() -> postSearchService.search("命中", cursor, 1))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("CURSOR_EXPIRED");
+    }
+
+    @Test
+    @DisplayName("关键词为空或过长时应拒绝")
+    void search_WithInvalidQuery_ShouldThrow() {
+        assertThatThrownBy(() -> postSearchService.search("  ", null, 10))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> postSearchService.search("x".repeat(PostSearchService.MAX_QUERY_LENGTH + 1), null, 10))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> postSearchService.search("docker", null, PostSearchService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private Post save(String title, String content, boolean published) {
+        Post post = postRepository.save(Post.builder()
+                .title(title)
+                .content(content)
+                .published(published)
+                .author(author)
+                .build());
+        entityManager.flush();
+        return post;
+    }
+}
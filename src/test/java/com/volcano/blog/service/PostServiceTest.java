@@ -0,0 +1,250 @@
+package com.volcano.blog.service;
+
+import com.volcano.blog.dto.PageResponse;
+import com.volcano.blog.dto.PostDto;
+import com.volcano.blog.dto.PostSummaryDto;
+import com.volcano.blog.dto.PostVersion;
+import com.volcano.blog.dto.TotalCountMode;
+import com.volcano.blog.event.PostChangedEvent;
+import com.volcano.blog.exception.BusinessException;
+import com.volcano.blog.model.Post;
+import com.volcano.blog.model.User;
+import com.volcano.blog.repository.PostRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * PostService 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("文章服务测试")
+class PostServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostCountCache postCountCache;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    @Mock
+    private HotFeedCache hotFeedCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PostService postService;
+
+    private List<PostSummaryDto> summaries(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> PostSummaryDto.builder()
+                        .id((long) i)
+                        .title("Post " + i)
+                        .createdAt(Instant.now())
+                        .build())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Slice 模式 total=none - 非最后一页不返回总数且不查询 COUNT")
+    void getPostSummarySlice_WithNoneMode_ShouldReturnUnknownTotal() {
+        // Given
+        when(postRepository.findPublishedSummarySlice(any(Pageable.class)))
+                .thenAnswer(inv -> new SliceImpl<>(summaries(10), inv.getArgument(0), true));
+
+        // When
+        PageResponse<PostSummaryDto> page = postService.getPostSummarySlice(0, 10, true, TotalCountMode.NONE);
+
+        // Then
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.isLast()).isFalse();
+        assertThat(page.getTotalElements()).isEqualTo(PageResponse.UNKNOWN_TOTAL);
+        assertThat(page.getTotalPages()).isEqualTo(PageResponse.UNKNOWN_TOTAL);
+        verify(postRepository, never()).count();
+        verifyNoInteractions(postCountCache);
+    }
+
+    @Test
+    @DisplayName("Slice 模式 total=approx - 使用缓存总数")
+    void getPostSummarySlice_WithApproxMode_ShouldUseCachedCount() {
+        // Given
+        when(postRepository.findPublishedSummarySlice(any(Pageable.class)))
+                .thenAnswer(inv -> new SliceImpl<>(summaries(10), inv.getArgument(0), true));
+        when(postCountCache.getCount(true)).thenReturn(95L);
+
+        // When
+        PageResponse<PostSummaryDto> page = postService.getPostSummarySlice(2, 10, true, TotalCountMode.APPROX);
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(95L);
+        assertThat(page.getTotalPages()).isEqualTo(10);
+        assertThat(page.isFirst()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Slice 模式 - 读到最后一页时总数可直接推算")
+    void getPostSummarySlice_OnLastPage_ShouldDeriveExactTotal() {
+        // Given
+        when(postRepository.findPublishedSummarySlice(any(Pageable.class)))
+                .thenAnswer(inv -> new SliceImpl<>(summaries(3), inv.getArgument(0), false));
+
+        // When
+        PageResponse<PostSummaryDto> page = postService.getPostSummarySlice(4, 10, true, TotalCountMode.APPROX);
+
+        // Then
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getTotalElements()).isEqualTo(43L);
+        assertThat(page.getTotalPages()).isEqualTo(5);
+        verifyNoInteractions(postCountCache);
+    }
+
+    @Test
+    @DisplayName("切换发布状态 - 应使详情缓存失效")
+    void togglePublish_ShouldEvictDetailCache() {
+        // Given
+        User author = new User();
+        author.setId(7L);
+        Post post = new Post();
+        post.setId(1L);
+        post.setAuthor(author);
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+
+        // When
+        postService.togglePublish(1L, 7L);
+
+        // Then
+        verify(postDetailCache).evict(1L);
+    }
+
+    @Test
+    @DisplayName("热点缓存覆盖请求范围时 - 不访问数据库")
+    void getPostSummaries_WithinHotFeed_ShouldNotQueryDatabase() {
+        // Given
+        when(hotFeedCache.getSnapshot())
+                .thenReturn(Optional.of(new HotFeedCache.Snapshot(summaries(30), 120L)));
+
+        // When
+        PageResponse<PostSummaryDto> page = postService.getPostSummaries(1, 10, true);
+
+        // Then
+        assertThat(page.getContent()).extracting(PostSummaryDto::getId).startsWith(10L);
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(120L);
+        assertThat(page.isLast()).isFalse();
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("超出热点缓存范围时 - 回退到数据库查询")
+    void getPostSummarySlice_BeyondHotFeed_ShouldFallBackToDatabase() {
+        // Given
+        when(hotFeedCache.getSnapshot())
+                .thenReturn(Optional.of(new HotFeedCache.Snapshot(summaries(30), 120L)));
+        when(postRepository.findPublishedSummarySlice(any(Pageable.class)))
+                .thenAnswer(inv -> new SliceImpl<>(summaries(10), inv.getArgument(0), true));
+
+        // When
+        PageResponse<PostSummaryDto> page = postService.getPostSummarySlice(3, 10, true, TotalCountMode.NONE);
+
+        // Then
+        assertThat(page.getContent()).hasSize(10);
+        verify(postRepository).findPublishedSummarySlice(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("切换发布状态 - 应发布文章变更事件")
+    void togglePublish_ShouldPublishChangedEvent() {
+        // Given
+        User author = new User();
+        author.setId(7L);
+        Post post = new Post();
+        post.setId(1L);
+        post.setAuthor(author);
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+
+        // When
+        postService.togglePublish(1L, 7L);
+
+        // Then
+        verify(eventPublisher).publishEvent(new PostChangedEvent(1L, post, false));
+    }
+
+    @Test
+    @DisplayName("获取文章版本 - 详情已缓存时不查询数据库")
+    void getPostVersion_WhenCached_ShouldNotQueryDatabase() {
+        // Given
+        Instant updatedAt = Instant.parse("2024-01-01T00:00:00Z");
+        when(postDetailCache.getIfPresent(1L)).thenReturn(PostDto.builder()
+                .id(1L)
+                .published(true)
+                .updatedAt(updatedAt)
+                .revision(2)
+                .authorName("Author")
+                .build());
+
+        // When
+        PostVersion version = postService.getPostVersion(1L);
+
+        // Then
+        assertThat(version).isEqualTo(new PostVersion(1L, 2, updatedAt, true, "Author", null));
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("ETag - 同一秒内的修改或作者信息变化都应产生不同的 ETag")
+    void postVersionETag_ShouldChangeWithRevisionAndAuthor() {
+        Instant updatedAt = Instant.parse("2024-01-01T00:00:00Z");
+        PostVersion version = new PostVersion(1L, 1, updatedAt, true, "Author", "a@example.com");
+
+        assertThat(new PostVersion(1L, 2, updatedAt, true, "Author", "a@example.com").eTag())
+                .isNotEqualTo(version.eTag());
+        assertThat(new PostVersion(1L, 1, updatedAt, true, "Renamed", "a@example.com").eTag())
+                .isNotEqualTo(version.eTag());
+        assertThat(new PostVersion(1L, 1, updatedAt, true, "Author", "a@example.com").eTag())
+                .isEqualTo(version.eTag());
+    }
+
+    @Test
+    @DisplayName("每页大小超过上限 - 所有列表方式都应拒绝且不查询数据库")
+    void listPosts_WithOversizedPage_ShouldReject() {
+        int size = PostService.MAX_PAGE_SIZE + 1;
+
+        assertThatThrownBy(() -> postService.getPosts(0, size, true)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> postService.getPostSummaries(0, size, true)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> postService.getPostSlice(0, size, true, TotalCountMode.NONE))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> postService.getPostSummarySlice(0, size, true, TotalCountMode.NONE))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> postService.getUserPosts(1L, 0, size)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> postService.getPostsByCursor(null, size, true))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> postService.getPostSummariesByCursor(null, size, true))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> postService.getUserPostsByCursor(1L, null, size))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(postRepository, hotFeedCache);
+    }
+}
@@ -1,5 +1,7 @@
 package com.volcano.blog.service;
 
+import com.volcano.blog.ratelimit.LocalBucketBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,11 +15,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 class RateLimitServiceTest {
 
     private RateLimitService rateLimitService;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
         // 使用默认配置创建服务: 5次/分钟, 10分钟过期, 最大10000个桶
-        rateLimitService = new RateLimitService(5, 5, 1, 10, 10000);
+        rateLimitService = new RateLimitService(new LocalBucketBackend(), meterRegistry, 5, 5, 1, 10, 10000);
     }
 
     @Test
@@ -109,10 +113,10 @@ class RateLimitServiceTest {
     }
 
     @Test
-    @DisplayName("应该能获取当前桶的数量")
+    @DisplayName("应该能通过指标获取当前桶的数量")
     void shouldReturnBucketCount() {
         // 初始应该为0
-        assertThat(rateLimitService.getBucketCount()).isEqualTo(0);
+        assertThat(bucketGauge()).isEqualTo(0);
         
         // 创建几个客户端的桶
         rateLimitService.allowRequest("client1");
@@ -120,6 +124,26 @@ class RateLimitServiceTest {
         rateLimitService.allowRequest("client3");
         
         // 应该有3个桶
-        assertThat(rateLimitService.getBucketCount()).isEqualTo(3);
+        assertThat(bucketGauge()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("应该按结果统计放行和拒绝次数")
+    void shouldCountAcceptedAndRejectedRequests() {
+        for (int i = 0; i < 7; i++) {
+            rateLimitService.allowRequest("192.168.1.100");
+        }
+
+        assertThat(requestCounter("accepted")).isEqualTo(5);
+        assertThat(requestCounter("rejected")).isEqualTo(2);
+    }
+
+    private double bucketGauge() {
+        return meterRegistry.get("ratelimit.buckets").tag("policy", "login").gauge().value();
+    }
+
+    private double requestCounter(String outcome) {
+        return meterRegistry.get("ratelimit.requests").tags("policy", "login", "outcome", outcome)
+                .functionCounter().count();
     }
 }
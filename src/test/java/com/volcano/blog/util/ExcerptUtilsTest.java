@@ -0,0 +1,43 @@
+package com.volcano.blog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ExcerptUtils 单元测试
+ */
+@DisplayName("文章摘要工具测试")
+class ExcerptUtilsTest {
+
+    @Test
+    @DisplayName("短正文应原样返回并合并空白")
+    void fromContent_WithShortContent_ShouldCollapseWhitespace() {
+        assertThat(ExcerptUtils.fromContent("  第一段\n\n第二段\t结尾  ")).isEqualTo("第一段 第二段 结尾");
+    }
+
+    @Test
+    @DisplayName("超长正文应截断并追加省略号")
+    void fromContent_WithLongContent_ShouldTruncate() {
+        String content = "火".repeat(ExcerptUtils.MAX_LENGTH + 50);
+
+        String excerpt = ExcerptUtils.fromContent(content);
+
+        assertThat(excerpt).hasSize(ExcerptUtils.MAX_LENGTH + 1).endsWith("…");
+    }
+
+    @Test
+    @DisplayName("恰好达到长度上限时不追加省略号")
+    void fromContent_WithExactLength_ShouldNotAppendEllipsis() {
+        String content = "a".repeat(ExcerptUtils.MAX_LENGTH) + "   ";
+
+        assertThat(ExcerptUtils.fromContent(content)).isEqualTo("a".repeat(ExcerptUtils.MAX_LENGTH));
+    }
+
+    @Test
+    @DisplayName("null 正文返回 null")
+    void fromContent_WithNull_ShouldReturnNull() {
+        assertThat(ExcerptUtils.fromContent(null)).isNull();
+    }
+}
@@ -0,0 +1,51 @@
+package com.volcano.blog.util;
+
+import com.volcano.blog.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * KeysetCursor 单元测试
+ */
+@DisplayName("分页游标测试")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("编码后解码应得到相同的游标")
+    void encodeThenDecode_ShouldRoundTrip() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2024-05-01T08:30:15.123456789Z"), 42L);
+
+        // When
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.getTimestamp()).isEqualTo(cursor.getTimestamp());
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("编码结果应为 URL 安全字符")
+    void encode_ShouldBeUrlSafe() {
+        KeysetCursor cursor = new KeysetCursor(Instant.ofEpochSecond(1_700_000_000L), Long.MAX_VALUE);
+
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("解析非法游标应抛出业务异常")
+    void decode_WithGarbage_ShouldThrowBusinessException() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!"))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_CURSOR");
+
+        // 合法 Base64 但内容不符合格式
+        assertThatThrownBy(() -> KeysetCursor.decode("Zm9vOmJhcg"))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.volcano.blog.util;
+
+import com.volcano.blog.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * SearchCursor 单元测试
+ */
+@DisplayName("搜索分页游标测试")
+class SearchCursorTest {
+
+    @Test
+    @DisplayName("编码后解码应得到相同的来源、代和排序键")
+    void encodeThenDecode_ShouldRoundTrip() {
+        SearchCursor cursor = new SearchCursor(SearchCursor.Source.INDEX, 1_700_000_000_123L, 0.1 + 0.2, 42L);
+
+        SearchCursor decoded = SearchCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.getSource()).isEqualTo(SearchCursor.Source.INDEX);
+        assertThat(decoded.getGeneration()).isEqualTo(1_700_000_000_123L);
+        assertThat(decoded.getScore()).isEqualTo(0.1 + 0.2);
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("解析非法游标应抛出业务异常")
+    void decode_WithGarbage_ShouldThrowBusinessException() {
+        assertThatThrownBy(() -> SearchCursor.decode("not a cursor!"))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_CURSOR");
+
+        // 合法 Base64 但来源未知
+        String unknownSource = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("X:0:3ff0000000000000:1".getBytes(StandardCharsets.US_ASCII));
+        assertThatThrownBy(() -> SearchCursor.decode(unknownSource))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.volcano.blog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * VirtualThreads 单元测试
+ */
+@DisplayName("虚拟线程工具测试")
+class VirtualThreadsTest {
+
+    @Test
+    @DisplayName("Java 21+ 上应在命名的虚拟线程中执行任务")
+    void newPerTaskExecutor_OnJava21_ShouldRunOnVirtualThread() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor("test-virtual-");
+        try {
+            Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+            Future<Boolean> virtual = executor.submit(
+                    () -> (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+
+            assertThat(name.get(5, TimeUnit.SECONDS)).startsWith("test-virtual-");
+            assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Java 21 以下应明确拒绝创建")
+    void newPerTaskExecutor_BeforeJava21_ShouldThrow() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThatThrownBy(() -> VirtualThreads.newPerTaskExecutor("test-virtual-"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+    }
+}